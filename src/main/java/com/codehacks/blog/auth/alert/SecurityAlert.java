@@ -0,0 +1,9 @@
+package com.codehacks.blog.auth.alert;
+
+import java.time.LocalDateTime;
+
+/**
+ * An unusual admin login to tell {@code recipient} about.
+ */
+public record SecurityAlert(String recipient, String email, String ipAddress, LocalDateTime timestamp) {
+}
@@ -0,0 +1,257 @@
+package com.codehacks.blog.auth.alert;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends security alert mail off the request thread.
+ * <p>
+ * Mail goes out on a small pool of {@code security.alerts.threads} senders, all sharing the application's
+ * {@link JavaMailSender} and so its mail session. At most {@code security.alerts.queue-capacity} mails wait for a
+ * sender; further ones are dropped and counted rather than blocking the request that raised them.
+ * <p>
+ * The first alert for a user and IP address is sent at once and opens a {@code security.alerts.coalesce-window};
+ * repeats within that window are only counted, and one digest mail reports them when the window closes. At most
+ * {@code security.alerts.max-open-windows} windows are held; when more users and addresses alert at once, the
+ * cache closes the windows it evicts early, sending their digest, so memory and pending work stay bounded.
+ */
+@Slf4j
+@Component
+public class SecurityAlertDispatcher implements DisposableBean {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final JavaMailSender mailSender;
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService windowCloser;
+    private final Cache<AlertKey, AlertWindow> openWindows;
+    private final Timer sent;
+    private final Timer failed;
+    private final Counter coalesced;
+    private final Counter dropped;
+
+    public SecurityAlertDispatcher(JavaMailSender mailSender, MeterRegistry meterRegistry,
+                                   @Value("${security.alerts.threads:2}") int threads,
+                                   @Value("${security.alerts.queue-capacity:100}") int queueCapacity,
+                                   @Value("${security.alerts.coalesce-window:5m}") Duration coalesceWindow,
+                                   @Value("${security.alerts.max-open-windows:10000}") int maxOpenWindows) {
+        if (threads < 1 || queueCapacity < 1 || maxOpenWindows < 1
+                || coalesceWindow.isNegative() || coalesceWindow.isZero()) {
+            throw new IllegalArgumentException(
+                    "Alert threads, queue capacity, open windows and coalesce window must be positive");
+        }
+        this.mailSender = mailSender;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "security-alert-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.windowCloser = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "security-alert-windows");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Expiry and size eviction both close the window; the closer thread wakes the cache once a window is due
+        this.openWindows = Caffeine.newBuilder()
+                .maximumSize(maxOpenWindows)
+                .expireAfterWrite(coalesceWindow)
+                .scheduler(Scheduler.forScheduledExecutorService(windowCloser))
+                .executor(Runnable::run)
+                .removalListener((AlertKey key, AlertWindow window, RemovalCause cause) -> closeWindow(window))
+                .build();
+
+        this.sent = sends(meterRegistry, "sent");
+        this.failed = sends(meterRegistry, "failed");
+        this.coalesced = alerts(meterRegistry, "coalesced");
+        this.dropped = alerts(meterRegistry, "dropped");
+        Gauge.builder("blog.security.alerts.queue.size", senders, executor -> executor.getQueue().size())
+                .description("Security alert mails waiting for a sender")
+                .register(meterRegistry);
+        Gauge.builder("blog.security.alerts.windows.open", openWindows, Cache::estimatedSize)
+                .description("Users and addresses whose repeat alerts are being coalesced")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends the alert, or folds it into the digest of an open window for the same user and IP address. Never
+     * waits for the mail server.
+     */
+    public void dispatch(SecurityAlert alert) {
+        AlertKey key = new AlertKey(alert.recipient(), alert.email(), alert.ipAddress());
+        while (true) {
+            AlertWindow created = new AlertWindow(alert);
+            AlertWindow open = openWindows.asMap().putIfAbsent(key, created);
+            if (open == null) {
+                submit(alertMessage(alert));
+                return;
+            }
+            if (open.suppress(alert.timestamp())) {
+                coalesced.increment();
+                return;
+            }
+            // The window closed in between; it no longer takes alerts, so start a new one
+            openWindows.asMap().remove(key, open);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        windowCloser.shutdownNow();
+        openWindows.invalidateAll();
+        senders.shutdown();
+        if (!senders.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("{} security alert mails were not sent before shutdown", senders.shutdownNow().size());
+        }
+    }
+
+    private void closeWindow(AlertWindow window) {
+        int suppressed = window.close();
+        if (suppressed > 0) {
+            submit(digestMessage(window.first(), suppressed, window.lastSeen()));
+        }
+    }
+
+    private void submit(SimpleMailMessage message) {
+        try {
+            senders.execute(() -> send(message));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            log.warn("Security alert queue is full, dropped alert: {}", message.getSubject());
+        }
+    }
+
+    private void send(SimpleMailMessage message) {
+        long start = System.nanoTime();
+        try {
+            mailSender.send(message);
+            sent.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (MailException e) {
+            failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.error("Failed to send security alert due to mail exception: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.error("Failed to send security alert: {}", message.getSubject(), e);
+        }
+    }
+
+    private static SimpleMailMessage alertMessage(SecurityAlert alert) {
+        return message(alert.recipient(), "Unusual Admin Login Detected", """
+                Dear Security Team,
+
+                We detected unusual admin login activity:
+
+                - User Email: %s
+                - IP Address: %s
+                - Timestamp: %s
+
+                Please investigate immediately.
+                """.formatted(alert.email(), alert.ipAddress(), alert.timestamp()));
+    }
+
+    private static SimpleMailMessage digestMessage(SecurityAlert first, int repeats, LocalDateTime lastSeen) {
+        return message(first.recipient(), "Repeated Unusual Admin Logins Detected", """
+                Dear Security Team,
+
+                The unusual admin login activity we reported continued:
+
+                - User Email: %s
+                - IP Address: %s
+                - Further attempts: %d
+                - First reported: %s
+                - Last seen: %s
+
+                Please investigate immediately.
+                """.formatted(first.email(), first.ipAddress(), repeats, first.timestamp(), lastSeen));
+    }
+
+    private static SimpleMailMessage message(String to, String subject, String text) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText(text);
+        return message;
+    }
+
+    private static Timer sends(MeterRegistry registry, String outcome) {
+        return Timer.builder("blog.security.alerts.send")
+                .description("Time spent handing security alert mails to the mail server")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Counter alerts(MeterRegistry registry, String outcome) {
+        return Counter.builder("blog.security.alerts")
+                .description("Security alerts that did not get a mail of their own")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private record AlertKey(String recipient, String email, String ipAddress) {
+    }
+
+    /**
+     * Alerts for one key since its first was sent. The count turns negative once the window is closed, so an alert
+     * can never be counted into a digest that has already gone out.
+     */
+    private static final class AlertWindow {
+
+        private final SecurityAlert first;
+        private final AtomicInteger suppressed = new AtomicInteger();
+        private volatile LocalDateTime lastSeen;
+
+        AlertWindow(SecurityAlert first) {
+            this.first = first;
+            this.lastSeen = first.timestamp();
+        }
+
+        boolean suppress(LocalDateTime timestamp) {
+            int current;
+            do {
+                current = suppressed.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!suppressed.compareAndSet(current, current + 1));
+            lastSeen = timestamp;
+            return true;
+        }
+
+        int close() {
+            return suppressed.getAndSet(-1);
+        }
+
+        SecurityAlert first() {
+            return first;
+        }
+
+        LocalDateTime lastSeen() {
+            return lastSeen;
+        }
+    }
+}
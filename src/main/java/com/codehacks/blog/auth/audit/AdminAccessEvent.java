@@ -0,0 +1,35 @@
+package com.codehacks.blog.auth.audit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * One admin access to be written to the audit log, stamped when it happened rather than when it is written.
+ */
+public record AdminAccessEvent(Kind kind, String adminEmail, String ipAddress, LocalDateTime timestamp) {
+
+    public enum Kind {
+        ACCESS("admin:access:", Duration.ofDays(7)),
+        UNAUTHORIZED("admin:unauthorized:access:", Duration.ofDays(120));
+
+        private final String keyPrefix;
+        private final Duration retention;
+
+        Kind(String keyPrefix, Duration retention) {
+            this.keyPrefix = keyPrefix;
+            this.retention = retention;
+        }
+
+        public Duration retention() {
+            return retention;
+        }
+    }
+
+    public String key() {
+        return kind.keyPrefix + adminEmail;
+    }
+
+    public String details() {
+        return "IP: " + ipAddress + ", Time: " + timestamp;
+    }
+}
@@ -0,0 +1,129 @@
+package com.codehacks.blog.auth.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin access events, written to the configured {@link AdminAuditSink} off the request thread.
+ * <p>
+ * {@link #record} only offers the event to a bounded queue; when the queue is full the event is dropped and
+ * counted rather than slowing the request down. A single writer drains whatever has queued up, at most
+ * {@code blog.admin.audit.batch-size} events at a time, and hands the batch to the sink in one call. Events still
+ * queued at shutdown are written before the context closes.
+ */
+@Slf4j
+@Component
+public class AdminAuditLog implements DisposableBean {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final AdminAuditSink sink;
+    private final BlockingQueue<AdminAccessEvent> queue;
+    private final int batchSize;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AdminAuditLog(AdminAuditSink sink, MeterRegistry meterRegistry,
+                         @Value("${blog.admin.audit.queue-capacity:10000}") int queueCapacity,
+                         @Value("${blog.admin.audit.batch-size:500}") int batchSize) {
+        if (queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Audit queue capacity and batch size must be positive");
+        }
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.written = events(meterRegistry, "written");
+        this.dropped = events(meterRegistry, "dropped");
+        this.failed = events(meterRegistry, "failed");
+        Gauge.builder("blog.admin.audit.queue.size", queue, BlockingQueue::size)
+                .description("Admin access events waiting to be written")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "admin-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues the event for the writer without waiting.
+     *
+     * @return {@code false} if the queue was full and the event was dropped
+     */
+    public boolean record(AdminAccessEvent event) {
+        if (queue.offer(event)) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * Writes every queued event on the calling thread.
+     */
+    void flush() {
+        List<AdminAccessEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join(SHUTDOWN_TIMEOUT.toMillis());
+        flush();
+    }
+
+    private void writeLoop() {
+        List<AdminAccessEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AdminAccessEvent first = queue.poll(POLL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<AdminAccessEvent> batch) {
+        try {
+            sink.write(batch);
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.warn("Could not write {} admin access events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static Counter events(MeterRegistry registry, String outcome) {
+        return Counter.builder("blog.admin.audit.events")
+                .description("Admin access events by what became of them")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.codehacks.blog.auth.audit;
+
+import java.util.List;
+
+/**
+ * Where {@link AdminAuditLog} writes its batches, chosen by {@code blog.admin.audit.store}.
+ */
+public interface AdminAuditSink {
+
+    /**
+     * Writes the batch, oldest event first.
+     *
+     * @throws RuntimeException if the batch could not be written
+     */
+    void write(List<AdminAccessEvent> batch);
+}
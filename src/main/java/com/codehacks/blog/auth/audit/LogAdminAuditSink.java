@@ -0,0 +1,28 @@
+package com.codehacks.blog.auth.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes admin access events to the {@value #LOGGER_NAME} logger, for single-node deployments without Redis.
+ * Retention is whatever the log pipeline keeps.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.admin.audit.store", havingValue = "log")
+public class LogAdminAuditSink implements AdminAuditSink {
+
+    static final String LOGGER_NAME = "admin-audit";
+
+    private static final Logger AUDIT = LoggerFactory.getLogger(LOGGER_NAME);
+
+    @Override
+    public void write(List<AdminAccessEvent> batch) {
+        for (AdminAccessEvent event : batch) {
+            AUDIT.info("{} {}, {}", event.kind(), event.adminEmail(), event.details());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.codehacks.blog.auth.audit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps admin access events in Redis lists shared by all nodes. A batch is one pipeline: per admin an
+ * {@code RPUSH} of all its entries, an {@code LTRIM} keeping the newest {@code blog.admin.audit.max-entries-per-admin}
+ * and an {@code EXPIRE}.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.admin.audit.store", havingValue = "redis", matchIfMissing = true)
+public class RedisAdminAuditSink implements AdminAuditSink {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long maxEntriesPerAdmin;
+
+    public RedisAdminAuditSink(RedisTemplate<String, String> redisTemplate,
+                               @Value("${blog.admin.audit.max-entries-per-admin:1000}") long maxEntriesPerAdmin) {
+        if (maxEntriesPerAdmin < 1) {
+            throw new IllegalArgumentException("Audit entries per admin must be positive");
+        }
+        this.redisTemplate = redisTemplate;
+        this.maxEntriesPerAdmin = maxEntriesPerAdmin;
+    }
+
+    @Override
+    public void write(List<AdminAccessEvent> batch) {
+        Map<String, List<AdminAccessEvent>> eventsByKey = new LinkedHashMap<>();
+        for (AdminAccessEvent event : batch) {
+            eventsByKey.computeIfAbsent(event.key(), key -> new ArrayList<>()).add(event);
+        }
+
+        RedisSerializer<String> serializer = RedisSerializer.string();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            eventsByKey.forEach((key, events) -> {
+                byte[] rawKey = serializer.serialize(key);
+                byte[][] entries = events.stream()
+                        .map(event -> serializer.serialize(event.details()))
+                        .toArray(byte[][]::new);
+                connection.listCommands().rPush(rawKey, entries);
+                connection.listCommands().lTrim(rawKey, -maxEntriesPerAdmin, -1);
+                connection.keyCommands().expire(rawKey, events.get(0).kind().retention().toSeconds());
+            });
+            return null;
+        });
+    }
+}
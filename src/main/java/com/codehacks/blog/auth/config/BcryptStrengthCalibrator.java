@@ -0,0 +1,52 @@
+package com.codehacks.blog.auth.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntFunction;
+
+/**
+ * Finds the highest BCrypt strength whose verification still fits a time budget on this machine. Each step up
+ * doubles the work, so strengths are tried upwards from the configured floor until one is over budget.
+ */
+final class BcryptStrengthCalibrator {
+
+    static final int MAX_STRENGTH = 16;
+
+    private static final String SAMPLE_PASSWORD = "calibration-Pa55word";
+    private static final int SAMPLES = 3;
+
+    private BcryptStrengthCalibrator() {
+    }
+
+    static int calibrate(int minStrength, Duration target) {
+        return calibrate(minStrength, target, BcryptStrengthCalibrator::measure);
+    }
+
+    /**
+     * @return the highest strength between {@code minStrength} and {@link #MAX_STRENGTH} verifying within
+     * {@code target}, or {@code minStrength} if even that is too slow; security is never traded for speed
+     */
+    static int calibrate(int minStrength, Duration target, IntFunction<Duration> verificationTime) {
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= MAX_STRENGTH; strength++) {
+            if (verificationTime.apply(strength).compareTo(target) > 0) {
+                break;
+            }
+            chosen = strength;
+        }
+        return chosen;
+    }
+
+    private static Duration measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return Duration.ofNanos(fastest);
+    }
+}
@@ -0,0 +1,64 @@
+package com.codehacks.blog.auth.config;
+
+import com.google.common.net.InetAddresses;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Works out the address of the client behind a request.
+ * <p>
+ * {@code X-Forwarded-For} is only believed when the request comes from one of the configured trusted proxies;
+ * the client is then the right-most address in the header that is not itself a trusted proxy. Anyone else could
+ * put any address in the header and get a fresh rate limit bucket per request.
+ */
+@Component
+public class ClientAddressResolver {
+
+    static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final List<IpAddressMatcher> trustedProxies = new ArrayList<>();
+
+    public ClientAddressResolver(@Value("${blog.rate-limit.trusted-proxies:}") List<String> trustedProxies) {
+        for (String proxy : trustedProxies) {
+            if (!proxy.isBlank()) {
+                this.trustedProxies.add(new IpAddressMatcher(proxy.trim()));
+            }
+        }
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        String forwardedFor = request.getHeader(FORWARDED_FOR);
+        if (forwardedFor == null || !isTrusted(remoteAddress)) {
+            return remoteAddress;
+        }
+
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !isTrusted(hop)) {
+                return hop;
+            }
+        }
+        String first = hops.length > 0 ? hops[0].trim() : "";
+        return first.isEmpty() ? remoteAddress : first;
+    }
+
+    private boolean isTrusted(String address) {
+        // Anything but an IP literal would make the matcher resolve it as a host name
+        if (address == null || !InetAddresses.isInetAddress(address)) {
+            return false;
+        }
+        for (IpAddressMatcher proxy : trustedProxies) {
+            if (proxy.matches(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
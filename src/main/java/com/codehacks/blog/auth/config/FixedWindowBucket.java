@@ -0,0 +1,58 @@
+package com.codehacks.blog.auth.config;
+
+import java.time.Duration;
+
+/**
+ * Immutable state of a token bucket that is refilled to capacity at the end of each window, the same as a
+ * Bucket4j bucket with an interval refill. Stores swap whole states with compare-and-set, so no lock is held.
+ */
+record FixedWindowBucket(long tokens, long windowStartMillis) {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * The state at {@code nowMillis}: the stored one, or a full bucket if there is none or its window is over.
+     */
+    static FixedWindowBucket current(FixedWindowBucket stored, RateLimitPolicy policy, long nowMillis) {
+        if (stored == null || nowMillis >= stored.windowEndMillis(policy)) {
+            return new FixedWindowBucket(policy.capacity(), nowMillis);
+        }
+        return stored;
+    }
+
+    boolean isEmpty() {
+        return tokens <= 0;
+    }
+
+    FixedWindowBucket take() {
+        return new FixedWindowBucket(tokens - 1, windowStartMillis);
+    }
+
+    long windowEndMillis(RateLimitPolicy policy) {
+        return windowStartMillis + policy.window().toMillis();
+    }
+
+    Duration resetAfter(RateLimitPolicy policy, long nowMillis) {
+        return Duration.ofMillis(Math.max(windowEndMillis(policy) - nowMillis, 0));
+    }
+
+    String format() {
+        return tokens + String.valueOf(SEPARATOR) + windowStartMillis;
+    }
+
+    static FixedWindowBucket parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        int separator = value.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            return new FixedWindowBucket(Long.parseLong(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,72 +1,71 @@
 package com.codehacks.blog.auth.config;
 
+import com.codehacks.blog.auth.model.TokenClaims;
 import com.codehacks.blog.auth.service.CustomUserDetailsService;
-import com.codehacks.blog.auth.service.TokenServiceImpl;
+import com.codehacks.blog.auth.service.TokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.Optional;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final TokenServiceImpl tokenService;
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
     private final CustomUserDetailsService userDetailsService;
+    private final PublicPaths publicPaths;
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
+
+    /**
+     * Where the authorities of an authenticated request come from: {@code claims} trusts the role claim of the
+     * verified token, {@code database} loads the user by email on every request.
+     */
+    @Value("${jwt.principal-source:claims}")
+    private String principalSource = "claims";
 
-    private final String[] PUBLIC_PATHS = {"/api/v1/auth/register", "/api/v1/auth/login"};
 
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return publicPaths.skipsAuthentication(request);
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws IOException {
 
         try {
-            String requestURI = request.getRequestURI();
-            log.debug("Processing request: {}", requestURI);
-
-            // Skip authentication for registration and login endpoints
-            AntPathMatcher pathMatcher = new AntPathMatcher();
-            boolean isPublicPath = Arrays.stream(PUBLIC_PATHS)
-                    .anyMatch(path -> pathMatcher.match(path, requestURI));
-
-            if (isPublicPath) {
-                log.debug("Skipping authentication for public endpoint: {}", requestURI);
-                filterChain.doFilter(request, response);
-                return;
-            }
-
             final String authHeader = request.getHeader("Authorization");
-            log.debug("Authorization header: {}", authHeader != null ? "present" : "missing");
 
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                log.debug("No valid Authorization header found, proceeding with chain");
+            if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            final String jwt = authHeader.substring(7);
-            log.debug("Validating JWT token");
+            final String jwt = authHeader.substring(BEARER_PREFIX.length());
 
-            if (tokenService.validateToken(jwt)) {
-                String userEmailFromToken = tokenService.getUserEmailFromToken(jwt);
-                log.debug("Token valid for user: {}", userEmailFromToken);
+            Optional<TokenClaims> claims = tokenService.verifyToken(jwt);
+            if (claims.isPresent()) {
+                String userEmailFromToken = claims.get().email();
 
-                UserDetails userDetails = this.userDetailsService.loadUserByEmail(userEmailFromToken);
-                log.debug("User details loaded: {}", userDetails.getUsername());
+                UserDetails userDetails = "database".equalsIgnoreCase(principalSource) || claims.get().role() == null
+                        ? this.userDetailsService.loadUserByEmail(userEmailFromToken)
+                        : this.userDetailsService.loadUserFromClaims(claims.get());
 
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userEmailFromToken,
@@ -74,14 +73,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         userDetails.getAuthorities()
                 );
 
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
+                authToken.setDetails(authenticationDetailsSource.buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-                log.debug("Authentication set in SecurityContext");
             } else {
-                log.debug("Token validation failed");
+                log.debug("Token validation failed for {}", request.getRequestURI());
             }
 
             filterChain.doFilter(request, response);
@@ -90,4 +86,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Authentication failed");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package com.codehacks.blog.auth.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Buckets in this node's memory. Each bucket is an {@link AtomicReference} to an immutable
+ * {@link FixedWindowBucket}, updated by compare-and-set.
+ * <p>
+ * A bucket expires one window after it was last touched, when it would be full again anyway, and the number of
+ * buckets is bounded, so a flood of distinct keys cannot grow the store without limit. Expiry is timed by the same
+ * {@link Clock} as the windows, so both agree on when a bucket is idle.
+ */
+public class LocalRateLimitBucketStore implements RateLimitBucketStore {
+
+    private final Cache<String, LocalBucket> buckets;
+    private final Clock clock;
+
+    public LocalRateLimitBucketStore(long maxBuckets, Clock clock) {
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfter(new IdleForOneWindow())
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimitPolicy policy) {
+        LocalBucket bucket = buckets.get(key, k -> new LocalBucket(policy));
+        while (true) {
+            long now = clock.millis();
+            FixedWindowBucket stored = bucket.state.get();
+            FixedWindowBucket current = FixedWindowBucket.current(stored, policy, now);
+            if (current.isEmpty()) {
+                return RateLimitDecision.rejected(policy.capacity(), current.resetAfter(policy, now));
+            }
+            FixedWindowBucket next = current.take();
+            if (bucket.state.compareAndSet(stored, next)) {
+                return RateLimitDecision.allowed(policy.capacity(), next.tokens(), next.resetAfter(policy, now));
+            }
+        }
+    }
+
+    long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private static final class LocalBucket {
+
+        private final RateLimitPolicy policy;
+        private final AtomicReference<FixedWindowBucket> state = new AtomicReference<>();
+
+        private LocalBucket(RateLimitPolicy policy) {
+            this.policy = policy;
+        }
+    }
+
+    private static final class IdleForOneWindow implements Expiry<String, LocalBucket> {
+
+        @Override
+        public long expireAfterCreate(String key, LocalBucket bucket, long currentTime) {
+            return bucket.policy.window().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, LocalBucket bucket, long currentTime, long currentDuration) {
+            return bucket.policy.window().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, LocalBucket bucket, long currentTime, long currentDuration) {
+            return bucket.policy.window().toNanos();
+        }
+    }
+}
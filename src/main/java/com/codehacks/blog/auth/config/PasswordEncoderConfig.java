@@ -0,0 +1,50 @@
+package com.codehacks.blog.auth.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Password hashes are stored as {@code {bcrypt}...} at the configured strength. Hashes written before the
+ * prefix existed are plain BCrypt and still verify; they, and any hash at a lower strength, report that they
+ * need an upgrade, and are re-encoded on the next successful login.
+ * <p>
+ * With {@code calibrate} enabled the strength is measured at startup: the highest one whose verification fits
+ * {@code target-verification-time} on this host, never below the configured strength.
+ */
+@Slf4j
+@Configuration
+public class PasswordEncoderConfig {
+
+    static final String BCRYPT_ID = "bcrypt";
+
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${blog.auth.password-encoder.bcrypt-strength:10}") int strength,
+            @Value("${blog.auth.password-encoder.calibrate:false}") boolean calibrate,
+            @Value("${blog.auth.password-encoder.target-verification-time:250ms}") Duration targetVerificationTime) {
+        int effectiveStrength = strength;
+        if (calibrate) {
+            long start = System.currentTimeMillis();
+            effectiveStrength = BcryptStrengthCalibrator.calibrate(strength, targetVerificationTime);
+            log.info("Calibrated BCrypt strength {} for a {} ms verification budget in {} ms", effectiveStrength,
+                    targetVerificationTime.toMillis(), System.currentTimeMillis() - start);
+        }
+        return delegatingPasswordEncoder(effectiveStrength);
+    }
+
+    static DelegatingPasswordEncoder delegatingPasswordEncoder(int strength) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID,
+                Map.of(BCRYPT_ID, new BCryptPasswordEncoder(strength)));
+        // Hashes stored before the {bcrypt} prefix was introduced
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(strength));
+        return encoder;
+    }
+}
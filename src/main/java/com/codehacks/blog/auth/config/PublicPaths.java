@@ -0,0 +1,120 @@
+package com.codehacks.blog.auth.config;
+
+import com.codehacks.blog.util.Constants;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The endpoints reachable without authentication, shared by {@link SecurityConfig}, which permits them, and
+ * {@link JwtAuthenticationFilter}, which does not look for a token on them.
+ * <p>
+ * Endpoints under {@link Constants#AUTH_PATH} are permitted as a whole but most of them check the caller
+ * themselves, so only registration and login skip the token. Literal paths are looked up in a hash set per
+ * method; the few wildcard patterns are parsed once into {@link PathPattern}s.
+ */
+@Component
+public class PublicPaths {
+
+    private static final List<Rule> RULES = List.of(
+            Rule.anyMethod(Constants.AUTH_PATH + "/**", false),
+            Rule.anyMethod("/v2/api-docs", true),
+            Rule.anyMethod("/v3/api-docs", true),
+            Rule.anyMethod("/v3/api-docs/**", true),
+            Rule.anyMethod("/swagger-resources", true),
+            Rule.anyMethod("/swagger-resources/**", true),
+            Rule.anyMethod("/configuration/ui", true),
+            Rule.anyMethod("/configuration/security", true),
+            Rule.anyMethod("/swagger-ui/**", true),
+            Rule.anyMethod("/webjars/**", true),
+            Rule.anyMethod("/swagger-ui.html", true),
+            Rule.anyMethod("/error", true),
+            Rule.of(HttpMethod.POST, Constants.AUTH_PATH + "/register"),
+            Rule.of(HttpMethod.POST, Constants.AUTH_PATH + "/login"),
+            Rule.of(HttpMethod.POST, Constants.SUBSCRIPTION_PATH + "/subscribe"),
+            Rule.of(HttpMethod.POST, Constants.SUBSCRIPTION_PATH + "/unsubscribe"),
+            Rule.of(HttpMethod.POST, Constants.SUBSCRIPTION_PATH + "/resubscribe"),
+            Rule.of(HttpMethod.GET, Constants.BLOG_PATH + "/recent"),
+            Rule.of(HttpMethod.GET, Constants.BLOG_PATH + "/previews")
+    );
+
+    private static final String ANY_METHOD = "*";
+
+    private final Map<String, Set<String>> literalPaths = new HashMap<>();
+    private final Map<String, List<PathPattern>> wildcardPatterns = new HashMap<>();
+
+    public PublicPaths() {
+        for (Rule rule : RULES) {
+            if (!rule.skipsAuthentication()) {
+                continue;
+            }
+            String method = rule.method() == null ? ANY_METHOD : rule.method().name();
+            if (rule.pattern().contains("*") || rule.pattern().contains("{")) {
+                wildcardPatterns.computeIfAbsent(method, m -> new ArrayList<>())
+                        .add(PathPatternParser.defaultInstance.parse(rule.pattern()));
+            } else {
+                literalPaths.computeIfAbsent(method, m -> new HashSet<>()).add(rule.pattern());
+            }
+        }
+    }
+
+    /**
+     * Every endpoint {@link SecurityConfig} permits without authentication.
+     */
+    public List<Rule> rules() {
+        return RULES;
+    }
+
+    public boolean skipsAuthentication(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return skipsAuthentication(request.getMethod(), path);
+    }
+
+    public boolean skipsAuthentication(String method, String path) {
+        if (contains(literalPaths.get(ANY_METHOD), path) || contains(literalPaths.get(method), path)) {
+            return true;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        return matches(wildcardPatterns.get(ANY_METHOD), container) || matches(wildcardPatterns.get(method), container);
+    }
+
+    private static boolean contains(Set<String> paths, String path) {
+        return paths != null && paths.contains(path);
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        if (patterns == null) {
+            return false;
+        }
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A permitted endpoint; {@code method} is {@code null} when every method is permitted.
+     */
+    public record Rule(HttpMethod method, String pattern, boolean skipsAuthentication) {
+
+        static Rule of(HttpMethod method, String pattern) {
+            return new Rule(method, pattern, true);
+        }
+
+        static Rule anyMethod(String pattern, boolean skipsAuthentication) {
+            return new Rule(null, pattern, skipsAuthentication);
+        }
+    }
+}
@@ -11,4 +11,25 @@ public @interface RateLimit {
     int maxRequests() default 100;
 
     int timeWindowMinutes() default 1;
+
+    /**
+     * Who shares a bucket; every strategy except {@link KeyStrategy#GLOBAL} still has one bucket per method.
+     */
+    KeyStrategy key() default KeyStrategy.CLIENT_IP;
+
+    /**
+     * Header carrying the API key for {@link KeyStrategy#API_KEY}.
+     */
+    String apiKeyHeader() default "X-API-Key";
+
+    enum KeyStrategy {
+        /** One bucket for all callers. */
+        GLOBAL,
+        /** One bucket per client address, see {@link ClientAddressResolver}. */
+        CLIENT_IP,
+        /** One bucket per authenticated user; anonymous callers fall back to their client address. */
+        USER,
+        /** One bucket per API key; callers without one fall back to their client address. */
+        API_KEY
+    }
 }
@@ -0,0 +1,12 @@
+package com.codehacks.blog.auth.config;
+
+/**
+ * Holds the rate limit buckets, created on first use and dropped once idle.
+ */
+public interface RateLimitBucketStore {
+
+    /**
+     * Takes one token from the bucket under {@code key}, creating a full bucket for {@code policy} if needed.
+     */
+    RateLimitDecision tryConsume(String key, RateLimitPolicy policy);
+}
@@ -0,0 +1,53 @@
+package com.codehacks.blog.auth.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+
+/**
+ * Picks where {@link RateLimit} buckets live: {@code local} keeps them per node, {@code redis} shares them across
+ * the cluster and falls back to local buckets while Redis is unavailable.
+ * <p>
+ * {@link RateLimitFilter} always keeps its buckets on the node: it exists to turn floods away as cheaply as
+ * possible, and a network round trip per rejected request would defeat that.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitFilterProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.rate-limit.store", havingValue = "local", matchIfMissing = true)
+    public RateLimitBucketStore localRateLimitBucketStore(@Value("${blog.rate-limit.max-buckets:100000}") long maxBuckets) {
+        return new LocalRateLimitBucketStore(maxBuckets, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.rate-limit.store", havingValue = "redis")
+    public RateLimitBucketStore redisRateLimitBucketStore(StringRedisTemplate redisTemplate,
+                                                          @Value("${blog.rate-limit.max-buckets:100000}") long maxBuckets) {
+        Clock clock = Clock.systemUTC();
+        return new RedisRateLimitBucketStore(redisTemplate, new LocalRateLimitBucketStore(maxBuckets, clock), clock);
+    }
+
+    /**
+     * Registered as a servlet filter just ahead of the Spring Security chain, so throttled requests never
+     * reach {@link JwtAuthenticationFilter}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "blog.rate-limit.filter.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitFilterProperties properties,
+                                                                   ClientAddressResolver clientAddressResolver) {
+        RateLimitFilter filter = new RateLimitFilter(properties.routes(), clientAddressResolver,
+                new LocalRateLimitBucketStore(properties.maxBuckets(), Clock.systemUTC()));
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
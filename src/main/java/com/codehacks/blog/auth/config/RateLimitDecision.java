@@ -0,0 +1,18 @@
+package com.codehacks.blog.auth.config;
+
+import java.time.Duration;
+
+/**
+ * The outcome of taking one token: whether the request may go ahead, how many tokens are left and how long
+ * until the bucket is full again.
+ */
+public record RateLimitDecision(boolean allowed, long limit, long remaining, Duration resetAfter) {
+
+    public static RateLimitDecision allowed(long limit, long remaining, Duration resetAfter) {
+        return new RateLimitDecision(true, limit, remaining, resetAfter);
+    }
+
+    public static RateLimitDecision rejected(long limit, Duration resetAfter) {
+        return new RateLimitDecision(false, limit, 0, resetAfter);
+    }
+}
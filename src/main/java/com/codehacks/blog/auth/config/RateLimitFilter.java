@@ -0,0 +1,145 @@
+package com.codehacks.blog.auth.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Throttles the configured routes per client address before Spring Security, JWT parsing or MVC see the
+ * request, so a flood on an endpoint such as login is turned away without any hashing, database or binding
+ * work.
+ * <p>
+ * A rejected request costs a route match, one lock-free bucket update and a fixed response body. Every
+ * throttled response carries the {@code RateLimit-Limit}, {@code RateLimit-Remaining} and
+ * {@code RateLimit-Reset} headers; a {@code 429} also carries {@code Retry-After}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    private static final byte[] REJECTED_BODY = "{\"error\": \"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final List<CompiledRoute> routes = new ArrayList<>();
+    private final ClientAddressResolver clientAddressResolver;
+    private final RateLimitBucketStore bucketStore;
+
+    public RateLimitFilter(List<RateLimitFilterProperties.Route> routes, ClientAddressResolver clientAddressResolver,
+                           RateLimitBucketStore bucketStore) {
+        this.clientAddressResolver = clientAddressResolver;
+        this.bucketStore = bucketStore;
+        for (int i = 0; i < routes.size(); i++) {
+            this.routes.add(CompiledRoute.of("route" + i, routes.get(i)));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        CompiledRoute route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = route.id() + "|" + clientAddressResolver.resolve(request);
+        RateLimitDecision decision = bucketStore.tryConsume(key, route.policy());
+        long resetSeconds = ceilSeconds(decision.resetAfter());
+        response.setHeader(LIMIT_HEADER, Long.toString(decision.limit()));
+        response.setHeader(REMAINING_HEADER, Long.toString(decision.remaining()));
+        response.setHeader(RESET_HEADER, Long.toString(resetSeconds));
+
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(resetSeconds, 1)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+
+    private CompiledRoute match(HttpServletRequest request) {
+        if (routes.isEmpty()) {
+            return null;
+        }
+        String method = request.getMethod();
+        String path = lookupPath(request);
+        PathContainer container = null;
+        for (CompiledRoute route : routes) {
+            if (route.method() != null && !route.method().equals(method)) {
+                continue;
+            }
+            if (route.pattern() == null) {
+                if (route.literal().equals(path)) {
+                    return route;
+                }
+                continue;
+            }
+            if (container == null) {
+                container = PathContainer.parsePath(path);
+            }
+            if (route.pattern().matches(container)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The path within the application as routing sees it: percent-decoded, without {@code ;} parameters,
+     * with duplicate slashes collapsed and {@code .}/{@code ..} segments resolved. Matching the raw request
+     * URI instead would let {@code /api/v1/auth/%6Cogin} or {@code /api/v1/auth/login;x} reach the login
+     * handler without being throttled.
+     */
+    private static String lookupPath(HttpServletRequest request) {
+        return StringUtils.cleanPath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+    }
+
+    private static long ceilSeconds(Duration duration) {
+        return (duration.toMillis() + 999) / 1000;
+    }
+
+    /**
+     * A configured route; {@code pattern} is only parsed for wildcard routes, literal ones compare
+     * {@code literal}.
+     */
+    private record CompiledRoute(String id, String method, String literal, PathPattern pattern,
+                                 RateLimitPolicy policy) {
+
+        static CompiledRoute of(String id, RateLimitFilterProperties.Route route) {
+            if (route.pattern() == null || route.pattern().isBlank()) {
+                throw new IllegalArgumentException("Rate limit route " + id + " needs a pattern");
+            }
+            String method = route.method() == null || route.method().isBlank()
+                    ? null
+                    : route.method().trim().toUpperCase(Locale.ROOT);
+            String pattern = route.pattern().trim();
+            PathPattern parsed = pattern.contains("*") || pattern.contains("{")
+                    ? PathPatternParser.defaultInstance.parse(pattern)
+                    : null;
+            return new CompiledRoute(id, method, pattern, parsed,
+                    new RateLimitPolicy(route.capacity(), route.window()));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.codehacks.blog.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Routes throttled by {@link RateLimitFilter}, bound from {@code blog.rate-limit.filter}. The first route
+ * matching a request applies; requests matching none pass untouched.
+ */
+@ConfigurationProperties(prefix = "blog.rate-limit.filter")
+public record RateLimitFilterProperties(@DefaultValue("100000") long maxBuckets,
+                                        List<Route> routes) {
+
+    public RateLimitFilterProperties {
+        routes = routes == null ? List.of() : List.copyOf(routes);
+    }
+
+    /**
+     * {@code capacity} requests per {@code window} for each client address; a missing {@code method} matches
+     * every method.
+     */
+    public record Route(String method, String pattern, long capacity, Duration window) {
+    }
+}
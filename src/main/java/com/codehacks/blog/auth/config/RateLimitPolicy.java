@@ -0,0 +1,19 @@
+package com.codehacks.blog.auth.config;
+
+import java.time.Duration;
+
+/**
+ * How many requests a bucket allows per window.
+ */
+public record RateLimitPolicy(long capacity, Duration window) {
+
+    public RateLimitPolicy {
+        if (capacity <= 0 || window == null || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and window");
+        }
+    }
+
+    public static RateLimitPolicy of(RateLimit rateLimit) {
+        return new RateLimitPolicy(rateLimit.maxRequests(), Duration.ofMinutes(rateLimit.timeWindowMinutes()));
+    }
+}
@@ -1,39 +1,85 @@
 package com.codehacks.blog.auth.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import jakarta.servlet.http.HttpServletRequest;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 @Aspect
 @Component
 public class RateLimiter {
 
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private static final String UNKNOWN_CLIENT = "unknown";
+
+    private final ClientAddressResolver clientAddressResolver;
+    private final RateLimitBucketStore bucketStore;
+
+    public RateLimiter(ClientAddressResolver clientAddressResolver, RateLimitBucketStore bucketStore) {
+        this.clientAddressResolver = clientAddressResolver;
+        this.bucketStore = bucketStore;
+    }
 
     @Around("@annotation(rateLimit)")
     public Object enforceRateLimit(ProceedingJoinPoint joinPoint, RateLimit rateLimit) throws Throwable {
-        String methodName = joinPoint.getSignature().toShortString();
-        Bucket bucket = buckets.computeIfAbsent(methodName, k -> createBucket(rateLimit));
+        String bucketKey = bucketKey(joinPoint.getSignature().toShortString(), rateLimit);
 
-        if (bucket.tryConsume(1)) {
+        if (bucketStore.tryConsume(bucketKey, RateLimitPolicy.of(rateLimit)).allowed()) {
             return joinPoint.proceed();
         }
         throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded");
     }
 
-    private Bucket createBucket(RateLimit rateLimit) {
-        Bandwidth limit = Bandwidth.classic(rateLimit.maxRequests(),
-                Refill.intervally(rateLimit.maxRequests(), Duration.ofMinutes(rateLimit.timeWindowMinutes())));
-        return Bucket.builder().addLimit(limit).build();
+    private String bucketKey(String methodName, RateLimit rateLimit) {
+        RateLimit.KeyStrategy strategy = rateLimit.key() == null ? RateLimit.KeyStrategy.CLIENT_IP : rateLimit.key();
+        if (strategy == RateLimit.KeyStrategy.GLOBAL) {
+            return methodName;
+        }
+        return methodName + "|" + clientKey(strategy, rateLimit);
+    }
+
+    private String clientKey(RateLimit.KeyStrategy strategy, RateLimit rateLimit) {
+        HttpServletRequest request = currentRequest();
+        if (strategy == RateLimit.KeyStrategy.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "user:" + authentication.getName();
+            }
+        } else if (strategy == RateLimit.KeyStrategy.API_KEY && request != null) {
+            String apiKey = request.getHeader(rateLimit.apiKeyHeader());
+            if (apiKey != null && !apiKey.isBlank()) {
+                // Never keep the raw key in memory or in Redis
+                return "key:" + sha256(apiKey);
+            }
+        }
+        return "ip:" + (request == null ? UNKNOWN_CLIENT : clientAddressResolver.resolve(request));
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
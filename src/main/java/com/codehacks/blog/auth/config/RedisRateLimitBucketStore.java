@@ -0,0 +1,78 @@
+package com.codehacks.blog.auth.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Buckets shared by every node through Redis, so a limit holds across the cluster.
+ * <p>
+ * A bucket is read, the next state is computed here and written back with a compare-and-set script that only
+ * succeeds if nobody changed the bucket in between; on a conflict the attempt is repeated. Keys expire when
+ * their window ends, which is also when an idle bucket would be full again. If Redis cannot be reached the
+ * node falls back to its own buckets rather than failing the request.
+ */
+@Slf4j
+public class RedisRateLimitBucketStore implements RateLimitBucketStore {
+
+    static final String KEY_PREFIX = "ratelimit:";
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final Duration CONTENDED_RETRY_AFTER = Duration.ofSeconds(1);
+
+    // ARGV[1] is the expected value, empty for a missing key
+    private static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if (current == false and ARGV[1] == '') or current == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitBucketStore fallback;
+    private final Clock clock;
+
+    public RedisRateLimitBucketStore(StringRedisTemplate redisTemplate, RateLimitBucketStore fallback, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+        this.clock = clock;
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimitPolicy policy) {
+        try {
+            return tryConsumeShared(KEY_PREFIX + key, policy);
+        } catch (RuntimeException e) {
+            log.warn("Rate limit store unavailable, using local buckets: {}", e.getMessage());
+            return fallback.tryConsume(key, policy);
+        }
+    }
+
+    private RateLimitDecision tryConsumeShared(String redisKey, RateLimitPolicy policy) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long now = clock.millis();
+            String stored = redisTemplate.opsForValue().get(redisKey);
+            FixedWindowBucket current = FixedWindowBucket.current(FixedWindowBucket.parse(stored), policy, now);
+            if (current.isEmpty()) {
+                return RateLimitDecision.rejected(policy.capacity(), current.resetAfter(policy, now));
+            }
+
+            FixedWindowBucket next = current.take();
+            long ttlMillis = Math.max(next.windowEndMillis(policy) - now, 1);
+            Long swapped = redisTemplate.execute(COMPARE_AND_SET, List.of(redisKey),
+                    stored == null ? "" : stored, next.format(), String.valueOf(ttlMillis));
+            if (swapped != null && swapped == 1L) {
+                return RateLimitDecision.allowed(policy.capacity(), next.tokens(), next.resetAfter(policy, now));
+            }
+        }
+        // Heavy contention on one bucket means a burst on one key; it is safe to turn the request away
+        return RateLimitDecision.rejected(policy.capacity(), CONTENDED_RETRY_AFTER);
+    }
+}
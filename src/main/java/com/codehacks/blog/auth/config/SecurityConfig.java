@@ -19,7 +19,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -40,30 +40,13 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsServiceImpl userDetailsService;
+    private final PublicPaths publicPaths;
+    private final PasswordEncoder passwordEncoder;
+    private final UserDetailsPasswordService passwordUpgradeService;
 
     @Value("${spring.web.cors.allowed-origins:*}")
     private String allowedOrigins;
 
-    private static final String[] WHITELIST = {
-            "/api/v1/auth/**",
-            "/v2/api-docs",
-            "/v3/api-docs",
-            "/v3/api-docs/**",
-            "/swagger-resources",
-            "/swagger-resources/**",
-            "/configuration/ui",
-            "/configuration/security",
-            "/swagger-ui/**",
-            "/webjars/**",
-            "/swagger-ui.html"
-    };
-
-    private static final String[] SUBSCRIPTION_PUBLIC_ENDPOINTS = {
-            Constants.SUBSCRIPTION_PATH + "/subscribe",
-            Constants.SUBSCRIPTION_PATH + "/unsubscribe",
-            Constants.SUBSCRIPTION_PATH + "/resubscribe"
-    };
-
     private static final String[] SUBSCRIPTION_AUTHENTICATED_ENDPOINTS = {
             Constants.SUBSCRIPTION_PATH + "/active",
             Constants.SUBSCRIPTION_PATH + "/grouped-by-status",
@@ -86,28 +69,35 @@ public class SecurityConfig {
                         })
                 )
                 .authorizeHttpRequests(auth -> {
+                    for (PublicPaths.Rule rule : publicPaths.rules()) {
+                        if (rule.method() == null) {
+                            auth.requestMatchers(rule.pattern()).permitAll();
+                        } else {
+                            auth.requestMatchers(rule.method(), rule.pattern()).permitAll();
+                        }
+                    }
                     auth
-                            .requestMatchers(WHITELIST).permitAll()
-                            .requestMatchers(HttpMethod.POST, SUBSCRIPTION_PUBLIC_ENDPOINTS).permitAll()
                             .requestMatchers(HttpMethod.GET, SUBSCRIPTION_AUTHENTICATED_ENDPOINTS[0]).hasRole("ADMIN")
-                            .requestMatchers(HttpMethod.PUT, SUBSCRIPTION_AUTHENTICATED_ENDPOINTS[1]).hasRole("ADMIN")
-                            .requestMatchers(HttpMethod.POST, Constants.AUTH_PATH + "/register").permitAll()
-                            .requestMatchers(HttpMethod.POST, Constants.AUTH_PATH + "/login").permitAll()
-                            .requestMatchers("/error").permitAll()
+                            .requestMatchers(HttpMethod.GET, Constants.SUBSCRIPTION_PATH + "/active/**").hasRole("ADMIN")
+                            .requestMatchers(HttpMethod.GET, SUBSCRIPTION_AUTHENTICATED_ENDPOINTS[1]).hasRole("ADMIN")
+                            .requestMatchers(HttpMethod.POST, Constants.SUBSCRIPTION_PATH + "/import").hasRole("ADMIN")
+                            .requestMatchers(HttpMethod.GET, Constants.SUBSCRIPTION_PATH + "/statistics/**").hasRole("ADMIN")
+                            .requestMatchers(HttpMethod.GET, Constants.SUBSCRIPTION_PATH + "/status/*").hasRole("ADMIN")
                             .requestMatchers(HttpMethod.PUT, Constants.AUTH_PATH + "/change-role").hasRole("ADMIN")
                             .requestMatchers(HttpMethod.GET, "/api/v1/users").hasAuthority("ADMIN")
                             .requestMatchers(Constants.AUTH_PATH + "/logout").authenticated()
+                            .requestMatchers(HttpMethod.GET, Constants.BLOG_PATH + "/export").hasRole("ADMIN")
                             .requestMatchers(HttpMethod.GET, Constants.BLOG_PATH + "/all").authenticated()
                             .requestMatchers(HttpMethod.GET, Constants.BLOG_PATH + "/{id}").authenticated()
-                            .requestMatchers(HttpMethod.GET, Constants.BLOG_PATH + "/recent").permitAll()
-                            .requestMatchers(HttpMethod.GET, Constants.BLOG_PATH + "/previews").permitAll()
                             .requestMatchers(HttpMethod.POST, Constants.BLOG_PATH + "/create").hasAnyRole("ADMIN", "AUTHOR")
                             .requestMatchers(HttpMethod.PUT, Constants.BLOG_PATH + "/update/{id}").hasAnyRole("ADMIN", "AUTHOR")
+                            .requestMatchers(HttpMethod.PUT, Constants.BLOG_PATH + "/publish/{id}").hasAnyRole("ADMIN", "AUTHOR")
                             .requestMatchers(HttpMethod.DELETE, Constants.BLOG_PATH + "/delete/{id}").hasAnyRole("ADMIN", "AUTHOR")
                             .requestMatchers(HttpMethod.GET, Constants.BLOG_PATH + "/search").authenticated()
                             .requestMatchers(HttpMethod.GET, Constants.BLOG_PATH + "/search/author").hasAnyRole("ADMIN", "AUTHOR")
                             .requestMatchers(HttpMethod.POST, Constants.COMMENT_PATH + "/{postId}/comments").authenticated()
                             .requestMatchers(HttpMethod.PUT, Constants.COMMENT_PATH + "/update/{postId}/{commentId}").authenticated()
+                            .requestMatchers(HttpMethod.GET, Constants.COMMENT_PATH + "/posts").authenticated()
                             .requestMatchers(HttpMethod.GET, Constants.COMMENT_PATH + "/{id}").authenticated()
                             .requestMatchers(HttpMethod.GET, Constants.COMMENT_PATH + "/post/{postId}").authenticated()
                             .requestMatchers(HttpMethod.DELETE, Constants.COMMENT_PATH + "/delete/{id}").hasRole("ADMIN")
@@ -148,7 +138,9 @@ public class SecurityConfig {
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Re-encodes a password whose stored hash is outdated once it has been verified
+        authProvider.setUserDetailsPasswordService(passwordUpgradeService);
         return authProvider;
     }
 
@@ -156,9 +148,4 @@ public class SecurityConfig {
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
     }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
\ No newline at end of file
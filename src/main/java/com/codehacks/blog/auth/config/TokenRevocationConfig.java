@@ -0,0 +1,31 @@
+package com.codehacks.blog.auth.config;
+
+import com.codehacks.blog.auth.service.CustomUserDetailsService;
+import com.codehacks.blog.auth.service.TokenServiceImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes every node to token revocations so a logout drops the token from all local validation caches, and the
+ * user from all local user-details caches. Only needed with the shared Redis token store.
+ */
+@Configuration
+@ConditionalOnExpression("${jwt.revocation.pubsub.enabled:true} and '${jwt.token-store.type:redis}' == 'redis'")
+public class TokenRevocationConfig {
+
+    @Bean
+    public RedisMessageListenerContainer tokenRevocationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                          TokenServiceImpl tokenService,
+                                                                          CustomUserDetailsService userDetailsService) {
+        ChannelTopic revocations = new ChannelTopic(TokenServiceImpl.REVOCATION_CHANNEL);
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(tokenService, revocations);
+        container.addMessageListener(userDetailsService, revocations);
+        return container;
+    }
+}
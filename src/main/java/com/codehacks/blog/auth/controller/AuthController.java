@@ -1,5 +1,6 @@
 package com.codehacks.blog.auth.controller;
 
+import com.codehacks.blog.auth.config.PasswordHashingExecutor;
 import com.codehacks.blog.auth.dto.ApiResponse;
 import com.codehacks.blog.auth.dto.AuthResponse;
 import com.codehacks.blog.auth.dto.LoginRequest;
@@ -8,6 +9,7 @@ import com.codehacks.blog.auth.dto.RegisterRequest;
 import com.codehacks.blog.auth.dto.RoleChangeRequest;
 import com.codehacks.blog.auth.dto.UserDTO;
 import com.codehacks.blog.auth.model.CustomUserDetails;
+import com.codehacks.blog.auth.model.Role;
 import com.codehacks.blog.auth.model.User;
 import com.codehacks.blog.auth.service.AuthService;
 import com.codehacks.blog.util.Constants;
@@ -38,6 +40,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping(Constants.AUTH_PATH)
 @Validated
@@ -47,11 +52,14 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final AuthService authService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @Autowired
-    public AuthController(AuthService authService, AuthenticationManager authenticationManager) {
+    public AuthController(AuthService authService, AuthenticationManager authenticationManager,
+                          PasswordHashingExecutor passwordHashingExecutor) {
         this.authService = authService;
         this.authenticationManager = authenticationManager;
+        this.passwordHashingExecutor = passwordHashingExecutor;
     }
 
     @PostMapping(value = "/register", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -67,15 +75,27 @@ public class AuthController {
     @PostMapping(value = "/login", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Login user")
     @PreAuthorize("permitAll()")
-    public ResponseEntity<ApiResponse<AuthResponse>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> authenticateUser(
+            @Valid @RequestBody LoginRequest loginRequest) {
+        // The password check runs on the bounded hashing pool; the request thread is released meanwhile
+        try {
+            return passwordHashingExecutor.submit(() -> login(loginRequest));
+        } catch (RejectedExecutionException ex) {
+            log.warn("Login refused for email: {} - password hashing queue is full", loginRequest.email());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ApiResponse<>(false, "Too many login attempts, please retry shortly", null)));
+        }
+    }
+
+    private ResponseEntity<ApiResponse<AuthResponse>> login(LoginRequest loginRequest) {
         try {
             // Perform authentication using AuthenticationManager
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(loginRequest.email(), loginRequest.password())
             );
-            SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            // Extract authenticated user details
+            // The authenticated principal carries everything the token needs
             CustomUserDetails customUserDetails = (CustomUserDetails) authentication.getPrincipal();
 
             String generateToken = authService.authenticate(customUserDetails);
@@ -144,6 +164,15 @@ public class AuthController {
         return ResponseEntity.ok("Logged out successfully");
     }
 
+    @PostMapping(value = "/revoke-sessions", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "End the sessions of every user with a role")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Long>> revokeSessions(@RequestParam Role role) {
+        long revoked = authService.revokeSessions(role);
+        log.info("Revoked {} sessions of role {}", revoked, role);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Sessions revoked", revoked));
+    }
+
     @PostMapping(value = "/admin-only", produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<String>> adminEndpoint(HttpServletRequest request) {
@@ -13,6 +13,10 @@ import java.util.Collection;
 @Setter
 public class CustomUserDetails implements UserDetails {
 
+    /**
+     * The user's id, or {@code null} when the details were built without it.
+     */
+    private final Long id;
     private final String username;
     private final String password;
     private final String email;
@@ -22,6 +26,12 @@ public class CustomUserDetails implements UserDetails {
 
     public CustomUserDetails(String username, String password, String email, Role role,
                              Collection<? extends GrantedAuthority> authorities, boolean enabled) {
+        this(null, username, password, email, role, authorities, enabled);
+    }
+
+    public CustomUserDetails(Long id, String username, String password, String email, Role role,
+                             Collection<? extends GrantedAuthority> authorities, boolean enabled) {
+        this.id = id;
         this.username = username;
         this.password = password;
         this.email = email;
@@ -0,0 +1,13 @@
+package com.codehacks.blog.auth.model;
+
+import java.time.Instant;
+
+/**
+ * The claims of a JWT whose signature, expiry and session have been checked.
+ */
+public record TokenClaims(Long userId, String username, String email, Role role, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -1,9 +1,10 @@
 package com.codehacks.blog.auth.service;
 
+import com.codehacks.blog.auth.audit.AdminAccessEvent;
+import com.codehacks.blog.auth.audit.AdminAuditLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -12,12 +13,12 @@ import java.time.LocalDateTime;
 public class AdminServiceImpl implements AdminService {
 
     private static final Logger logger = LoggerFactory.getLogger(AdminServiceImpl.class);
-    private final RedisTemplate<String, String> redisTemplate;
+    private final AdminAuditLog auditLog;
     private final SecurityService securityService;
 
     @Autowired
-    public AdminServiceImpl(RedisTemplate<String, String> redisTemplate, SecurityService securityService) {
-        this.redisTemplate = redisTemplate;
+    public AdminServiceImpl(AdminAuditLog auditLog, SecurityService securityService) {
+        this.auditLog = auditLog;
         this.securityService = securityService;
     }
 
@@ -27,25 +28,16 @@ public class AdminServiceImpl implements AdminService {
         logger.info("Admin access detected: Email = {}, IP Address = {} at {}",
                 adminEmail, ipAddress, timestamp);
 
-        String redisKey = "admin:access:" + adminEmail;
-
-        String accessDetails = String.format("IP: %s, Time: %s", ipAddress, timestamp);
-        redisTemplate.opsForList().rightPush(redisKey, accessDetails);
-
-        redisTemplate.expire(redisKey, java.time.Duration.ofDays(7));
+        auditLog.record(new AdminAccessEvent(AdminAccessEvent.Kind.ACCESS, adminEmail, ipAddress, timestamp));
     }
 
     public void reportUnauthorizedAdminAccess(String adminEmail, String ipAddress) {
-        logger.warn("Unauthorized admin access attempt detected: Email = {}, IP Address = {} at {}",
-                adminEmail, ipAddress, LocalDateTime.now());
-
-        String redisKey = "admin:unauthorized:access:" + adminEmail;
+        LocalDateTime timestamp = LocalDateTime.now();
 
-        String accessDetails = String.format("IP: %s, Time: %s", ipAddress, LocalDateTime.now());
-        redisTemplate.opsForList().rightPush(redisKey, accessDetails);
+        logger.warn("Unauthorized admin access attempt detected: Email = {}, IP Address = {} at {}",
+                adminEmail, ipAddress, timestamp);
 
-        short expiration_days_for_log = 120;
-        redisTemplate.expire(redisKey, java.time.Duration.ofDays(expiration_days_for_log));
+        auditLog.record(new AdminAccessEvent(AdminAccessEvent.Kind.UNAUTHORIZED, adminEmail, ipAddress, timestamp));
 
         securityService.handleSuspiciousLogin(adminEmail, ipAddress);
     }
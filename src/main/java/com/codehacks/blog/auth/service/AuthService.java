@@ -14,6 +14,13 @@ public interface AuthService {
 
     void logout(String email);
 
+    /**
+     * Ends the sessions of every user with the given role.
+     *
+     * @return the number of sessions that were active
+     */
+    long revokeSessions(Role role);
+
     void logAdminAccess(String email, String ipAddress);
 
     void changePassword(String username, String currentPassword, String newPassword);
@@ -14,14 +14,16 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
 @AllArgsConstructor
-public class AuthServiceImpl implements AuthService {
+public class AuthServiceImpl implements AuthService, UserDetailsPasswordService {
 
     private static final Logger log = LoggerFactory.getLogger(AuthServiceImpl.class);
     private final UserRepository userRepository;
@@ -29,35 +31,57 @@ public class AuthServiceImpl implements AuthService {
     private final TokenService tokenService;
     private final AdminService adminService;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
 
+    /**
+     * Issues the session token for a principal the {@code AuthenticationManager} has just authenticated. The
+     * principal already carries everything the token needs, so the user is only looked up again if it was built
+     * without an id.
+     */
     public String authenticate(CustomUserDetails customUserDetails) {
         log.info("AuthService: Starting authentication for email: {}", customUserDetails.getEmail());
-        Optional<User> optionalUser = userRepository.findByUsername(customUserDetails.getUsername());
-
-        if (optionalUser.isEmpty()) {
-            log.error("AuthService: User not found with username: {}", customUserDetails.getUsername());
-            throw new UserAccountException("Invalid login credentials");
-        }
+        User user = customUserDetails.getId() != null
+                ? toTokenSubject(customUserDetails)
+                : userRepository.findByUsername(customUserDetails.getUsername())
+                .orElseThrow(() -> {
+                    log.error("AuthService: User not found with username: {}", customUserDetails.getUsername());
+                    return new UserAccountException("Invalid login credentials");
+                });
+
+        return generateToken(user);
+    }
 
-        User user = optionalUser.get();
-        log.info("AuthService: User found - Username: {}, Email: {}", user.getUsername(), user.getEmail());
+    private String generateToken(User user) {
+        return tokenService.getOrCreateToken(user);
+    }
 
-        return generateToken(customUserDetails);
+    private static User toTokenSubject(CustomUserDetails userDetails) {
+        User user = new User();
+        user.setId(userDetails.getId());
+        user.setUsername(userDetails.getUsername());
+        user.setEmail(userDetails.getEmail());
+        user.setRole(userDetails.getRole());
+        user.setEnabled(userDetails.isEnabled());
+        return user;
     }
 
-    private String generateToken(UserDetails userDetails) {
-        Optional<User> optionalUser = userRepository.findByUsername(userDetails.getUsername());
-        if (optionalUser.isEmpty()) {
-            throw new UserAccountException("User not found");
+    /**
+     * Stores the re-encoded password of a user whose hash was outdated, called by the authentication provider
+     * right after the password was verified.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (!(user instanceof CustomUserDetails details)) {
+            return user;
         }
-
-        User user = optionalUser.get();
-
-        if (tokenService.hasExistingToken(user.getEmail())) {
-            return tokenService.getToken(user.getEmail());
+        if (userRepository.updatePasswordByEmail(details.getEmail(), newPassword) == 0) {
+            log.warn("AuthService: Could not upgrade password hash, user no longer exists: {}", details.getEmail());
+            return user;
         }
-
-        return tokenService.generateToken(user);
+        userDetailsService.evict(details.getEmail());
+        log.info("AuthService: Upgraded password hash for email: {}", details.getEmail());
+        return new CustomUserDetails(details.getId(), details.getUsername(), newPassword, details.getEmail(),
+                details.getRole(), details.getAuthorities(), details.isEnabled());
     }
 
     public UserDTO registerUser(User user, String rawPassword) {
@@ -103,6 +127,13 @@ public class AuthServiceImpl implements AuthService {
         tokenService.invalidateToken(email);
     }
 
+    public long revokeSessions(Role role) {
+        List<String> emails = userRepository.findEmailsByRole(role);
+        long ended = tokenService.invalidateTokens(emails);
+        log.info("Revoked {} sessions of {} users with role {}", ended, emails.size(), role);
+        return ended;
+    }
+
     public void changePassword(String username, String currentPassword, String newPassword) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UserAccountException("User not found"));
@@ -113,6 +144,7 @@ public class AuthServiceImpl implements AuthService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userDetailsService.evict(user.getEmail());
     }
 
     public User changeUserRole(String username, Role role) {
@@ -125,7 +157,11 @@ public class AuthServiceImpl implements AuthService {
                     .orElseThrow(() -> new UserAccountException(username + " not found"));
 
             user.setRole(role);
-            return userRepository.save(user);
+            User savedUser = userRepository.save(user);
+            userDetailsService.evict(user.getEmail());
+            // The current token still carries the old role claim
+            tokenService.invalidateToken(user.getEmail());
+            return savedUser;
         }
 
         throw new UserAccountException("FORBIDDEN: You are not authorized");
@@ -137,6 +173,8 @@ public class AuthServiceImpl implements AuthService {
 
         if (user.getRole().equals(Role.ADMIN)) {
             userRepository.delete(user);
+            userDetailsService.evict(user.getEmail());
+            tokenService.invalidateToken(user.getEmail());
         }
     }
 
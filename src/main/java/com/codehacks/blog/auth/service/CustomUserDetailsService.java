@@ -1,42 +1,101 @@
 package com.codehacks.blog.auth.service;
 
 import com.codehacks.blog.auth.model.CustomUserDetails;
+import com.codehacks.blog.auth.model.TokenClaims;
 import com.codehacks.blog.auth.model.User;
 import com.codehacks.blog.auth.repository.UserRepository;
-import lombok.AllArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
 
+/**
+ * Resolves users for Spring Security.
+ * <p>
+ * Lookups by email can be served from a bounded local cache ({@code jwt.user-details-cache.enabled}); whoever
+ * changes a user's role, password or account must call {@link #evict(String)} for that email. Other nodes drop their
+ * copy when the user's session is revoked, since every revocation published on
+ * {@value TokenServiceImpl#REVOCATION_CHANNEL} evicts the email here too; changes that revoke no session stay stale
+ * on other nodes for at most {@code jwt.user-details-cache.ttl}.
+ */
 @Service
-@AllArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, MessageListener {
 
     private final UserRepository userRepository;
+    private final Cache<String, UserDetails> userDetailsByEmail;
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${jwt.user-details-cache.enabled:false}") boolean cacheEnabled,
+                                    @Value("${jwt.user-details-cache.max-size:10000}") long cacheMaxSize,
+                                    @Value("${jwt.user-details-cache.ttl:5m}") Duration cacheTtl) {
+        this.userRepository = userRepository;
+        this.userDetailsByEmail = cacheEnabled
+                ? Caffeine.newBuilder().maximumSize(cacheMaxSize).expireAfterWrite(cacheTtl).build()
+                : null;
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
+        return toUserDetails(user);
+    }
+
+    public UserDetails loadUserByEmail(String email) throws UsernameNotFoundException {
+        if (userDetailsByEmail == null) {
+            return loadUserFromDatabase(email);
+        }
+        return userDetailsByEmail.get(email, this::loadUserFromDatabase);
+    }
+
+    /**
+     * Builds the user from the claims of a verified token, without touching the database. The account is taken as
+     * enabled because tokens are only issued to enabled users; disabling, deleting or re-roling a user must therefore
+     * end its session through {@link TokenService#invalidateToken(String)}, which also evicts it on every node.
+     */
+    public UserDetails loadUserFromClaims(TokenClaims claims) {
         return new CustomUserDetails(
-                user.getUsername(),
-                user.getPassword(),
-                user.getEmail(),
-                user.getRole(),
-                Collections.singleton(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())),
-                user.isEnabled()
+                claims.userId(),
+                claims.username(),
+                null,
+                claims.email(),
+                claims.role(),
+                Collections.singleton(new SimpleGrantedAuthority("ROLE_" + claims.role().name())),
+                true
         );
     }
 
-    public UserDetails loadUserByEmail(String email) throws UsernameNotFoundException {
+    public void evict(String email) {
+        if (userDetailsByEmail != null && email != null) {
+            userDetailsByEmail.invalidate(email);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evict(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private UserDetails loadUserFromDatabase(String email) {
         User user = userRepository.findByEmail(email).orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
+        return toUserDetails(user);
+    }
+
+    private static UserDetails toUserDetails(User user) {
         return new CustomUserDetails(
+                user.getId(),
                 user.getUsername(),
                 user.getPassword(),
                 user.getEmail(),
@@ -45,6 +104,4 @@ public class CustomUserDetailsService implements UserDetailsService {
                 user.isEnabled()
         );
     }
-
 }
-
@@ -1,14 +1,14 @@
 package com.codehacks.blog.auth.service;
 
-import com.codehacks.blog.auth.config.MailConfig;
+import com.codehacks.blog.auth.alert.SecurityAlert;
+import com.codehacks.blog.auth.alert.SecurityAlertDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 @Service
@@ -16,7 +16,7 @@ public class SecurityServiceImpl implements SecurityService {
 
     private static final Logger logger = LoggerFactory.getLogger(SecurityServiceImpl.class);
 
-    private final MailConfig mailSender;
+    private final SecurityAlertDispatcher alertDispatcher;
 
     @Value("${security.team}")
     private String securityEmail;
@@ -25,8 +25,9 @@ public class SecurityServiceImpl implements SecurityService {
     private final Set<String> knownIps;
 
     @Autowired
-    public SecurityServiceImpl(MailConfig mailSender, @Value("${security.known_ips}") Set<String> knownIps) {
-        this.mailSender = mailSender;
+    public SecurityServiceImpl(SecurityAlertDispatcher alertDispatcher,
+                               @Value("${security.known_ips}") Set<String> knownIps) {
+        this.alertDispatcher = alertDispatcher;
         this.knownIps = knownIps;
     }
 
@@ -43,34 +44,7 @@ public class SecurityServiceImpl implements SecurityService {
             return;
         }
 
-        String subject = "Unusual Admin Login Detected";
-        String message = """
-                Dear Security Team,
-                
-                We detected unusual admin login activity:
-                
-                - User Email: %s
-                - IP Address: %s
-                - Timestamp: %s
-                
-                Please investigate immediately.
-                """.formatted(email, ipAddress, java.time.LocalDateTime.now());
-
-        sendEmail(securityEmail, subject, message);
-    }
-
-    private void sendEmail(String to, String subject, String message) {
-        try {
-            SimpleMailMessage mailMessage = new SimpleMailMessage();
-            mailMessage.setTo(to);
-            mailMessage.setSubject(subject);
-            mailMessage.setText(message);
-            mailSender.javaMailSender().send(mailMessage);
-        } catch (MailException e) {
-            logger.error("Failed to send email due to mail exception: {}", e.getMessage());
-        } catch (Exception e) {
-            logger.error("Failed to send email: {}", e.getMessage());
-        }
+        alertDispatcher.dispatch(new SecurityAlert(securityEmail, email, ipAddress, LocalDateTime.now()));
     }
 
     private boolean isSuspiciousLogin(String ipAddress) {
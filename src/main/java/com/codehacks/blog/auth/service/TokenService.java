@@ -1,7 +1,11 @@
 package com.codehacks.blog.auth.service;
 
+import com.codehacks.blog.auth.model.TokenClaims;
 import com.codehacks.blog.auth.model.User;
 
+import java.util.Collection;
+import java.util.Optional;
+
 public interface TokenService {
 
     /**
@@ -12,6 +16,15 @@ public interface TokenService {
      */
     String generateToken(User user);
 
+    /**
+     * Returns the user's current session token, issuing one if there is none. Concurrent logins of the same
+     * user end up sharing one session.
+     *
+     * @param user The user to get or issue the token for
+     * @return The session token
+     */
+    String getOrCreateToken(User user);
+
     /**
      * Validates a JWT token
      *
@@ -20,6 +33,14 @@ public interface TokenService {
      */
     boolean validateToken(String token);
 
+    /**
+     * Verifies a JWT token once: signature, expiry and that it is still the user's current session
+     *
+     * @param token The token to verify
+     * @return The token's claims, or empty if the token is not valid
+     */
+    Optional<TokenClaims> verifyToken(String token);
+
     /**
      * Gets the user ID from a JWT token
      *
@@ -43,6 +64,14 @@ public interface TokenService {
      */
     void invalidateToken(String token);
 
+    /**
+     * Ends the sessions of many users at once, in pipelined batches
+     *
+     * @param emails emails of the users whose sessions end
+     * @return the number of sessions that existed
+     */
+    long invalidateTokens(Collection<String> emails);
+
     /**
      * Check if redis has token associated with email
      *
@@ -1,26 +1,64 @@
 package com.codehacks.blog.auth.service;
 
+import com.codehacks.blog.auth.model.Role;
+import com.codehacks.blog.auth.model.TokenClaims;
 import com.codehacks.blog.auth.model.User;
+import com.codehacks.blog.auth.store.RedisTokenStore;
+import com.codehacks.blog.auth.store.TokenStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
-import java.util.concurrent.TimeUnit;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Issues JWTs and checks them against the user's session in the {@link TokenStore}.
+ * <p>
+ * Verified tokens are remembered by their SHA-256 digest for a short while, so a client reusing its token does not
+ * pay for a signature check and a store lookup on every request. With the shared Redis store, ending a session
+ * publishes its email on {@value #REVOCATION_CHANNEL}; every node drops the cached tokens of that user on receipt,
+ * and the cache TTL bounds how long a revoked token can survive a lost message. Cached digests are indexed by email,
+ * so dropping one user's tokens touches only that user's entries rather than scanning the whole cache. A revocation
+ * that lands while a token is being checked against the store discards the entry that check caches, so a token ended
+ * mid-check is not served from the cache afterwards.
+ */
 @Service
 @RequiredArgsConstructor
-public class TokenServiceImpl implements TokenService {
+public class TokenServiceImpl implements TokenService, MessageListener {
 
-    private final RedisTemplate<String, String> redisTemplate;
-    private static final String KEY_PREFIX = "token:";
+    public static final String REVOCATION_CHANNEL = RedisTokenStore.REVOCATION_CHANNEL;
+
+    private static final Duration SESSION_TTL = Duration.ofHours(6);
+
+    private final TokenStore tokenStore;
+    private final ConcurrentMap<String, Set<String>> digestsByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong revocations = new AtomicLong();
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -28,75 +66,116 @@ public class TokenServiceImpl implements TokenService {
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
 
+    @Value("${jwt.validation-cache.ttl:30s}")
+    private Duration validationCacheTtl;
+
+    @Value("${jwt.validation-cache.max-size:10000}")
+    private long validationCacheMaxSize;
+
     private Key signingKey;
+    private JwtParser parser;
+    private Cache<String, TokenClaims> verifiedTokens;
 
     @PostConstruct
     public void init() {
         byte[] keyBytes = this.jwtSecret.getBytes();
         this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(this.signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(validationCacheMaxSize)
+                .expireAfterWrite(validationCacheTtl)
+                .evictionListener((String digest, TokenClaims claims, RemovalCause cause) ->
+                        unindex(claims.email(), digest))
+                .build();
     }
 
     @Override
     public String generateToken(User user) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + this.jwtExpiration);
+        String token = buildToken(user);
+        tokenStore.put(user.getEmail(), token, SESSION_TTL);
+        // Any token issued before this one is no longer the user's session
+        evictVerifiedTokens(user.getEmail());
+        return token;
+    }
 
-        String token = Jwts.builder()
-                .setSubject(String.valueOf(user.getId()))
-                .claim("username", user.getUsername())
-                .claim("email", user.getEmail())
-                .claim("role", user.getRole().name())
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(this.signingKey, SignatureAlgorithm.HS512)
-                .compact();
+    @Override
+    public String getOrCreateToken(User user) {
+        String existing = tokenStore.get(user.getEmail());
+        if (existing != null) {
+            return existing;
+        }
 
-        // Store token in Redis with 6 hours expiration
-        redisTemplate.opsForValue().set(
-                KEY_PREFIX + user.getEmail(),
-                token,
-                6,
-                TimeUnit.HOURS
-        );
-        return token;
+        String token = buildToken(user);
+        if (tokenStore.putIfAbsent(user.getEmail(), token, SESSION_TTL)) {
+            return token;
+        }
+        // A concurrent login stored its token first; share that session
+        String winner = tokenStore.get(user.getEmail());
+        return winner != null ? winner : generateToken(user);
     }
 
     @Override
     public String getToken(String email) {
-        return redisTemplate.opsForValue().get(KEY_PREFIX + email);
+        return tokenStore.get(email);
     }
 
     @Override
     public boolean validateToken(String token) {
+        return verifyToken(token).isPresent();
+    }
+
+    @Override
+    public Optional<TokenClaims> verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        String digest = digest(token);
+        TokenClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            if (!cached.isExpired(Instant.now())) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.invalidate(digest);
+            unindex(cached.email(), digest);
+            return Optional.empty();
+        }
+
+        // Read before the store lookup: a revocation after this point may miss the entry cached below
+        long revocationsBeforeLookup = revocations.get();
+        TokenClaims claims;
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(this.signingKey)
-                    .build()
-                    .parseClaimsJws(token);
-            return isTokenValid(token);
-        } catch (Exception e) {
-            return false;
+            claims = toTokenClaims(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
+        if (claims.email() == null || !token.equals(getToken(claims.email()))) {
+            return Optional.empty();
+        }
+        digestsByEmail.compute(claims.email(), (email, digests) -> {
+            Set<String> indexed = digests != null ? digests : new HashSet<>();
+            indexed.add(digest);
+            return indexed;
+        });
+        verifiedTokens.put(digest, claims);
+        if (revocations.get() != revocationsBeforeLookup) {
+            verifiedTokens.invalidate(digest);
+            unindex(claims.email(), digest);
+        }
+        return Optional.of(claims);
     }
 
     @Override
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(this.signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parser.parseClaimsJws(token).getBody();
         return Long.parseLong(claims.getSubject());
     }
 
     @Override
     public String getUserEmailFromToken(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(this.signingKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = parser.parseClaimsJws(token).getBody();
             return claims.get("email", String.class);
         } catch (Exception e) {
             return null;
@@ -105,22 +184,81 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     public void invalidateToken(String email) {
-        if (hasExistingToken(email)) {
-            redisTemplate.delete(KEY_PREFIX + email);
+        tokenStore.remove(email);
+        evictVerifiedTokens(email);
+    }
+
+    @Override
+    public long invalidateTokens(Collection<String> emails) {
+        long ended = tokenStore.removeAll(emails);
+        emails.forEach(this::evictVerifiedTokens);
+        return ended;
+    }
+
+    @Override
+    public boolean hasExistingToken(String email) {
+        return tokenStore.contains(email);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evictVerifiedTokens(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private String buildToken(User user) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + this.jwtExpiration);
+
+        return Jwts.builder()
+                .setSubject(String.valueOf(user.getId()))
+                .claim("username", user.getUsername())
+                .claim("email", user.getEmail())
+                .claim("role", user.getRole().name())
+                .setIssuedAt(now)
+                .setExpiration(expiryDate)
+                .signWith(this.signingKey, SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    private void evictVerifiedTokens(String email) {
+        // Counted first, so a check that indexes its digest after the removal below sees the change and drops it
+        revocations.incrementAndGet();
+        Set<String> digests = digestsByEmail.remove(email);
+        if (digests != null) {
+            verifiedTokens.invalidateAll(digests);
         }
     }
 
-    private boolean isTokenValid(String token) {
-        String email = getUserEmailFromToken(token);
+    private void unindex(String email, String digest) {
         if (email == null) {
-            return false;
+            return;
         }
-        String storedToken = redisTemplate.opsForValue().get(KEY_PREFIX + email);
-        return token.equals(storedToken);
+        digestsByEmail.computeIfPresent(email, (key, digests) -> {
+            digests.remove(digest);
+            return digests.isEmpty() ? null : digests;
+        });
     }
 
-    @Override
-    public boolean hasExistingToken(String email) {
-        return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + email));
+    private static TokenClaims toTokenClaims(Claims claims) {
+        if (claims.getExpiration() == null) {
+            throw new JwtException("Token has no expiration");
+        }
+        String role = claims.get("role", String.class);
+        return new TokenClaims(
+                claims.getSubject() == null ? null : Long.valueOf(claims.getSubject()),
+                claims.get("username", String.class),
+                claims.get("email", String.class),
+                role == null ? null : Role.valueOf(role),
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
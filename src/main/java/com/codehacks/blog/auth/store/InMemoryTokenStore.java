@@ -0,0 +1,141 @@
+package com.codehacks.blog.auth.store;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sessions in this node's memory, for single-node deployments and tests that should not need Redis.
+ * <p>
+ * Entries are immutable and swapped with atomic compare-and-set map operations; reads never block. An expired
+ * session is treated as absent as soon as it expires and is physically removed by a sweep that runs every
+ * {@code jwt.token-store.sweep-interval}.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.token-store.type", havingValue = "memory")
+public class InMemoryTokenStore implements TokenStore, DisposableBean {
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private final ScheduledExecutorService sweeper;
+
+    public InMemoryTokenStore(@Value("${jwt.token-store.sweep-interval:1m}") Duration sweepInterval) {
+        this(Clock.systemUTC(), sweepInterval);
+    }
+
+    InMemoryTokenStore(Clock clock, Duration sweepInterval) {
+        this.clock = clock;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-store-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String get(String email) {
+        Session session = live(email);
+        return session == null ? null : session.token();
+    }
+
+    @Override
+    public void put(String email, String token, Duration ttl) {
+        sessions.put(email, new Session(token, expiresAt(ttl)));
+    }
+
+    @Override
+    public boolean putIfAbsent(String email, String token, Duration ttl) {
+        Session created = new Session(token, expiresAt(ttl));
+        while (true) {
+            Session current = sessions.putIfAbsent(email, created);
+            if (current == null) {
+                return true;
+            }
+            if (!current.isExpired(clock.millis())) {
+                return false;
+            }
+            // An expired session counts as absent; replace it unless someone else just did
+            if (sessions.replace(email, current, created)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean contains(String email) {
+        return live(email) != null;
+    }
+
+    @Override
+    public boolean remove(String email) {
+        Session removed = sessions.remove(email);
+        return removed != null && !removed.isExpired(clock.millis());
+    }
+
+    @Override
+    public long removeAll(Collection<String> emails) {
+        long removed = 0;
+        for (String email : emails) {
+            if (remove(email)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every expired session; a session replaced concurrently is left alone.
+     */
+    void sweep() {
+        long now = clock.millis();
+        sessions.forEach((email, session) -> {
+            if (session.isExpired(now)) {
+                sessions.remove(email, session);
+            }
+        });
+    }
+
+    int size() {
+        return sessions.size();
+    }
+
+    @Override
+    public void destroy() {
+        sweeper.shutdownNow();
+    }
+
+    private Session live(String email) {
+        Session session = sessions.get(email);
+        if (session == null) {
+            return null;
+        }
+        if (session.isExpired(clock.millis())) {
+            sessions.remove(email, session);
+            return null;
+        }
+        return session;
+    }
+
+    private long expiresAt(Duration ttl) {
+        return clock.millis() + ttl.toMillis();
+    }
+
+    private record Session(String token, long expiresAtMillis) {
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
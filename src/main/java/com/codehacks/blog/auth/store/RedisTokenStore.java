@@ -0,0 +1,114 @@
+package com.codehacks.blog.auth.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sessions in Redis, shared by every node. Each operation is a single command: {@code GET} to read,
+ * {@code SET EX} or {@code SET NX EX} to store and {@code UNLINK} to end a session; bulk removals are pipelined
+ * in batches. Replacing or ending a session publishes the user's email on {@value #REVOCATION_CHANNEL}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jwt.token-store.type", havingValue = "redis", matchIfMissing = true)
+public class RedisTokenStore implements TokenStore {
+
+    public static final String REVOCATION_CHANNEL = "blog:token:revocation";
+
+    static final String KEY_PREFIX = "token:";
+    private static final int REMOVAL_BATCH_SIZE = 500;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public RedisTokenStore(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public String get(String email) {
+        return redisTemplate.opsForValue().get(KEY_PREFIX + email);
+    }
+
+    @Override
+    public void put(String email, String token, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + email, token, ttl.toSeconds(), TimeUnit.SECONDS);
+        publishRevocation(email);
+    }
+
+    @Override
+    public boolean putIfAbsent(String email, String token, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(KEY_PREFIX + email, token, ttl.toSeconds(), TimeUnit.SECONDS));
+    }
+
+    @Override
+    public boolean contains(String email) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + email));
+    }
+
+    @Override
+    public boolean remove(String email) {
+        boolean removed = Boolean.TRUE.equals(redisTemplate.unlink(KEY_PREFIX + email));
+        publishRevocation(email);
+        return removed;
+    }
+
+    @Override
+    public long removeAll(Collection<String> emails) {
+        long removed = 0;
+        List<String> batch = new ArrayList<>(Math.min(emails.size(), REMOVAL_BATCH_SIZE));
+        for (String email : emails) {
+            batch.add(email);
+            if (batch.size() == REMOVAL_BATCH_SIZE) {
+                removed += unlinkAndPublish(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            removed += unlinkAndPublish(batch);
+        }
+        return removed;
+    }
+
+    /**
+     * One round trip for the whole batch: an {@code UNLINK} and a revocation message per email.
+     */
+    private long unlinkAndPublish(List<String> emails) {
+        RedisSerializer<String> serializer = RedisSerializer.string();
+        byte[] channel = serializer.serialize(REVOCATION_CHANNEL);
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String email : emails) {
+                connection.keyCommands().unlink(serializer.serialize(KEY_PREFIX + email));
+                connection.publish(channel, serializer.serialize(email));
+            }
+            return null;
+        });
+
+        long removed = 0;
+        // Replies alternate between UNLINK and PUBLISH
+        for (int i = 0; i < replies.size(); i += 2) {
+            if (replies.get(i) instanceof Long unlinked) {
+                removed += unlinked;
+            }
+        }
+        return removed;
+    }
+
+    private void publishRevocation(String email) {
+        try {
+            redisTemplate.convertAndSend(REVOCATION_CHANNEL, email);
+        } catch (RuntimeException e) {
+            log.warn("Could not publish token revocation for {}: {}", email, e.getMessage());
+        }
+    }
+}
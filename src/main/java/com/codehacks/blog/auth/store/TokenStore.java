@@ -0,0 +1,47 @@
+package com.codehacks.blog.auth.store;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Holds the current session token of each user, keyed by email. A user has at most one session; a stored token
+ * that is not the user's current one is no longer valid.
+ * <p>
+ * Implementations that are shared between nodes tell the other nodes whenever a session is replaced or ended, so
+ * they can drop tokens they verified earlier.
+ */
+public interface TokenStore {
+
+    /**
+     * @return the user's session token, or {@code null} if there is none
+     */
+    String get(String email);
+
+    /**
+     * Stores the user's session, replacing any previous one.
+     */
+    void put(String email, String token, Duration ttl);
+
+    /**
+     * Stores the user's session unless there already is one.
+     *
+     * @return {@code true} if the token was stored
+     */
+    boolean putIfAbsent(String email, String token, Duration ttl);
+
+    boolean contains(String email);
+
+    /**
+     * Ends the user's session.
+     *
+     * @return {@code true} if there was one
+     */
+    boolean remove(String email);
+
+    /**
+     * Ends the sessions of many users at once.
+     *
+     * @return how many of the sessions existed
+     */
+    long removeAll(Collection<String> emails);
+}
@@ -0,0 +1,6 @@
+package com.codehacks.blog.newsletter.model;
+
+public enum DeliveryStatus {
+    SENT,
+    FAILED
+}
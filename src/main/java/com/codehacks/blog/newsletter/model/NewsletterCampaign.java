@@ -0,0 +1,59 @@
+package com.codehacks.blog.newsletter.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * The mailing of one published post to the active subscribers. Every subscriber with an id up to
+ * {@code lastSubscriberId} has been dealt with, so a campaign interrupted by a restart carries on from there.
+ */
+@Entity
+@Table(name = "newsletter_campaigns", indexes = {
+        @Index(name = "idx_newsletter_campaigns_post", columnList = "post_id", unique = true),
+        @Index(name = "idx_newsletter_campaigns_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+public class NewsletterCampaign {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CampaignStatus status = CampaignStatus.RUNNING;
+
+    @Column(name = "last_subscriber_id", nullable = false)
+    private long lastSubscriberId;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public NewsletterCampaign(Long postId, LocalDateTime publishedAt) {
+        this.postId = postId;
+        this.publishedAt = publishedAt;
+    }
+}
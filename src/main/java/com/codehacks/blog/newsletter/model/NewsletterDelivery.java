@@ -0,0 +1,51 @@
+package com.codehacks.blog.newsletter.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ledger entry for one subscriber's copy of a post: written once the mail was accepted by the mail server or
+ * finally given up on, and never for the same post and subscriber twice.
+ */
+@Entity
+@Table(name = "newsletter_deliveries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_newsletter_deliveries_post_subscriber", columnNames = {"post_id", "subscriber_id"})
+})
+@Data
+@NoArgsConstructor
+public class NewsletterDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "subscriber_id", nullable = false)
+    private Long subscriberId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeliveryStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "delivered_at", nullable = false)
+    private LocalDateTime deliveredAt;
+
+    @Column(length = 500)
+    private String error;
+}
@@ -0,0 +1,45 @@
+package com.codehacks.blog.newsletter.repository;
+
+import com.codehacks.blog.newsletter.model.CampaignStatus;
+import com.codehacks.blog.newsletter.model.NewsletterCampaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NewsletterCampaignRepository extends JpaRepository<NewsletterCampaign, Long> {
+
+    Optional<NewsletterCampaign> findByPostId(Long postId);
+
+    List<NewsletterCampaign> findByStatus(CampaignStatus status);
+
+    /**
+     * Starts the campaign of a post unless it already has one.
+     *
+     * @return 1 if the campaign was created, 0 if the post already had one
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO newsletter_campaigns (post_id, status, last_subscriber_id, published_at, created_at) "
+            + "VALUES (:postId, 'RUNNING', 0, :publishedAt, now()) ON CONFLICT (post_id) DO NOTHING",
+            nativeQuery = true)
+    int createIfAbsent(@Param("postId") Long postId, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NewsletterCampaign c SET c.lastSubscriberId = :lastSubscriberId WHERE c.id = :id")
+    void advance(@Param("id") Long id, @Param("lastSubscriberId") long lastSubscriberId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE NewsletterCampaign c SET c.status = com.codehacks.blog.newsletter.model.CampaignStatus.COMPLETED, "
+            + "c.completedAt = :completedAt WHERE c.id = :id")
+    void complete(@Param("id") Long id, @Param("completedAt") LocalDateTime completedAt);
+}
@@ -0,0 +1,37 @@
+package com.codehacks.blog.newsletter.repository;
+
+import com.codehacks.blog.newsletter.model.NewsletterDelivery;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+@Repository
+public interface NewsletterDeliveryRepository extends JpaRepository<NewsletterDelivery, Long> {
+
+    /**
+     * Which of {@code subscriberIds} already have a ledger entry for the post.
+     */
+    @Query("SELECT d.subscriberId FROM NewsletterDelivery d "
+            + "WHERE d.postId = :postId AND d.subscriberId IN :subscriberIds")
+    Set<Long> findRecordedSubscriberIds(@Param("postId") Long postId,
+                                        @Param("subscriberIds") Collection<Long> subscriberIds);
+
+    /**
+     * Adds a ledger entry, leaving an existing one for the same post and subscriber untouched.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO newsletter_deliveries (post_id, subscriber_id, status, attempts, delivered_at, error) "
+            + "VALUES (:postId, :subscriberId, :status, :attempts, :deliveredAt, :error) "
+            + "ON CONFLICT (post_id, subscriber_id) DO NOTHING", nativeQuery = true)
+    int record(@Param("postId") Long postId, @Param("subscriberId") Long subscriberId,
+               @Param("status") String status, @Param("attempts") int attempts,
+               @Param("deliveredAt") LocalDateTime deliveredAt, @Param("error") String error);
+}
@@ -0,0 +1,14 @@
+package com.codehacks.blog.newsletter.service;
+
+public interface NewsletterService {
+
+    /**
+     * Mails the post to every active subscriber in the background, unless it has been mailed before.
+     */
+    void publish(Long postId);
+
+    /**
+     * Carries on with campaigns a previous run did not finish.
+     */
+    void resumeUnfinished();
+}
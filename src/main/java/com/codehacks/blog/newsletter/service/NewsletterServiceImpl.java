@@ -0,0 +1,314 @@
+package com.codehacks.blog.newsletter.service;
+
+import com.codehacks.blog.newsletter.model.CampaignStatus;
+import com.codehacks.blog.newsletter.model.DeliveryStatus;
+import com.codehacks.blog.newsletter.model.NewsletterCampaign;
+import com.codehacks.blog.newsletter.repository.NewsletterCampaignRepository;
+import com.codehacks.blog.newsletter.repository.NewsletterDeliveryRepository;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.model.PostPublishedEvent;
+import com.codehacks.blog.post.repository.PostRepository;
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import com.codehacks.blog.subscription.repository.SubscriberContact;
+import com.codehacks.blog.subscription.repository.SubscriberRepository;
+import com.google.common.util.concurrent.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mails a post to the active subscribers once it is published.
+ * <p>
+ * Campaigns run one at a time on a coordinator thread. The message is rendered once per campaign; subscribers are
+ * read {@code blog.newsletter.page-size} at a time by keyset, and each page is sent by a pool of
+ * {@code blog.newsletter.threads} senders sharing a limit of {@code blog.newsletter.rate-per-second} mails.
+ * Transient mail server failures are retried with exponential backoff.
+ * <p>
+ * Every mail sent or given up on gets an entry in the delivery ledger, and the campaign's checkpoint moves past a
+ * page once all of it has been dealt with. After a restart, unfinished campaigns resume from their checkpoint and
+ * skip subscribers already in the ledger, so only mails in flight at the time of the crash can go out twice.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "blog.newsletter.enabled", havingValue = "true", matchIfMissing = true)
+public class NewsletterServiceImpl implements NewsletterService, DisposableBean {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PostRepository postRepository;
+    private final SubscriberRepository subscriberRepository;
+    private final NewsletterCampaignRepository campaignRepository;
+    private final NewsletterDeliveryRepository deliveryRepository;
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final String postBaseUrl;
+    private final int pageSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final RateLimiter rateLimiter;
+    private final ExecutorService coordinator;
+    private final ExecutorService senders;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter skipped;
+    private final Counter retries;
+    private final Timer sendTime;
+    private final Timer lag;
+
+    public NewsletterServiceImpl(PostRepository postRepository, SubscriberRepository subscriberRepository,
+                                 NewsletterCampaignRepository campaignRepository,
+                                 NewsletterDeliveryRepository deliveryRepository, JavaMailSender mailSender,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${blog.newsletter.from:${spring.mail.username:noreply@codehacks.com}}") String from,
+                                 @Value("${blog.newsletter.post-base-url:https://codehacks.com/posts/}") String postBaseUrl,
+                                 @Value("${blog.newsletter.page-size:500}") int pageSize,
+                                 @Value("${blog.newsletter.threads:4}") int threads,
+                                 @Value("${blog.newsletter.rate-per-second:20}") double ratePerSecond,
+                                 @Value("${blog.newsletter.max-attempts:3}") int maxAttempts,
+                                 @Value("${blog.newsletter.retry-backoff:1s}") Duration retryBackoff) {
+        if (pageSize < 1 || threads < 1 || ratePerSecond <= 0 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Newsletter page size, threads, rate and attempts must be positive");
+        }
+        this.postRepository = postRepository;
+        this.subscriberRepository = subscriberRepository;
+        this.campaignRepository = campaignRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.mailSender = mailSender;
+        this.from = from;
+        this.postBaseUrl = postBaseUrl;
+        this.pageSize = pageSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.rateLimiter = RateLimiter.create(ratePerSecond);
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "newsletter-campaigns"));
+        AtomicInteger senderNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(threads,
+                runnable -> daemon(runnable, "newsletter-sender-" + senderNumber.incrementAndGet()));
+
+        this.sent = deliveries(meterRegistry, "sent");
+        this.failed = deliveries(meterRegistry, "failed");
+        this.skipped = deliveries(meterRegistry, "skipped");
+        this.retries = Counter.builder("blog.newsletter.retries")
+                .description("Newsletter mails attempted again after a transient failure")
+                .register(meterRegistry);
+        this.sendTime = Timer.builder("blog.newsletter.send")
+                .description("Time the mail server took to accept a newsletter mail")
+                .register(meterRegistry);
+        this.lag = Timer.builder("blog.newsletter.lag")
+                .description("Time from a post's publication to a subscriber's copy being sent")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostPublished(PostPublishedEvent event) {
+        publish(event.postId());
+    }
+
+    @Override
+    public void publish(Long postId) {
+        coordinator.execute(() -> startCampaign(postId));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        coordinator.execute(() -> campaignRepository.findByStatus(CampaignStatus.RUNNING).forEach(campaign -> {
+            log.info("Resuming newsletter for post {} after subscriber {}", campaign.getPostId(),
+                    campaign.getLastSubscriberId());
+            runSafely(campaign);
+        }));
+    }
+
+    @Override
+    public void destroy() {
+        coordinator.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void startCampaign(Long postId) {
+        Optional<Post> post = postRepository.findById(postId);
+        if (post.isEmpty()) {
+            log.warn("Post {} was deleted before its newsletter went out", postId);
+            return;
+        }
+        if (campaignRepository.createIfAbsent(postId, post.get().getPublishedAt()) == 0) {
+            log.debug("Newsletter for post {} already started", postId);
+            return;
+        }
+        campaignRepository.findByPostId(postId).ifPresent(this::runSafely);
+    }
+
+    private void runSafely(NewsletterCampaign campaign) {
+        try {
+            run(campaign);
+        } catch (RuntimeException e) {
+            log.error("Newsletter for post {} stopped, it resumes on the next start", campaign.getPostId(), e);
+        }
+    }
+
+    private void run(NewsletterCampaign campaign) {
+        Optional<Post> post = postRepository.findById(campaign.getPostId());
+        if (post.isEmpty()) {
+            log.warn("Post {} was deleted, abandoning its newsletter", campaign.getPostId());
+            campaignRepository.complete(campaign.getId(), LocalDateTime.now());
+            return;
+        }
+        SimpleMailMessage template = render(post.get());
+
+        long afterId = campaign.getLastSubscriberId();
+        List<SubscriberContact> page;
+        do {
+            page = subscriberRepository.findContactsAfter(SubscriptionStatus.ACTIVE, afterId,
+                    PageRequest.of(0, pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            try {
+                sendPage(campaign, template, page);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.info("Newsletter for post {} interrupted after subscriber {}, it resumes on the next start",
+                        campaign.getPostId(), afterId);
+                return;
+            }
+            afterId = page.get(page.size() - 1).getId();
+            campaignRepository.advance(campaign.getId(), afterId);
+        } while (page.size() == pageSize);
+
+        campaignRepository.complete(campaign.getId(), LocalDateTime.now());
+        log.info("Newsletter for post {} completed", campaign.getPostId());
+    }
+
+    private void sendPage(NewsletterCampaign campaign, SimpleMailMessage template, List<SubscriberContact> page)
+            throws InterruptedException {
+        List<Long> subscriberIds = page.stream().map(SubscriberContact::getId).toList();
+        Set<Long> recorded = deliveryRepository.findRecordedSubscriberIds(campaign.getPostId(), subscriberIds);
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>(page.size());
+        for (SubscriberContact subscriber : page) {
+            if (recorded.contains(subscriber.getId())) {
+                skipped.increment();
+                continue;
+            }
+            sends.add(CompletableFuture.runAsync(() -> deliver(campaign, template, subscriber), senders));
+        }
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get();
+        } catch (ExecutionException e) {
+            // deliver() records its own failures; anything else is a bug worth stopping the campaign for
+            throw new IllegalStateException("Newsletter delivery failed unexpectedly", e.getCause());
+        }
+    }
+
+    private void deliver(NewsletterCampaign campaign, SimpleMailMessage template, SubscriberContact subscriber) {
+        SimpleMailMessage message = new SimpleMailMessage(template);
+        message.setTo(subscriber.getEmail());
+
+        MailException error = null;
+        int attempt = 0;
+        while (attempt < maxAttempts) {
+            attempt++;
+            rateLimiter.acquire();
+            long start = System.nanoTime();
+            try {
+                mailSender.send(message);
+                sendTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                record(campaign, subscriber, DeliveryStatus.SENT, attempt, null);
+                sent.increment();
+                if (campaign.getPublishedAt() != null) {
+                    lag.record(Duration.between(campaign.getPublishedAt(), LocalDateTime.now()));
+                }
+                return;
+            } catch (MailSendException e) {
+                error = e;
+                if (attempt < maxAttempts && !backOff(attempt)) {
+                    // Shutting down; the subscriber is not in the ledger, so the resumed campaign sends it
+                    return;
+                }
+            } catch (MailException e) {
+                // Bad address or message; trying again would not help
+                error = e;
+                break;
+            }
+        }
+        record(campaign, subscriber, DeliveryStatus.FAILED, attempt, error.getMessage());
+        failed.increment();
+        log.warn("Gave up mailing post {} to subscriber {} after {} attempts: {}", campaign.getPostId(),
+                subscriber.getId(), attempt, error.getMessage());
+    }
+
+    private boolean backOff(int attempt) {
+        retries.increment();
+        try {
+            Thread.sleep(retryBackoff.toMillis() << (attempt - 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void record(NewsletterCampaign campaign, SubscriberContact subscriber, DeliveryStatus status,
+                        int attempts, String error) {
+        String truncated = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH)
+                : error;
+        deliveryRepository.record(campaign.getPostId(), subscriber.getId(), status.name(), attempts,
+                LocalDateTime.now(), truncated);
+    }
+
+    private SimpleMailMessage render(Post post) {
+        String excerpt = post.getPreviewContent() != null ? post.getPreviewContent() : post.getContent();
+        String byline = post.getAuthorName() != null ? "by " + post.getAuthorName() : "";
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setSubject("New post: " + post.getTitle());
+        message.setText("""
+                %s
+                %s
+                %s
+
+                Read the full post: %s%s
+                """.formatted(post.getTitle(), byline, excerpt, postBaseUrl, post.getSlug()));
+        return message;
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static Counter deliveries(MeterRegistry registry, String outcome) {
+        return Counter.builder("blog.newsletter.deliveries")
+                .description("Newsletter mails by outcome; the rate of sent ones is the fan-out throughput")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,187 @@
+package com.codehacks.blog.post.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * A bounded in-process near cache in front of a shared remote cache.
+ * <p>
+ * Reads try the near tier first and fill it from the remote tier on a miss. Writes go to both tiers and are
+ * announced through {@code invalidations} as {@code (cacheName, key)}, with a {@code null} key for a clear,
+ * so other nodes can drop their near copy. The near tier expires entries after a short time as well, which
+ * bounds staleness should an invalidation message ever be lost.
+ * <p>
+ * Near entries are keyed by {@code key.toString()}, the same string the remote cache and the invalidation
+ * messages use.
+ */
+public class TwoTierCache implements Cache {
+
+    public static final String NEAR_TIER = "near";
+    public static final String REMOTE_TIER = "redis";
+
+    private final Cache remote;
+    private final BiConsumer<String, String> invalidations;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> near;
+
+    private final Counter nearHits;
+    private final Counter nearMisses;
+    private final Counter nearEvictions;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteEvictions;
+
+    public TwoTierCache(Cache remote, long nearMaxSize, Duration nearTtl, MeterRegistry meterRegistry,
+                        BiConsumer<String, String> invalidations) {
+        this.remote = remote;
+        this.invalidations = invalidations;
+
+        String name = remote.getName();
+        this.nearHits = gets(meterRegistry, name, NEAR_TIER, "hit");
+        this.nearMisses = gets(meterRegistry, name, NEAR_TIER, "miss");
+        this.nearEvictions = evictions(meterRegistry, name, NEAR_TIER);
+        this.remoteHits = gets(meterRegistry, name, REMOTE_TIER, "hit");
+        this.remoteMisses = gets(meterRegistry, name, REMOTE_TIER, "miss");
+        this.remoteEvictions = evictions(meterRegistry, name, REMOTE_TIER);
+
+        this.near = Caffeine.newBuilder()
+                .maximumSize(nearMaxSize)
+                .expireAfterWrite(nearTtl)
+                .executor(Runnable::run)
+                .<String, ValueWrapper>removalListener((key, value, cause) -> {
+                    if (cause != RemovalCause.REPLACED) {
+                        nearEvictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return near;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String nearKey = key.toString();
+        ValueWrapper value = near.getIfPresent(nearKey);
+        if (value != null) {
+            nearHits.increment();
+            return value;
+        }
+        nearMisses.increment();
+
+        value = remote.get(key);
+        if (value == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        near.put(nearKey, value);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        near.put(key.toString(), new SimpleValueWrapper(value));
+        invalidations.accept(getName(), key.toString());
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        if (existing != null) {
+            near.put(key.toString(), existing);
+            return existing;
+        }
+        near.put(key.toString(), new SimpleValueWrapper(value));
+        invalidations.accept(getName(), key.toString());
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        remoteEvictions.increment();
+        near.invalidate(key.toString());
+        invalidations.accept(getName(), key.toString());
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        remoteEvictions.increment();
+        near.invalidateAll();
+        invalidations.accept(getName(), null);
+    }
+
+    /**
+     * Drops the near copy of one key, or of every key when {@code key} is {@code null}, leaving the remote tier
+     * untouched. Called when another node announces a write.
+     */
+    public void invalidateNear(String key) {
+        if (key == null) {
+            near.invalidateAll();
+        } else {
+            near.invalidate(key);
+        }
+    }
+
+    private static Counter gets(MeterRegistry registry, String cacheName, String tier, String result) {
+        return Counter.builder("blog.cache.gets")
+                .description("Cache lookups per tier")
+                .tag("cache", cacheName)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter evictions(MeterRegistry registry, String cacheName, String tier) {
+        return Counter.builder("blog.cache.evictions")
+                .description("Entries dropped from a cache tier, other than by being overwritten")
+                .tag("cache", cacheName)
+                .tag("tier", tier)
+                .register(registry);
+    }
+}
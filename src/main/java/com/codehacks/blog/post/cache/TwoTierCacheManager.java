@@ -0,0 +1,86 @@
+package com.codehacks.blog.post.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps every cache of a remote {@link CacheManager} in a {@link TwoTierCache} and keeps the near tiers of all
+ * nodes coherent over Redis pub/sub.
+ * <p>
+ * Each write is published on {@value #INVALIDATION_CHANNEL} as {@code nodeId|cacheName|key}, or
+ * {@code nodeId|cacheName} for a clear; every other node drops the matching near entries when it receives it.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "blog:cache:invalidation";
+
+    private static final String SEPARATOR = "|";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    private final CacheManager remote;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long nearMaxSize;
+    private final Duration nearTtl;
+
+    public TwoTierCacheManager(CacheManager remote, StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+                               long nearMaxSize, Duration nearTtl) {
+        this.remote = remote;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.nearMaxSize = nearMaxSize;
+        this.nearTtl = nearTtl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remoteCache = remote.getCache(cacheName);
+            return remoteCache == null ? null
+                    : new TwoTierCache(remoteCache, nearMaxSize, nearTtl, meterRegistry, this::publish);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\" + SEPARATOR, 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.invalidateNear(parts.length == 3 ? parts[2] : null);
+        }
+    }
+
+    private void publish(String cacheName, String key) {
+        String message = key == null
+                ? String.join(SEPARATOR, nodeId, cacheName)
+                : String.join(SEPARATOR, nodeId, cacheName, key);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (RuntimeException e) {
+            log.warn("Could not publish cache invalidation for {} on {}: {}", key, cacheName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.codehacks.blog.post.config;
+
+import com.codehacks.blog.post.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+/**
+ * Named caches for post reads and their time-to-live.
+ * <p>
+ * With {@code spring.cache.type=redis} every cache is two-tier: a bounded near cache on each node in front of
+ * Redis, kept coherent through Redis pub/sub. Any other cache type is left to Spring Boot.
+ * <p>
+ * The caching advice is ordered outside the transaction advice, so puts and evictions on write methods
+ * only happen once the transaction has committed and readers cannot re-cache the old row in between.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class PostCacheConfig {
+
+    public static final String POST_BY_ID = "post-by-id";
+    public static final String PREVIEWS = "previews";
+    public static final String RECENT = "recent";
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+    public TwoTierCacheManager cacheManager(
+            RedisConnectionFactory connectionFactory, StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+            @Value("${blog.cache.ttl.post-by-id:10m}") Duration postByIdTtl,
+            @Value("${blog.cache.ttl.previews:2m}") Duration previewsTtl,
+            @Value("${blog.cache.ttl.recent:1m}") Duration recentTtl,
+            @Value("${blog.cache.near.max-size:10000}") long nearMaxSize,
+            @Value("${blog.cache.near.ttl:30s}") Duration nearTtl) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .withCacheConfiguration(POST_BY_ID, RedisCacheConfiguration.defaultCacheConfig().entryTtl(postByIdTtl))
+                .withCacheConfiguration(PREVIEWS, RedisCacheConfiguration.defaultCacheConfig().entryTtl(previewsTtl))
+                .withCacheConfiguration(RECENT, RedisCacheConfiguration.defaultCacheConfig().entryTtl(recentTtl))
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        return new TwoTierCacheManager(redisCacheManager, redisTemplate, meterRegistry, nearMaxSize, nearTtl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoTierCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,42 @@
+package com.codehacks.blog.post.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the weighted {@code tsvector} column and its GIN index used by the Postgres search backend. Hibernate
+ * has created or updated the {@code posts} table by the time singletons are initialised, and both statements
+ * are idempotent.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "blog.search.backend", havingValue = "postgres")
+public class PostSearchSchemaInitializer implements SmartInitializingSingleton {
+
+    static final String ADD_SEARCH_VECTOR = """
+            ALTER TABLE posts ADD COLUMN IF NOT EXISTS search_vector tsvector
+                GENERATED ALWAYS AS (
+                    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+                    setweight(to_tsvector('english', coalesce(content, '')), 'B')
+                ) STORED
+            """;
+
+    static final String CREATE_SEARCH_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_posts_search_vector ON posts USING GIN (search_vector)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostSearchSchemaInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        jdbcTemplate.execute(ADD_SEARCH_VECTOR);
+        jdbcTemplate.execute(CREATE_SEARCH_INDEX);
+        log.info("Full-text search column and GIN index are in place");
+    }
+}
@@ -1,12 +1,15 @@
 package com.codehacks.blog.post.controller;
 
 import com.codehacks.blog.post.dto.CommentDto;
+import com.codehacks.blog.post.dto.PostCommentsDTO;
+import com.codehacks.blog.post.exception.InvalidPageRequestException;
 import com.codehacks.blog.post.service.CommentService;
 import com.codehacks.blog.util.Constants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,9 +20,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping(Constants.COMMENT_PATH)
@@ -28,9 +33,15 @@ public class CommentController {
 
     @Autowired
     private final CommentService commentService;
+    private final int maxPosts;
+    private final int maxLatestComments;
 
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService,
+                             @Value("${blog.comments.max-posts:100}") int maxPosts,
+                             @Value("${blog.comments.max-latest:10}") int maxLatestComments) {
         this.commentService = commentService;
+        this.maxPosts = maxPosts;
+        this.maxLatestComments = maxLatestComments;
     }
 
     @Operation(summary = "Add comment to post",
@@ -74,6 +85,27 @@ public class CommentController {
     }
 
 
+    @Operation(summary = "Get comment counts and latest comments for several posts",
+            description = "Returns, keyed by post id, how many comments each post has and its newest comments",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200", description = "Comments per post returned"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400", description = "Too many posts or invalid latest")
+            })
+    @GetMapping(value = "/posts", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<Long, PostCommentsDTO>> getCommentsForPosts(
+            @RequestParam("ids") List<Long> postIds,
+            @RequestParam(value = "latest", defaultValue = "3") int latest) {
+        if (postIds.size() > maxPosts || latest < 0) {
+            throw new InvalidPageRequestException("At most " + maxPosts + " posts and latest must not be negative");
+        }
+        Map<Long, PostCommentsDTO> comments = commentService.getCommentsForPosts(postIds,
+                Math.min(latest, maxLatestComments));
+        return ResponseEntity.ok(comments);
+    }
+
+
     @Operation(summary = "Get comment by ID",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
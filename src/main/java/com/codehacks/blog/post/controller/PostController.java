@@ -1,22 +1,31 @@
 package com.codehacks.blog.post.controller;
 
 import com.codehacks.blog.auth.dto.ApiResponse;
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.post.dto.PostCommentsDTO;
+import com.codehacks.blog.post.dto.PostDetailDTO;
 import com.codehacks.blog.post.dto.PostPreviewDTO;
 import com.codehacks.blog.auth.exception.InvalidPostException;
 import com.codehacks.blog.post.dto.PostSummaryDTO;
+import com.codehacks.blog.post.exception.InvalidPageRequestException;
 import com.codehacks.blog.post.model.Author;
 import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.service.CommentService;
+import com.codehacks.blog.post.service.PostExportService;
 import com.codehacks.blog.post.service.PostService;
+import com.codehacks.blog.util.AsyncRequestTimeouts;
 import com.codehacks.blog.util.Constants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -30,9 +39,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -40,24 +52,105 @@ import java.util.Set;
 @Tag(name = "Post Management", description = "APIs for managing posts for the blog")
 public class PostController {
 
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final PostService postService;
+    private final PostExportService postExportService;
+    private final CommentService commentService;
     private final int defaultRecentLimit;
+    private final int searchPageSize;
+    private final int searchMaxPageSize;
+    private final int previewPageSize;
+    private final int previewMaxPageSize;
+    private final int postsPageSize;
+    private final int postsMaxPageSize;
+    private final int maxLatestComments;
+    private final Duration exportTimeout;
 
-    public PostController(PostService postService, @Value("${blog.recent.limit}") int defaultRecentLimit) {
+    public PostController(PostService postService, PostExportService postExportService, CommentService commentService,
+                          @Value("${blog.recent.limit}") int defaultRecentLimit,
+                          @Value("${blog.search.page-size:20}") int searchPageSize,
+                          @Value("${blog.search.max-page-size:100}") int searchMaxPageSize,
+                          @Value("${blog.preview.page-size:10}") int previewPageSize,
+                          @Value("${blog.preview.max-page-size:50}") int previewMaxPageSize,
+                          @Value("${blog.posts.page-size:20}") int postsPageSize,
+                          @Value("${blog.posts.max-page-size:100}") int postsMaxPageSize,
+                          @Value("${blog.comments.max-latest:10}") int maxLatestComments,
+                          @Value("${blog.export.timeout:10m}") Duration exportTimeout) {
         this.postService = postService;
+        this.postExportService = postExportService;
+        this.commentService = commentService;
         this.defaultRecentLimit = defaultRecentLimit;
+        this.searchPageSize = searchPageSize;
+        this.searchMaxPageSize = searchMaxPageSize;
+        this.previewPageSize = previewPageSize;
+        this.previewMaxPageSize = previewMaxPageSize;
+        this.postsPageSize = postsPageSize;
+        this.postsMaxPageSize = postsMaxPageSize;
+        this.maxLatestComments = maxLatestComments;
+        this.exportTimeout = exportTimeout;
     }
 
     @Operation(summary = "Get all blog posts",
+            description = "Returns post summaries newest first, one page at a time. "
+                    + "Pass the returned nextCursor back as cursor to get the following page. "
+                    + "With comments=N each post also carries its comment count and newest N comments.",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "200",
-                            description = "List of all blog posts")
+                            description = "One page of blog posts"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400", description = "Invalid limit, cursor or comments")
             })
     @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Set<Post>> getAllPosts() {
-        Set<Post> allPosts = postService.getAllPosts();
-        return ResponseEntity.ok(allPosts);
+    public ResponseEntity<CursorPage<PostSummaryDTO>> getAllPosts(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "comments", required = false) Integer comments) {
+        if ((limit != null && limit <= 0) || (comments != null && comments < 0)) {
+            throw new InvalidPageRequestException("Limit must be positive and comments must not be negative");
+        }
+        int pageSize = (limit != null) ? Math.min(limit, postsMaxPageSize) : postsPageSize;
+
+        CursorPage<PostSummaryDTO> posts = postService.getPosts(pageSize, cursor);
+        if (comments != null) {
+            Map<Long, PostCommentsDTO> postComments = commentService.getCommentsForPosts(
+                    posts.items().stream().map(PostSummaryDTO::getId).toList(), Math.min(comments, maxLatestComments));
+            posts = CursorPage.of(posts.items().stream()
+                    .map(post -> post.withComments(postComments.get(post.getId())))
+                    .toList(), posts.nextCursor());
+        }
+        return ResponseEntity.ok(posts);
+    }
+
+
+    @Operation(summary = "Export all blog posts",
+            description = "Streams every post as newline-delimited JSON, oldest first. Only accessible by ADMIN",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200", description = "Posts, one JSON object per line")
+            })
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPosts(
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip, HttpServletRequest request) {
+        AsyncRequestTimeouts.override(request, exportTimeout);
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE);
+                postExportService.exportPosts(compressed);
+                compressed.finish();
+            } else {
+                postExportService.exportPosts(out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
 
@@ -70,8 +163,8 @@ public class PostController {
             }
     )
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Post> getPostById(@Valid @Positive @PathVariable Long id) {
-        Post post = postService.getPostById(id);
+    public ResponseEntity<PostDetailDTO> getPostById(@Valid @Positive @PathVariable Long id) {
+        PostDetailDTO post = postService.getPostDetail(id);
         if (post != null) {
             return new ResponseEntity<>(post, HttpStatus.OK);
         }
@@ -117,6 +210,20 @@ public class PostController {
     }
 
 
+    @Operation(summary = "Publish a post",
+            description = "Moves the post to PUBLISHED. The first publication sends the newsletter for it",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200", description = "Post published"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Post not found")
+            })
+    @PutMapping(value = "/publish/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<Post>> publishPost(@PathVariable @Positive Long id) {
+        log.info("Publishing post {}", id);
+        return ResponseEntity.ok(ApiResponse.success(postService.publishPost(id)));
+    }
+
+
     @Operation(summary = "Delete a post",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -135,13 +242,32 @@ public class PostController {
 
 
     @Operation(summary = "Get Post Preview",
+            description = "Returns post previews newest first, one page at a time. "
+                    + "With comments=N each preview also carries its comment count and newest N comments.",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
-                            responseCode = "200", description = "Post preview")
+                            responseCode = "200", description = "Post preview"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400", description = "Invalid page, size or comments")
             })
     @GetMapping(value = "/previews", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<PostPreviewDTO>> getBlogPreviews() {
-        List<PostPreviewDTO> previews = postService.getBlogPreviews();
+    public ResponseEntity<List<PostPreviewDTO>> getBlogPreviews(
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "comments", required = false) Integer comments) {
+        if (page < 0 || (size != null && size <= 0) || (comments != null && comments < 0)) {
+            throw new InvalidPageRequestException("Page and comments must not be negative and size must be positive");
+        }
+        int pageSize = (size != null) ? Math.min(size, previewMaxPageSize) : previewPageSize;
+        List<PostPreviewDTO> previews = postService.getBlogPreviews(PageRequest.of(page, pageSize));
+        if (comments != null) {
+            // Previews may come straight from the cache, so they are copied rather than modified
+            Map<Long, PostCommentsDTO> postComments = commentService.getCommentsForPosts(
+                    previews.stream().map(PostPreviewDTO::getId).toList(), Math.min(comments, maxLatestComments));
+            previews = previews.stream()
+                    .map(preview -> preview.withComments(postComments.get(preview.getId())))
+                    .toList();
+        }
         return ResponseEntity.ok(previews);
     }
 
@@ -155,7 +281,7 @@ public class PostController {
     public ResponseEntity<List<PostSummaryDTO>> getRecentPosts(
             @RequestParam(value = "limit", required = false) Integer limit) {
         if (limit != null && limit <= 0) {
-            return ResponseEntity.badRequest().build();
+            throw new InvalidPageRequestException("Limit must be positive");
         }
         int safeLimit = (limit != null) ? Math.min(limit, 10) : defaultRecentLimit;
         Pageable pageable = PageRequest.of(0, safeLimit);
@@ -165,17 +291,28 @@ public class PostController {
 
 
     @Operation(summary = "Search posts by query",
+            description = "Returns matching posts most relevant first, one page at a time. "
+                    + "Pass the returned nextCursor back as cursor to get the following page.",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
-                            responseCode = "200", description = "Search results")
+                            responseCode = "200", description = "Search results"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400", description = "Invalid limit or cursor")
             })
     @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<Set<PostSummaryDTO>>> searchPosts(
+    public ResponseEntity<ApiResponse<CursorPage<PostSummaryDTO>>> searchPosts(
             @RequestParam String query,
             @RequestParam(defaultValue = "false") boolean caseSensitive,
-            @RequestParam(defaultValue = "false") boolean exactMatch) {
+            @RequestParam(defaultValue = "false") boolean exactMatch,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        if (limit != null && limit <= 0) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Limit must be positive"));
+        }
+        int pageSize = (limit != null) ? Math.min(limit, searchMaxPageSize) : searchPageSize;
 
-        Set<PostSummaryDTO> results = postService.searchPosts(query, caseSensitive, exactMatch);
+        CursorPage<PostSummaryDTO> results = postService.searchPosts(query, caseSensitive, exactMatch, pageSize,
+                cursor);
         return ResponseEntity.ok(ApiResponse.success(results));
     }
 
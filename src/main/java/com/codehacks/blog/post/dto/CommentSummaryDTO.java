@@ -0,0 +1,8 @@
+package com.codehacks.blog.post.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+public record CommentSummaryDTO(Long id, String author, String content, LocalDateTime createdAt)
+        implements Serializable {
+}
@@ -0,0 +1,35 @@
+package com.codehacks.blog.post.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is an opaque token to pass back for the following
+ * page and is {@code null} on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static <T> CursorPage<T> of(List<T> items, String nextCursor) {
+        return new CursorPage<>(List.copyOf(items), nextCursor);
+    }
+
+    public static <T> CursorPage<T> last(List<T> items) {
+        return of(items, null);
+    }
+
+    /**
+     * Builds a page from rows fetched with one extra row beyond {@code limit}, which signals that more follow.
+     * The next cursor is taken from the last row kept.
+     */
+    public static <T> CursorPage<T> fromWindow(List<T> rows, int limit, Function<? super T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return last(rows);
+        }
+        List<T> page = rows.subList(0, limit);
+        return of(page, cursorOf.apply(page.get(limit - 1)));
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
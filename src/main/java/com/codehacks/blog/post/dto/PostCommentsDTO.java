@@ -0,0 +1,16 @@
+package com.codehacks.blog.post.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * How many comments a post has and the newest of them, newest first.
+ */
+public record PostCommentsDTO(long commentCount, List<CommentSummaryDTO> latestComments) implements Serializable {
+
+    public static final PostCommentsDTO NONE = new PostCommentsDTO(0, List.of());
+
+    public PostCommentsDTO {
+        latestComments = List.copyOf(latestComments);
+    }
+}
@@ -0,0 +1,34 @@
+package com.codehacks.blog.post.dto;
+
+import com.codehacks.blog.post.exception.InvalidCursorException;
+import com.codehacks.blog.util.CursorCodec;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in the post listing: the creation time and id of the last post already returned.
+ * Posts are ordered by creation time descending, then id descending.
+ */
+public record PostCursor(LocalDateTime createdAt, long id) {
+
+    public static PostCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String[] parts = CursorCodec.decode(token, 2);
+        try {
+            return new PostCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidCursorException("Malformed post cursor");
+        }
+    }
+
+    public String encode() {
+        return CursorCodec.encode(createdAt, id);
+    }
+
+    public static String encodeAfter(PostSummaryDTO post) {
+        return new PostCursor(post.getCreatedAt(), post.getId()).encode();
+    }
+}
@@ -0,0 +1,21 @@
+package com.codehacks.blog.post.dto;
+
+import com.codehacks.blog.post.model.Status;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read model of a single post: the post itself, its author's display name, how many comments it has and the
+ * first page of those comments, oldest first.
+ */
+public record PostDetailDTO(Long id, String title, String content, String slug, String featuredImageUrl,
+                            Status status, String author, LocalDateTime createdAt, LocalDateTime updatedAt,
+                            LocalDateTime publishedAt, long commentCount, List<CommentSummaryDTO> comments)
+        implements Serializable {
+
+    public PostDetailDTO {
+        comments = List.copyOf(comments);
+    }
+}
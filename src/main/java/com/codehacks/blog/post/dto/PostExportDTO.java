@@ -0,0 +1,20 @@
+package com.codehacks.blog.post.dto;
+
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of the post export: every column of a post plus its author's display name, without comments.
+ */
+public record PostExportDTO(Long id, String title, String content, String slug, String featuredImageUrl,
+                            Status status, String author, LocalDateTime createdAt, LocalDateTime updatedAt,
+                            LocalDateTime publishedAt) {
+
+    public static PostExportDTO from(Post post) {
+        return new PostExportDTO(post.getId(), post.getTitle(), post.getContent(), post.getSlug(),
+                post.getFeaturedImageUrl(), post.getStatus(), post.getAuthor().getFirstName() + " "
+                + post.getAuthor().getLastName(), post.getCreatedAt(), post.getUpdatedAt(), post.getPublishedAt());
+    }
+}
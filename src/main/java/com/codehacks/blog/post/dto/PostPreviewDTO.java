@@ -1,21 +1,32 @@
 package com.codehacks.blog.post.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.With;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
-public class PostPreviewDTO {
+public class PostPreviewDTO implements Serializable {
 
     private Long id;
     private String title;
     private String author;
     private String previewContent;
     private LocalDateTime createdAt;
+
+    @With
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PostCommentsDTO comments;
+
+    public PostPreviewDTO(Long id, String title, String author, String previewContent, LocalDateTime createdAt) {
+        this(id, title, author, previewContent, createdAt, null);
+    }
 }
@@ -1,16 +1,27 @@
 package com.codehacks.blog.post.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.With;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Getter
 @Setter
 @AllArgsConstructor
-public class PostSummaryDTO {
+public class PostSummaryDTO implements Serializable {
     private Long id;
     private String title;
     private LocalDateTime createdAt;
+
+    @With
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PostCommentsDTO comments;
+
+    public PostSummaryDTO(Long id, String title, LocalDateTime createdAt) {
+        this(id, title, createdAt, null);
+    }
 }
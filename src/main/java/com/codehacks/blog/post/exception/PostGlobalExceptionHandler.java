@@ -0,0 +1,24 @@
+package com.codehacks.blog.post.exception;
+
+import com.codehacks.blog.auth.dto.ApiResponse;
+import com.codehacks.blog.auth.exception.InvalidSearchQueryException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Turns rejected listing and search parameters from the post controllers into the usual {@link ApiResponse} error.
+ */
+@Slf4j
+@RestControllerAdvice("com.codehacks.blog.post")
+public class PostGlobalExceptionHandler {
+
+    @ExceptionHandler({InvalidCursorException.class, InvalidPageRequestException.class,
+            InvalidSearchQueryException.class})
+    public ResponseEntity<ApiResponse<String>> handleInvalidRequest(RuntimeException ex) {
+        log.warn("Rejected post listing request: {}", ex.getMessage());
+        return ResponseEntity.badRequest()
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.codehacks.blog.post.model;
 
 import com.codehacks.blog.util.Constants;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.CascadeType;
@@ -15,18 +16,27 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Entity
@@ -34,11 +44,11 @@ import java.util.List;
         @Index(name = "idx_posts_slug", columnList = "slug", unique = true),
         @Index(name = "idx_posts_status", columnList = "status"),
         @Index(name = "idx_posts_author", columnList = "author_id"),
-        @Index(name = "idx_posts_created_at", columnList = "created_at")
+        @Index(name = "idx_posts_created_at_id", columnList = "created_at DESC, id DESC")
 })
 @Data
 @NoArgsConstructor
-public class Post {
+public class Post implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -78,6 +88,18 @@ public class Post {
     @Version
     private Long version;
 
+    @JsonIgnore
+    @Column(name = "preview_content", length = Constants.MAX_CONTENT_LENGTH)
+    private String previewContent;
+
+    @JsonIgnore
+    @Column(name = "word_count")
+    private Integer wordCount;
+
+    @JsonIgnore
+    @Column(name = "author_name")
+    private String authorName;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
@@ -88,6 +110,14 @@ public class Post {
     @BatchSize(size = 20)
     private List<Comment> comments = new ArrayList<>();
 
+    // Published by the repository when the post is saved
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient List<Object> domainEvents;
+
     public Post(String title, String content, Author author) {
         setTitle(title);
         setContent(content);
@@ -117,10 +147,28 @@ public class Post {
     public void setStatus(Status status) {
         if (status == Status.PUBLISHED && this.publishedAt == null) {
             this.publishedAt = LocalDateTime.now();
+            registerEvent(new PostPublishedEvent(this));
         }
         this.status = status;
     }
 
+    @DomainEvents
+    Collection<Object> domainEvents() {
+        return domainEvents == null ? List.of() : List.copyOf(domainEvents);
+    }
+
+    @AfterDomainEventPublication
+    void clearDomainEvents() {
+        domainEvents = null;
+    }
+
+    private void registerEvent(Object event) {
+        if (domainEvents == null) {
+            domainEvents = new ArrayList<>();
+        }
+        domainEvents.add(event);
+    }
+
     private String generateSlug(String title) {
         if (title == null) return null;
         return title.toLowerCase()
@@ -0,0 +1,8 @@
+package com.codehacks.blog.post.model;
+
+/**
+ * Raised when a post is deleted, so that derived views such as the search index can drop it once the delete has
+ * committed.
+ */
+public record PostDeletedEvent(Long postId) {
+}
@@ -0,0 +1,18 @@
+package com.codehacks.blog.post.model;
+
+/**
+ * Raised the first time a post is saved as {@link Status#PUBLISHED}. Carries the post itself because its id is
+ * only known once the save has run.
+ */
+public record PostPublishedEvent(Post post) {
+
+    public Long postId() {
+        return post.getId();
+    }
+
+    @Override
+    public String toString() {
+        // Post.toString would touch its lazy associations
+        return "PostPublishedEvent[postId=" + postId() + "]";
+    }
+}
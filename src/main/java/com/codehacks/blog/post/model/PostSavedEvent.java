@@ -0,0 +1,18 @@
+package com.codehacks.blog.post.model;
+
+/**
+ * Raised whenever a post is created or updated, so that derived views such as the search index can follow once
+ * the change has committed.
+ */
+public record PostSavedEvent(Post post) {
+
+    public Long postId() {
+        return post.getId();
+    }
+
+    @Override
+    public String toString() {
+        // Post.toString would touch its lazy associations
+        return "PostSavedEvent[postId=" + postId() + "]";
+    }
+}
@@ -0,0 +1,24 @@
+package com.codehacks.blog.post.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the batch comment query: a comment of one of the requested posts together with its position among
+ * that post's comments, newest first, and the post's total number of comments.
+ */
+public interface CommentDigestRow {
+
+    Long getPostId();
+
+    Long getCommentCount();
+
+    Long getPosition();
+
+    Long getCommentId();
+
+    String getCommentAuthor();
+
+    String getCommentContent();
+
+    LocalDateTime getCommentCreatedAt();
+}
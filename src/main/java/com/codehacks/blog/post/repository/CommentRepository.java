@@ -1,15 +1,39 @@
 package com.codehacks.blog.post.repository;
 
+import com.codehacks.blog.post.dto.CommentDto;
 import com.codehacks.blog.post.model.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findByPostId(Long postId);
+    // Every post gets at least its first row back so its count is known even when no comments are requested
+    String LATEST_BY_POST_IDS = """
+            SELECT r.post_id AS "postId", r.total AS "commentCount", r.position AS position,
+                   r.id AS "commentId", r.author AS "commentAuthor", r.content AS "commentContent",
+                   r.created_at AS "commentCreatedAt"
+            FROM (SELECT c.id, c.post_id, c.author, c.content, c.created_at,
+                         row_number() OVER (PARTITION BY c.post_id ORDER BY c.created_at DESC, c.id DESC) AS position,
+                         count(*) OVER (PARTITION BY c.post_id) AS total
+                  FROM comments c
+                  WHERE c.post_id IN (:postIds)) r
+            WHERE r.position <= GREATEST(:latestLimit, 1)
+            ORDER BY r.post_id, r.position
+            """;
+
+    @Query("SELECT new com.codehacks.blog.post.dto.CommentDto(c.id, c.content, c.post.id, c.createdAt) "
+            + "FROM Comment c WHERE c.post.id = :postId ORDER BY c.createdAt, c.id")
+    List<CommentDto> findDtosByPostId(@Param("postId") Long postId);
+
+    @Query(value = LATEST_BY_POST_IDS, nativeQuery = true)
+    List<CommentDigestRow> findLatestByPostIds(@Param("postIds") Collection<Long> postIds,
+                                               @Param("latestLimit") int latestLimit);
 
     boolean existsByPostIdAndAuthorAndContent(Long postId, String author, String content);
 }
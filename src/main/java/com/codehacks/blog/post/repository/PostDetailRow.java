@@ -0,0 +1,40 @@
+package com.codehacks.blog.post.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the post detail query: the post columns repeated for each of its first comments, or once with
+ * empty comment columns when it has none.
+ */
+public interface PostDetailRow {
+
+    Long getId();
+
+    String getTitle();
+
+    String getContent();
+
+    String getSlug();
+
+    String getFeaturedImageUrl();
+
+    Integer getStatus();
+
+    String getAuthor();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    LocalDateTime getPublishedAt();
+
+    Long getCommentCount();
+
+    Long getCommentId();
+
+    String getCommentAuthor();
+
+    String getCommentContent();
+
+    LocalDateTime getCommentCreatedAt();
+}
@@ -1,26 +1,111 @@
 package com.codehacks.blog.post.repository;
 
+import com.codehacks.blog.post.dto.PostPreviewDTO;
+import com.codehacks.blog.post.dto.PostSummaryDTO;
 import com.codehacks.blog.post.model.Author;
 import com.codehacks.blog.post.model.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
+    String FULL_TEXT_SELECT = """
+            SELECT p.id AS id, p.title AS title, p.created_at AS "createdAt",
+                   ts_rank(p.search_vector, search.query) AS rank
+            FROM posts p,
+                 (SELECT CASE WHEN :phrase THEN phraseto_tsquery('english', :query)
+                              ELSE websearch_to_tsquery('english', :query) END AS query) search
+            WHERE p.search_vector @@ search.query
+            """;
+
+    String FULL_TEXT_ORDER = " ORDER BY rank DESC, p.id DESC LIMIT :limit";
+
+    String POST_DETAIL = """
+            SELECT p.id AS id, p.title AS title, p.content AS content, p.slug AS slug,
+                   p.featured_image_url AS "featuredImageUrl", CAST(p.status AS integer) AS status,
+                   COALESCE(p.author_name, a.first_name || ' ' || a.last_name) AS author,
+                   p.created_at AS "createdAt", p.updated_at AS "updatedAt", p.published_at AS "publishedAt",
+                   (SELECT count(*) FROM comments cc WHERE cc.post_id = p.id) AS "commentCount",
+                   c.id AS "commentId", c.author AS "commentAuthor", c.content AS "commentContent",
+                   c.created_at AS "commentCreatedAt"
+            FROM posts p
+            JOIN authors a ON a.id = p.author_id
+            LEFT JOIN LATERAL (SELECT id, author, content, created_at FROM comments
+                               WHERE post_id = p.id
+                               ORDER BY created_at, id
+                               LIMIT :commentLimit) c ON true
+            WHERE p.id = :id
+            ORDER BY c.created_at, c.id
+            """;
+
     List<Post> findByAuthor(Author author);
 
     List<Post> findByTitleContainingIgnoreCase(String title);
 
-    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.comments WHERE p.id = :id")
+    @Query("SELECT p FROM Post p JOIN FETCH p.author LEFT JOIN FETCH p.comments WHERE p.id = :id")
     Optional<Post> findByIdWithComments(@Param("id") Long id);
 
+    @Query("SELECT new com.codehacks.blog.post.dto.PostSummaryDTO(p.id, p.title, p.createdAt) FROM Post p "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDTO> findSummaries(Pageable pageable);
+
+    @Query("SELECT new com.codehacks.blog.post.dto.PostSummaryDTO(p.id, p.title, p.createdAt) FROM Post p "
+            + "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDTO> findSummariesAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                            Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p JOIN FETCH p.author ORDER BY p.id")
+    Stream<Post> streamAllForExport();
+
+    @Query(value = POST_DETAIL, nativeQuery = true)
+    List<PostDetailRow> findPostDetail(@Param("id") Long id, @Param("commentLimit") int commentLimit);
+
     @Query("SELECT p FROM Post p ORDER BY p.createdAt DESC")
     List<Post> findTopNRecentPostsOrderByCreatedAt(Pageable pageable);
+
+    @Query("SELECT new com.codehacks.blog.post.dto.PostPreviewDTO(p.id, p.title, p.authorName, p.previewContent, "
+            + "p.createdAt) FROM Post p ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostPreviewDTO> findPreviews(Pageable pageable);
+
+    @Query("SELECT p FROM Post p JOIN FETCH p.author WHERE p.previewContent IS NULL ORDER BY p.id")
+    List<Post> findWithoutPreview(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.previewContent = :previewContent, p.wordCount = :wordCount, "
+            + "p.authorName = :authorName WHERE p.id = :id")
+    int updatePreview(@Param("id") Long id, @Param("previewContent") String previewContent,
+                      @Param("wordCount") Integer wordCount, @Param("authorName") String authorName);
+
+    @Query(value = FULL_TEXT_SELECT + FULL_TEXT_ORDER, nativeQuery = true)
+    List<PostSearchRow> searchFullText(@Param("query") String query, @Param("phrase") boolean phrase,
+                                       @Param("limit") int limit);
+
+    @Query(value = FULL_TEXT_SELECT
+            + " AND (ts_rank(p.search_vector, search.query) < :rank"
+            + " OR (ts_rank(p.search_vector, search.query) = :rank AND p.id < :id))"
+            + FULL_TEXT_ORDER, nativeQuery = true)
+    List<PostSearchRow> searchFullTextAfter(@Param("query") String query, @Param("phrase") boolean phrase,
+                                            @Param("rank") double rank, @Param("id") long id,
+                                            @Param("limit") int limit);
 }
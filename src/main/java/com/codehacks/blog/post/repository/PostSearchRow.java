@@ -0,0 +1,17 @@
+package com.codehacks.blog.post.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of a full-text search query: the summary columns of a post and its {@code ts_rank} (a Postgres real).
+ */
+public interface PostSearchRow {
+
+    Long getId();
+
+    String getTitle();
+
+    LocalDateTime getCreatedAt();
+
+    Float getRank();
+}
@@ -0,0 +1,314 @@
+package com.codehacks.blog.post.search;
+
+import com.codehacks.blog.post.dto.PostSummaryDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-process inverted index over post titles and content.
+ * <p>
+ * Text is split on whitespace and every token keeps its position, so a query is answered as a phrase lookup:
+ * the first query token may be the tail of a word, the last one the head of a word and every token in between
+ * must match a whole word. That gives the same results as the former {@code String.contains} scan, except that
+ * any run of whitespace in the query matches any run of whitespace in the post. An exact match requires the
+ * field to consist of the query tokens and nothing else.
+ * <p>
+ * Postings are keyed by the token as written; a lower-cased dictionary maps each folded term to its spellings
+ * so case-insensitive lookups never rescan the documents. Reads share a lock, writes are exclusive.
+ * <p>
+ * Hits are ranked by how often the query occurs, with a title occurrence weighing as much as
+ * {@value #TITLE_WEIGHT} occurrences in the content.
+ * <p>
+ * Every write bumps {@link #version()}, so results computed for one version can be reused until the next write.
+ */
+public class PostSearchIndex {
+
+    static final int TITLE_WEIGHT = 4;
+
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingDouble(SearchHit::score).reversed()
+            .thenComparing(hit -> hit.post().getId(), Comparator.reverseOrder());
+
+    private final Map<Long, IndexedPost> documents = new HashMap<>();
+    private final FieldIndex titles = new FieldIndex();
+    private final FieldIndex contents = new FieldIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong version = new AtomicLong();
+
+    public void index(Long id, String title, String content, LocalDateTime createdAt) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            documents.put(id, new IndexedPost(id, title, createdAt));
+            titles.add(id, tokenize(title));
+            contents.add(id, tokenize(content));
+            version.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            version.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            titles.clear();
+            contents.clear();
+            version.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Returns every matching post, best ranked first; ties are broken by descending id.
+     */
+    public List<SearchHit> search(String query, boolean caseSensitive, boolean exactMatch) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = new HashMap<>();
+            titles.match(terms, caseSensitive, exactMatch)
+                    .forEach((id, count) -> scores.merge(id, count * TITLE_WEIGHT, Integer::sum));
+            contents.match(terms, caseSensitive, exactMatch)
+                    .forEach((id, count) -> scores.merge(id, count, Integer::sum));
+
+            List<SearchHit> hits = new ArrayList<>(scores.size());
+            scores.forEach((id, score) -> {
+                IndexedPost post = documents.get(id);
+                hits.add(new SearchHit(new PostSummaryDTO(post.id(), post.title(), post.createdAt()), score));
+            });
+            hits.sort(RANKING);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeDocument(Long id) {
+        if (documents.remove(id) != null) {
+            titles.remove(id);
+            contents.remove(id);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                if (start >= 0) {
+                    tokens.add(text.substring(start, i));
+                    start = -1;
+                }
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(text.substring(start));
+        }
+        return tokens;
+    }
+
+    private static String fold(String term) {
+        return term.toLowerCase(Locale.ROOT);
+    }
+
+    private record IndexedPost(Long id, String title, LocalDateTime createdAt) {
+    }
+
+    private static final class FieldIndex {
+
+        private final Map<String, Map<Long, int[]>> postings = new HashMap<>();
+        private final Map<String, Set<String>> spellings = new HashMap<>();
+        private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+        private final Map<Long, Integer> lengths = new HashMap<>();
+
+        void add(Long id, List<String> tokens) {
+            Map<String, List<Integer>> positions = new HashMap<>();
+            for (int i = 0; i < tokens.size(); i++) {
+                positions.computeIfAbsent(tokens.get(i), t -> new ArrayList<>()).add(i);
+            }
+
+            positions.forEach((term, list) -> {
+                int[] sorted = list.stream().mapToInt(Integer::intValue).toArray();
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, sorted);
+                spellings.computeIfAbsent(fold(term), t -> new HashSet<>()).add(term);
+            });
+            documentTerms.put(id, positions.keySet());
+            lengths.put(id, tokens.size());
+        }
+
+        void remove(Long id) {
+            Set<String> terms = documentTerms.remove(id);
+            lengths.remove(id);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Map<Long, int[]> docs = postings.get(term);
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                    Set<String> variants = spellings.get(fold(term));
+                    variants.remove(term);
+                    if (variants.isEmpty()) {
+                        spellings.remove(fold(term));
+                    }
+                }
+            }
+        }
+
+        void clear() {
+            postings.clear();
+            spellings.clear();
+            documentTerms.clear();
+            lengths.clear();
+        }
+
+        Map<Long, Integer> match(List<String> query, boolean caseSensitive, boolean exactMatch) {
+            int last = query.size() - 1;
+            List<Map<Long, int[]>> slots = new ArrayList<>(query.size());
+            for (int i = 0; i <= last; i++) {
+                Map<Long, int[]> slot = lookup(query.get(i), caseSensitive, exactMatch, i == 0, i == last);
+                if (slot.isEmpty()) {
+                    return Collections.emptyMap();
+                }
+                slots.add(slot);
+            }
+
+            Map<Long, Integer> matches = new HashMap<>();
+            for (Map.Entry<Long, int[]> candidate : slots.get(0).entrySet()) {
+                Long id = candidate.getKey();
+                if (exactMatch && lengths.get(id) != query.size()) {
+                    continue;
+                }
+                int occurrences = countPhrase(id, candidate.getValue(), slots, exactMatch);
+                if (occurrences > 0) {
+                    matches.put(id, occurrences);
+                }
+            }
+            return matches;
+        }
+
+        private int countPhrase(Long id, int[] starts, List<Map<Long, int[]>> slots, boolean exactMatch) {
+            int occurrences = 0;
+            for (int start : starts) {
+                if (exactMatch && start != 0) {
+                    break;
+                }
+                boolean matched = true;
+                for (int i = 1; i < slots.size() && matched; i++) {
+                    int[] positions = slots.get(i).get(id);
+                    matched = positions != null && Arrays.binarySearch(positions, start + i) >= 0;
+                }
+                if (matched) {
+                    occurrences++;
+                }
+            }
+            return occurrences;
+        }
+
+        /**
+         * Resolves one query token to the postings of every indexed term it may stand for, merged per document.
+         */
+        private Map<Long, int[]> lookup(String token, boolean caseSensitive, boolean exactMatch,
+                                        boolean first, boolean last) {
+            String needle = caseSensitive ? token : fold(token);
+            Predicate<String> accepts;
+            if (exactMatch || (!first && !last)) {
+                accepts = needle::equals;
+            } else if (first && last) {
+                accepts = term -> term.contains(needle);
+            } else if (first) {
+                accepts = term -> term.endsWith(needle);
+            } else {
+                accepts = term -> term.startsWith(needle);
+            }
+
+            List<String> terms = new ArrayList<>();
+            if (caseSensitive) {
+                if (exactMatch || (!first && !last)) {
+                    if (postings.containsKey(needle)) {
+                        terms.add(needle);
+                    }
+                } else {
+                    postings.keySet().stream().filter(accepts).forEach(terms::add);
+                }
+            } else if (exactMatch || (!first && !last)) {
+                terms.addAll(spellings.getOrDefault(needle, Collections.emptySet()));
+            } else {
+                spellings.entrySet().stream()
+                        .filter(entry -> accepts.test(entry.getKey()))
+                        .forEach(entry -> terms.addAll(entry.getValue()));
+            }
+
+            if (terms.size() == 1) {
+                return postings.get(terms.get(0));
+            }
+            Map<Long, int[]> merged = new HashMap<>();
+            for (String term : terms) {
+                postings.get(term).forEach((id, positions) -> merged.merge(id, positions, FieldIndex::union));
+            }
+            return merged;
+        }
+
+        private static int[] union(int[] a, int[] b) {
+            int[] merged = new int[a.length + b.length];
+            System.arraycopy(a, 0, merged, 0, a.length);
+            System.arraycopy(b, 0, merged, a.length, b.length);
+            Arrays.sort(merged);
+            return merged;
+        }
+    }
+}
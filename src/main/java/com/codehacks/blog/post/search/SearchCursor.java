@@ -0,0 +1,55 @@
+package com.codehacks.blog.post.search;
+
+import com.codehacks.blog.post.exception.InvalidCursorException;
+import com.codehacks.blog.util.CursorCodec;
+
+import java.util.List;
+
+/**
+ * Keyset position in a ranked result list: the score and id of the last hit already returned.
+ * Results are ordered by score descending, then id descending.
+ */
+public record SearchCursor(double score, long id) {
+
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String[] parts = CursorCodec.decode(token, 2);
+        try {
+            return new SearchCursor(Double.parseDouble(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Malformed search cursor");
+        }
+    }
+
+    public String encode() {
+        return CursorCodec.encode(score, id);
+    }
+
+    public boolean precedes(SearchHit hit) {
+        return hit.score() < score || (hit.score() == score && hit.post().getId() < id);
+    }
+
+    public static String encodeAfter(SearchHit hit) {
+        return new SearchCursor(hit.score(), hit.post().getId()).encode();
+    }
+
+    /**
+     * Returns the position of the first hit after this cursor in {@code ranked}, which must be ordered by score
+     * descending, then id descending.
+     */
+    public int seek(List<SearchHit> ranked) {
+        int low = 0;
+        int high = ranked.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (precedes(ranked.get(mid))) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
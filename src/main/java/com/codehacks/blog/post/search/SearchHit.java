@@ -0,0 +1,9 @@
+package com.codehacks.blog.post.search;
+
+import com.codehacks.blog.post.dto.PostSummaryDTO;
+
+/**
+ * A matching post together with the relevance score it was ranked by.
+ */
+public record SearchHit(PostSummaryDTO post, double score) {
+}
@@ -1,8 +1,11 @@
 package com.codehacks.blog.post.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.codehacks.blog.post.dto.CommentDto;
+import com.codehacks.blog.post.dto.PostCommentsDTO;
 import jakarta.validation.Valid;
 
 public interface CommentService {
@@ -16,4 +19,10 @@ public interface CommentService {
     void deleteComment(Long id);
 
     List<CommentDto> getAllCommentsForPost(Long postId);
+
+    /**
+     * Returns the comment count and the newest {@code latestLimit} comments of each given post, keyed by post id
+     * in the order the ids were given. Posts without comments map to {@link PostCommentsDTO#NONE}.
+     */
+    Map<Long, PostCommentsDTO> getCommentsForPosts(Collection<Long> postIds, int latestLimit);
 }
@@ -3,25 +3,39 @@ package com.codehacks.blog.post.service;
 import com.codehacks.blog.auth.exception.UserAccountException;
 import com.codehacks.blog.auth.model.User;
 import com.codehacks.blog.auth.repository.UserRepository;
+import com.codehacks.blog.post.config.PostCacheConfig;
 import com.codehacks.blog.post.dto.CommentDto;
+import com.codehacks.blog.post.dto.CommentSummaryDTO;
+import com.codehacks.blog.post.dto.PostCommentsDTO;
 import com.codehacks.blog.post.exception.CommentNotFoundException;
 import com.codehacks.blog.post.exception.InvalidCommentException;
 import com.codehacks.blog.post.exception.InvalidPostIdException;
 import com.codehacks.blog.post.exception.PostNotFoundException;
 import com.codehacks.blog.post.model.Comment;
 import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.repository.CommentDigestRow;
 import com.codehacks.blog.post.repository.PostRepository;
 import com.codehacks.blog.post.repository.CommentRepository;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @Validated
@@ -32,6 +46,7 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
 
+    @CacheEvict(value = PostCacheConfig.POST_BY_ID, key = "#postId")
     public CommentDto addCommentToPost(Long postId, CommentDto request) {
         validateComment(request, postId);
 
@@ -63,6 +78,7 @@ public class CommentServiceImpl implements CommentService {
         }
     }
 
+    @CacheEvict(value = PostCacheConfig.POST_BY_ID, key = "#postId")
     public CommentDto updateComment(@Valid CommentDto commentDto, Long commentId, Long postId) {
         validateComment(commentDto, postId);
 
@@ -84,6 +100,8 @@ public class CommentServiceImpl implements CommentService {
         return mapToDto(comment);
     }
 
+    // The owning post is not known from the comment id alone, so every cached post is dropped
+    @CacheEvict(value = PostCacheConfig.POST_BY_ID, allEntries = true)
     public void deleteComment(Long id) {
         if (!commentRepository.existsById(id)) {
             throw new CommentNotFoundException("Comment not found with ID: " + id);
@@ -92,18 +110,54 @@ public class CommentServiceImpl implements CommentService {
     }
 
     public List<CommentDto> getAllCommentsForPost(Long postId) {
-        List<Comment> comments = commentRepository.findByPostId(postId);
-        return comments.stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return commentRepository.findDtosByPostId(postId);
+    }
+
+    public Map<Long, PostCommentsDTO> getCommentsForPosts(Collection<Long> postIds, int latestLimit) {
+        if (latestLimit < 0) {
+            throw new InvalidCommentException("Number of latest comments must not be negative");
+        }
+        Set<Long> ids = new LinkedHashSet<>(postIds);
+        ids.removeIf(Objects::isNull);
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, Long> counts = new HashMap<>();
+        Map<Long, List<CommentSummaryDTO>> latest = new HashMap<>();
+        for (CommentDigestRow row : commentRepository.findLatestByPostIds(ids, latestLimit)) {
+            counts.put(row.getPostId(), row.getCommentCount());
+            if (row.getPosition() <= latestLimit) {
+                latest.computeIfAbsent(row.getPostId(), id -> new ArrayList<>()).add(new CommentSummaryDTO(
+                        row.getCommentId(), row.getCommentAuthor(), row.getCommentContent(), row.getCommentCreatedAt()));
+            }
+        }
+
+        Map<Long, PostCommentsDTO> comments = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Long count = counts.get(id);
+            comments.put(id, count == null
+                    ? PostCommentsDTO.NONE
+                    : new PostCommentsDTO(count, latest.getOrDefault(id, List.of())));
+        }
+        return comments;
     }
 
     private CommentDto mapToDto(Comment comment) {
         CommentDto commentDto = new CommentDto();
         commentDto.setId(comment.getId());
         commentDto.setContent(comment.getContent());
-        commentDto.setPostId(comment.getPost().getId());
+        commentDto.setPostId(postIdOf(comment));
         commentDto.setCreatedAt(comment.getCreatedAt());
         return commentDto;
     }
+
+    // Reads the id off an uninitialized post proxy instead of loading the post
+    private static Long postIdOf(Comment comment) {
+        Post post = comment.getPost();
+        if (post instanceof HibernateProxy proxy) {
+            return (Long) proxy.getHibernateLazyInitializer().getIdentifier();
+        }
+        return post.getId();
+    }
 }
@@ -0,0 +1,54 @@
+package com.codehacks.blog.post.service;
+
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.post.dto.PostSummaryDTO;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.repository.PostRepository;
+import com.codehacks.blog.post.repository.PostSearchRow;
+import com.codehacks.blog.post.search.SearchCursor;
+import com.codehacks.blog.post.search.SearchHit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Searches the generated {@code posts.search_vector} column through its GIN index. Postgres keeps the column in
+ * step with every insert and update, so there is nothing to maintain here. Matching is stemmed and always
+ * case-insensitive; an exact match is answered as a phrase query.
+ */
+@Service
+@ConditionalOnProperty(name = "blog.search.backend", havingValue = "postgres")
+public class FullTextPostSearchService implements PostSearchService {
+
+    private final PostRepository postRepository;
+
+    public FullTextPostSearchService(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    @Override
+    public CursorPage<PostSummaryDTO> search(String query, boolean caseSensitive, boolean exactMatch,
+                                             int limit, String cursor) {
+        SearchCursor after = SearchCursor.decode(cursor);
+        List<PostSearchRow> rows = after == null
+                ? postRepository.searchFullText(query, exactMatch, limit + 1)
+                : postRepository.searchFullTextAfter(query, exactMatch, after.score(), after.id(), limit + 1);
+
+        List<SearchHit> hits = rows.stream()
+                .map(row -> new SearchHit(new PostSummaryDTO(row.getId(), row.getTitle(), row.getCreatedAt()),
+                        row.getRank()))
+                .toList();
+        return CursorPage.fromWindow(hits, limit, SearchCursor::encodeAfter).map(SearchHit::post);
+    }
+
+    @Override
+    public void index(Post post) {
+        // search_vector is a generated column
+    }
+
+    @Override
+    public void remove(Long postId) {
+        // the row and its index entry are gone with the delete
+    }
+}
@@ -0,0 +1,91 @@
+package com.codehacks.blog.post.service;
+
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.post.dto.PostSummaryDTO;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.repository.PostRepository;
+import com.codehacks.blog.post.search.PostSearchIndex;
+import com.codehacks.blog.post.search.SearchCursor;
+import com.codehacks.blog.post.search.SearchHit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Answers searches from the in-process index. The ranked hit list of a query is kept until the index next changes,
+ * so following pages binary-search their cursor in it instead of matching and ranking every hit again.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "blog.search.backend", havingValue = "index", matchIfMissing = true)
+public class IndexedPostSearchService implements PostSearchService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final PostSearchIndex index = new PostSearchIndex();
+    private final Cache<RankedQuery, List<SearchHit>> rankings;
+
+    public IndexedPostSearchService(PostRepository postRepository,
+                                    @Value("${blog.search.ranking-cache.max-hits:100000}") long maxCachedHits,
+                                    @Value("${blog.search.ranking-cache.ttl:5m}") Duration rankingTtl) {
+        this.postRepository = postRepository;
+        this.rankings = Caffeine.newBuilder()
+                .maximumWeight(maxCachedHits)
+                .<RankedQuery, List<SearchHit>>weigher((query, hits) -> Math.max(1, hits.size()))
+                .expireAfterAccess(rankingTtl)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        index.clear();
+
+        Page<Post> page = postRepository.findAll(PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+        page.forEach(this::index);
+        while (page.hasNext()) {
+            page = postRepository.findAll(page.nextPageable());
+            page.forEach(this::index);
+        }
+
+        log.info("Search index built with {} posts in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public CursorPage<PostSummaryDTO> search(String query, boolean caseSensitive, boolean exactMatch,
+                                             int limit, String cursor) {
+        SearchCursor after = SearchCursor.decode(cursor);
+        // Read the version first: a list computed afterwards is never older than the version it is stored under
+        RankedQuery key = new RankedQuery(query, caseSensitive, exactMatch, index.version());
+        List<SearchHit> ranked = rankings.get(key, k -> List.copyOf(index.search(query, caseSensitive, exactMatch)));
+
+        int from = after == null ? 0 : after.seek(ranked);
+        List<SearchHit> window = ranked.subList(from, (int) Math.min(ranked.size(), from + limit + 1L));
+        return CursorPage.fromWindow(window, limit, SearchCursor::encodeAfter).map(SearchHit::post);
+    }
+
+    @Override
+    public void index(Post post) {
+        index.index(post.getId(), post.getTitle(), post.getContent(), post.getCreatedAt());
+    }
+
+    @Override
+    public void remove(Long postId) {
+        index.remove(postId);
+    }
+
+    private record RankedQuery(String query, boolean caseSensitive, boolean exactMatch, long indexVersion) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.codehacks.blog.post.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface PostExportService {
+
+    /**
+     * Writes every post to {@code out} as newline-delimited JSON, oldest first, and returns how many were written.
+     * The stream is flushed but not closed.
+     */
+    long exportPosts(OutputStream out) throws IOException;
+}
@@ -0,0 +1,58 @@
+package com.codehacks.blog.post.service;
+
+import com.codehacks.blog.post.dto.PostExportDTO;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.repository.PostRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams posts from a server-side cursor straight into the response. Each post is detached once written,
+ * so the persistence context, and with it the heap, stays the same size however many posts there are.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostExportServiceImpl implements PostExportService {
+
+    private final PostRepository postRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPosts(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(PostExportDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exported = 0;
+
+        try (Stream<Post> posts = postRepository.streamAllForExport();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<Post> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                Post post = iterator.next();
+                writer.writeValue(generator, PostExportDTO.from(post));
+                generator.writeRaw('\n');
+                entityManager.detach(post);
+                exported++;
+            }
+        }
+        log.info("Exported {} posts", exported);
+        return exported;
+    }
+}
@@ -0,0 +1,11 @@
+package com.codehacks.blog.post.service;
+
+import com.codehacks.blog.post.model.Post;
+
+public interface PostPreviewService {
+
+    /**
+     * Computes the preview text, word count and author display name of the post and stores them on it.
+     */
+    void applyPreview(Post post);
+}
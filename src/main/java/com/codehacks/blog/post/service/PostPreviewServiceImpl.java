@@ -0,0 +1,75 @@
+package com.codehacks.blog.post.service;
+
+import com.codehacks.blog.post.model.Author;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.repository.PostRepository;
+import com.codehacks.blog.util.WordScanner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Derives the preview columns of a post when it is written, so listing previews never has to load
+ * or re-scan post content.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostPreviewServiceImpl implements PostPreviewService {
+
+    static final int LONG_POST_WORDS = 600;
+    static final double LONG_POST_PREVIEW_RATIO = 0.8;
+    private static final int BACKFILL_BATCH_SIZE = 200;
+
+    private final PostRepository postRepository;
+
+    @Override
+    public void applyPreview(Post post) {
+        String content = post.getContent();
+        int wordCount = WordScanner.countWords(content);
+
+        post.setWordCount(wordCount);
+        post.setPreviewContent(previewOf(content, wordCount));
+        post.setAuthorName(displayName(post.getAuthor()));
+    }
+
+    /**
+     * Fills in the preview columns of posts written before they existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int updated = 0;
+        List<Post> batch;
+        do {
+            batch = postRepository.findWithoutPreview(PageRequest.of(0, BACKFILL_BATCH_SIZE));
+            for (Post post : batch) {
+                applyPreview(post);
+                postRepository.updatePreview(post.getId(), post.getPreviewContent(), post.getWordCount(),
+                        post.getAuthorName());
+            }
+            updated += batch.size();
+        } while (batch.size() == BACKFILL_BATCH_SIZE);
+
+        if (updated > 0) {
+            log.info("Computed previews for {} existing posts", updated);
+        }
+    }
+
+    private String previewOf(String content, int wordCount) {
+        if (wordCount >= LONG_POST_WORDS) {
+            int previewWords = (int) (wordCount * LONG_POST_PREVIEW_RATIO);
+            return content.substring(0, WordScanner.scan(content, previewWords).cutOffset());
+        }
+        // Get first two paragraphs
+        return content.substring(0, WordScanner.paragraphsEnd(content, 2));
+    }
+
+    private String displayName(Author author) {
+        return author == null ? null : String.join(" ", author.getFirstName(), author.getLastName());
+    }
+}
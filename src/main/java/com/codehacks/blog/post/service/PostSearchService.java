@@ -0,0 +1,34 @@
+package com.codehacks.blog.post.service;
+
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.post.dto.PostSummaryDTO;
+import com.codehacks.blog.post.model.Post;
+
+public interface PostSearchService {
+
+    /**
+     * Finds posts matching the query, most relevant first.
+     *
+     * @param query         trimmed, non-blank search text
+     * @param caseSensitive whether letter case must match, where the backend can tell case apart
+     * @param exactMatch    whether the query must match as a whole rather than as loose terms
+     * @param limit         maximum number of results on the page
+     * @param cursor        cursor returned with the previous page, or {@code null} for the first page
+     * @return one page of summaries of the matching posts
+     */
+    CursorPage<PostSummaryDTO> search(String query, boolean caseSensitive, boolean exactMatch, int limit, String cursor);
+
+    /**
+     * Adds a saved post to the search backend, replacing any previous version of it.
+     *
+     * @param post the persisted post
+     */
+    void index(Post post);
+
+    /**
+     * Drops a deleted post from the search backend.
+     *
+     * @param postId id of the deleted post
+     */
+    void remove(Long postId);
+}
@@ -1,5 +1,7 @@
 package com.codehacks.blog.post.service;
 
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.post.dto.PostDetailDTO;
 import com.codehacks.blog.post.dto.PostPreviewDTO;
 import com.codehacks.blog.auth.exception.InvalidPostException;
 import com.codehacks.blog.post.dto.PostSummaryDTO;
@@ -8,14 +10,15 @@ import com.codehacks.blog.post.model.Post;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
-import java.util.Set;
 
 public interface PostService {
 
-    Set<Post> getAllPosts();
+    CursorPage<PostSummaryDTO> getPosts(int limit, String cursor);
 
     Post getPostById(Long blogId);
 
+    PostDetailDTO getPostDetail(Long blogId);
+
     List<Post> searchPostsByTitle(String title);
 
     List<Post> getPostsByAuthor(Author authorName);
@@ -24,11 +27,14 @@ public interface PostService {
 
     Post updatePost(final Post post, Long blogId);
 
+    Post publishPost(Long blogId);
+
     Boolean deletePost(Long blogId) throws InvalidPostException;
 
-    List<PostPreviewDTO> getBlogPreviews();
+    List<PostPreviewDTO> getBlogPreviews(Pageable pageable);
 
     List<PostSummaryDTO> getRecentPosts(Pageable pageable);
 
-    Set<PostSummaryDTO> searchPosts(String query, boolean caseSensitive, boolean exactMatch);
+    CursorPage<PostSummaryDTO> searchPosts(String query, boolean caseSensitive, boolean exactMatch,
+                                           int limit, String cursor);
 }
@@ -1,6 +1,11 @@
 package com.codehacks.blog.post.service;
 
 import com.codehacks.blog.auth.exception.InvalidSearchQueryException;
+import com.codehacks.blog.post.config.PostCacheConfig;
+import com.codehacks.blog.post.dto.CommentSummaryDTO;
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.post.dto.PostCursor;
+import com.codehacks.blog.post.dto.PostDetailDTO;
 import com.codehacks.blog.post.dto.PostPreviewDTO;
 import com.codehacks.blog.auth.exception.InvalidPostException;
 import com.codehacks.blog.post.dto.PostSummaryDTO;
@@ -9,24 +14,29 @@ import com.codehacks.blog.post.exception.PostNotFoundException;
 import com.codehacks.blog.post.mapper.PostMapper;
 import com.codehacks.blog.post.model.Author;
 import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.model.PostDeletedEvent;
+import com.codehacks.blog.post.model.PostSavedEvent;
+import com.codehacks.blog.post.model.Status;
 import com.codehacks.blog.post.repository.AuthorRepository;
+import com.codehacks.blog.post.repository.PostDetailRow;
 import com.codehacks.blog.post.repository.PostRepository;
 import com.codehacks.blog.util.Constants;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
@@ -36,14 +46,25 @@ public class PostServiceImpl implements PostService {
     private final PostRepository postRepository;
     private final AuthorRepository authorRepository;
     private final PostMapper postMapper;
+    private final PostSearchService postSearchService;
+    private final PostPreviewService postPreviewService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    public Set<Post> getAllPosts() {
-        return new HashSet<>(postRepository.findAll());
+    public CursorPage<PostSummaryDTO> getPosts(int limit, String cursor) {
+        if (limit < 1) {
+            throw new InvalidPostException("Page size must be positive");
+        }
+        PostCursor after = PostCursor.decode(cursor);
+        Pageable window = PageRequest.of(0, limit + 1);
+
+        List<PostSummaryDTO> posts = after == null
+                ? postRepository.findSummaries(window)
+                : postRepository.findSummariesAfter(after.createdAt(), after.id(), window);
+        return CursorPage.fromWindow(posts, limit, PostCursor::encodeAfter);
     }
 
     @Override
-    @Cacheable(value = "posts", key = "#postId")
     public Post getPostById(Long id) {
         if (id == null || id < 1) {
             throw new PostNotFoundException("Post id: " + id + " is invalid");
@@ -52,6 +73,33 @@ public class PostServiceImpl implements PostService {
                 .orElseThrow(() -> new PostNotFoundException("Post " + id + " was not found"));
     }
 
+    @Override
+    @Cacheable(value = PostCacheConfig.POST_BY_ID, key = "#id")
+    public PostDetailDTO getPostDetail(Long id) {
+        if (id == null || id < 1) {
+            throw new PostNotFoundException("Post id: " + id + " is invalid");
+        }
+        List<PostDetailRow> rows = postRepository.findPostDetail(id, Constants.POST_DETAIL_COMMENT_LIMIT);
+        if (rows.isEmpty()) {
+            throw new PostNotFoundException("Post " + id + " was not found");
+        }
+        return toDetail(rows);
+    }
+
+    private PostDetailDTO toDetail(List<PostDetailRow> rows) {
+        PostDetailRow post = rows.get(0);
+        List<CommentSummaryDTO> comments = rows.stream()
+                .filter(row -> row.getCommentId() != null)
+                .map(row -> new CommentSummaryDTO(row.getCommentId(), row.getCommentAuthor(),
+                        row.getCommentContent(), row.getCommentCreatedAt()))
+                .toList();
+        Status status = post.getStatus() != null ? Status.values()[post.getStatus()] : null;
+
+        return new PostDetailDTO(post.getId(), post.getTitle(), post.getContent(), post.getSlug(),
+                post.getFeaturedImageUrl(), status, post.getAuthor(), post.getCreatedAt(), post.getUpdatedAt(),
+                post.getPublishedAt(), post.getCommentCount(), comments);
+    }
+
     @Override
     public List<Post> searchPostsByTitle(String title) {
         return postRepository.findByTitleContainingIgnoreCase(title);
@@ -81,6 +129,7 @@ public class PostServiceImpl implements PostService {
 
     @Override
     @Transactional
+    @CacheEvict(value = {PostCacheConfig.PREVIEWS, PostCacheConfig.RECENT}, allEntries = true)
     public Post createPost(Post post) {
         validatePost(post);
 
@@ -89,8 +138,11 @@ public class PostServiceImpl implements PostService {
 
         Author author = resolveAuthor(post.getAuthor());
         post.setAuthor(author);
+        postPreviewService.applyPreview(post);
 
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        eventPublisher.publishEvent(new PostSavedEvent(savedPost));
+        return savedPost;
     }
 
     private void validatePost(Post post) {
@@ -137,6 +189,10 @@ public class PostServiceImpl implements PostService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = PostCacheConfig.POST_BY_ID, key = "#blogId"),
+            @CacheEvict(value = {PostCacheConfig.PREVIEWS, PostCacheConfig.RECENT}, allEntries = true)
+    })
     public Post updatePost(Post post, Long blogId) {
         Post blogPost = postRepository.findByIdWithComments(blogId)
                 .orElseThrow(() -> new PostNotFoundException("Post not found with id: " + blogId));
@@ -146,69 +202,85 @@ public class PostServiceImpl implements PostService {
         blogPost.setTitle(post.getTitle().trim());
         blogPost.setContent(post.getContent().trim());
         blogPost.setUpdatedAt(LocalDateTime.now());
+        postPreviewService.applyPreview(blogPost);
+
+        Post savedPost = postRepository.save(blogPost);
+        eventPublisher.publishEvent(new PostSavedEvent(savedPost));
+        return savedPost;
+    }
+
+    /**
+     * Moves a post to {@link Status#PUBLISHED}. The first publication registers a {@code PostPublishedEvent} on the
+     * post, which the save hands to listeners such as the newsletter; publishing an already published post is a
+     * no-op.
+     */
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = PostCacheConfig.POST_BY_ID, key = "#blogId"),
+            @CacheEvict(value = {PostCacheConfig.PREVIEWS, PostCacheConfig.RECENT}, allEntries = true)
+    })
+    public Post publishPost(Long blogId) {
+        Post blogPost = postRepository.findByIdWithComments(blogId)
+                .orElseThrow(() -> new PostNotFoundException("Post not found with id: " + blogId));
+        if (blogPost.getStatus() == Status.PUBLISHED) {
+            return blogPost;
+        }
+
+        blogPost.setStatus(Status.PUBLISHED);
+        blogPost.setUpdatedAt(LocalDateTime.now());
 
-        return postRepository.save(blogPost);
+        Post savedPost = postRepository.save(blogPost);
+        eventPublisher.publishEvent(new PostSavedEvent(savedPost));
+        return savedPost;
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = PostCacheConfig.POST_BY_ID, key = "#blogId"),
+            @CacheEvict(value = {PostCacheConfig.PREVIEWS, PostCacheConfig.RECENT}, allEntries = true)
+    })
     public Boolean deletePost(Long blogId) throws InvalidPostException {
         if (blogId <= 0) {
             throw new InvalidPostException("Post cannot have a non-positive id");
         }
         if (postRepository.existsById(blogId)) {
             postRepository.deleteById(blogId);
+            eventPublisher.publishEvent(new PostDeletedEvent(blogId));
             return true;
         }
         throw new PostNotFoundException("Post not found with id: " + blogId);
     }
 
-    @Override
-    @Cacheable
-    public List<PostPreviewDTO> getBlogPreviews() {
-        List<Post> blogs = postRepository.findAll();
-        return blogs.stream()
-                .map(this::convertToPreview)
-                .collect(Collectors.toList());
+    /**
+     * Updates the search backend only once the write has committed, so a rollback leaves no trace in it and
+     * searches never see uncommitted posts.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostSaved(PostSavedEvent event) {
+        postSearchService.index(event.post());
     }
 
-    private PostPreviewDTO convertToPreview(Post blog) {
-        PostPreviewDTO preview = new PostPreviewDTO();
-        preview.setId(blog.getId());
-        preview.setTitle(blog.getTitle());
-        preview.setAuthor(String.join(" ", blog.getAuthor().getFirstName(), blog.getAuthor().getLastName()));
-        preview.setCreatedAt(blog.getCreatedAt());
-
-        String content = blog.getContent();
-        int wordCount = countWords(content);
-
-        String previewContent;
-        final int numberOfWords = 600;
-        if (wordCount >= numberOfWords) {
-            int previewWordCount = (int) (wordCount * 0.8);
-            previewContent = getFirstNWords(content, previewWordCount);
-        } else {
-            // Get first two paragraphs
-            String[] paragraphs = blog.getContent().split("\n\n");
-            previewContent = Arrays.stream(paragraphs)
-                    .limit(2)
-                    .collect(Collectors.joining("\n\n"));
-        }
-        preview.setPreviewContent(previewContent);
-
-        return preview;
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeleted(PostDeletedEvent event) {
+        postSearchService.remove(event.postId());
     }
 
-    private int countWords(String content) {
-        return content.trim().split("\\s+").length;
-    }
+    @Override
+    @Cacheable(value = PostCacheConfig.PREVIEWS, condition = "#pageable != null",
+            key = "#pageable.pageNumber + ':' + #pageable.pageSize")
+    public List<PostPreviewDTO> getBlogPreviews(Pageable pageable) {
+        if (pageable == null) {
+            throw new PostNotFoundException("There should be a number of previews.");
+        }
 
-    private String getFirstNWords(String content, int n) {
-        String[] words = content.trim().split("\\s+");
-        return String.join(" ", Arrays.copyOfRange(words, 0, Math.min(n, words.length)));
+        return postRepository.findPreviews(pageable).getContent();
     }
 
-    @Cacheable
+    @Override
+    @Cacheable(value = PostCacheConfig.RECENT, condition = "#pageable != null",
+            key = "#pageable.pageNumber + ':' + #pageable.pageSize")
     public List<PostSummaryDTO> getRecentPosts(Pageable pageable) {
         if (pageable == null) {
             throw new PostNotFoundException("There should be a number of posts.");
@@ -221,29 +293,15 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
-    public Set<PostSummaryDTO> searchPosts(String query, boolean caseSensitive, boolean exactMatch) {
+    public CursorPage<PostSummaryDTO> searchPosts(String query, boolean caseSensitive, boolean exactMatch,
+                                                  int limit, String cursor) {
         if (query == null || query.isBlank()) {
             throw new InvalidSearchQueryException("Search query cannot be empty");
         }
-
-        final String searchQuery = (!caseSensitive) ? query.trim().toLowerCase()
-                : query.trim();
-
-        List<Post> posts = postRepository.findAll();
-        return posts.stream()
-                .filter(post -> matchesSearchCriteria(post, searchQuery, caseSensitive, exactMatch))
-                .map(postMapper::toSummary)
-                .collect(Collectors.toSet());
-    }
-
-    private boolean matchesSearchCriteria(Post post, String searchQuery, boolean caseSensitive, boolean exactMatch) {
-        String title = caseSensitive ? post.getTitle() : post.getTitle().toLowerCase();
-        String content = caseSensitive ? post.getContent() : post.getContent().toLowerCase();
-
-        if (exactMatch) {
-            return title.equals(searchQuery) || content.equals(searchQuery);
-        } else {
-            return title.contains(searchQuery) || content.contains(searchQuery);
+        if (limit < 1) {
+            throw new InvalidSearchQueryException("Search limit must be positive");
         }
+
+        return postSearchService.search(query.trim(), caseSensitive, exactMatch, limit, cursor);
     }
 }
@@ -1,30 +1,50 @@
 package com.codehacks.blog.subscription.controller;
 
 import com.codehacks.blog.auth.dto.ApiResponse;
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.subscription.dto.DailySubscriberActivityDTO;
+import com.codehacks.blog.subscription.dto.SubscriberContactDTO;
+import com.codehacks.blog.subscription.dto.SubscriberCountsDTO;
 import com.codehacks.blog.subscription.dto.SubscriberDTO;
+import com.codehacks.blog.subscription.dto.SubscriberImportResult;
+import com.codehacks.blog.subscription.dto.SubscriberPageDTO;
+import com.codehacks.blog.subscription.dto.SubscriberSummaryDTO;
 import com.codehacks.blog.subscription.model.Subscriber;
 import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import com.codehacks.blog.subscription.service.SubscriberExportService;
+import com.codehacks.blog.subscription.service.SubscriberImportService;
+import com.codehacks.blog.subscription.service.SubscriberStatisticsService;
 import com.codehacks.blog.subscription.service.SubscriptionService;
+import com.codehacks.blog.util.AsyncRequestTimeouts;
 import com.codehacks.blog.util.Constants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -39,7 +59,18 @@ import java.util.Map;
 @Validated
 public class SubscriptionController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_ACTIVITY_DAYS = 366;
+
     private final SubscriptionService subscriptionService;
+    private final SubscriberImportService subscriberImportService;
+    private final SubscriberStatisticsService subscriberStatisticsService;
+    private final SubscriberExportService subscriberExportService;
+
+    @Value("${blog.export.timeout:10m}")
+    private Duration exportTimeout;
 
     @Operation(
             summary = "Subscribe to blog updates",
@@ -135,7 +166,8 @@ public class SubscriptionController {
 
     @Operation(
             summary = "Get all active subscribers",
-            description = "Retrieve a list of all active subscribers. Requires ADMIN role.",
+            description = "Retrieve a list of all active subscribers. Requires ADMIN role. For large lists use "
+                    + "/active/page or /active/export, which return only id and email.",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "200",
@@ -162,10 +194,73 @@ public class SubscriptionController {
     }
 
 
-    //@PreAuthorize("ADMIN")
+
+    @Operation(
+            summary = "Page through active subscribers (Admin only)",
+            description = "Up to limit active subscribers, oldest first, with the id and email of each. Pass the "
+                    + "returned nextCursor back as cursor for the following page; it is null on the last page.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Page returned successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Non-positive limit or malformed cursor"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - Only admins can access this resource")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @GetMapping(value = "/active/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<CursorPage<SubscriberContactDTO>>> getActiveSubscribersPage(
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Limit must be positive"));
+        }
+        CursorPage<SubscriberContactDTO> subscribers =
+                subscriptionService.getActiveSubscribers(Math.min(limit, MAX_PAGE_SIZE), cursor);
+
+        return ResponseEntity.ok(ApiResponse.success(subscribers));
+    }
+
+
+    @Operation(
+            summary = "Export active subscribers (Admin only)",
+            description = "Streams the id and email of every active subscriber as newline-delimited JSON, "
+                    + "oldest first.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Subscribers, one JSON object per line"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - Only admins can access this resource")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @GetMapping(value = "/active/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportActiveSubscribers(HttpServletRequest request) {
+        AsyncRequestTimeouts.override(request, exportTimeout);
+        StreamingResponseBody body = subscriberExportService::exportActiveSubscribers;
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+
+    @PreAuthorize("hasAnyRole('ADMIN')")
     @Operation(
             summary = "Get subscribers grouped by status (Admin only)",
-            description = "Returns a map of subscription status to list of subscribers. Restricted to ADMIN role.",
+            description = "Returns a map of subscription status to its oldest subscribers, up to limit per status. "
+                    + "Use /status/{status} to page further and /statistics for counts. Restricted to ADMIN role.",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "200",
@@ -179,9 +274,164 @@ public class SubscriptionController {
             }
     )
     @GetMapping(value = "/grouped-by-status", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<Map<SubscriptionStatus, List<Subscriber>>>> getSubscribersByStatus() {
-        Map<SubscriptionStatus, List<Subscriber>> groupedSubscribers = subscriptionService.getSubscribersByStatus();
+    public ResponseEntity<ApiResponse<Map<SubscriptionStatus, List<SubscriberSummaryDTO>>>> getSubscribersByStatus(
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Limit must be positive"));
+        }
+        Map<SubscriptionStatus, List<SubscriberSummaryDTO>> groupedSubscribers =
+                subscriberStatisticsService.getSubscribersByStatus(Math.min(limit, MAX_PAGE_SIZE));
 
         return ResponseEntity.ok(ApiResponse.success(groupedSubscribers));
     }
+
+
+    @Operation(
+            summary = "Get subscriber counts (Admin only)",
+            description = "Number of subscribers in each status and in total, refreshed at most every "
+                    + "blog.subscription.statistics.counts-ttl.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Counts returned successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - Only admins can access this resource")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @GetMapping(value = "/statistics", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<SubscriberCountsDTO>> getSubscriberCounts() {
+        return ResponseEntity.ok(ApiResponse.success(subscriberStatisticsService.getCounts()));
+    }
+
+
+    @Operation(
+            summary = "Get daily subscription activity (Admin only)",
+            description = "Subscriptions and unsubscriptions per day over the last days days, oldest first.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "One entry per day, including days without activity",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "days is not between 1 and 366"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - Only admins can access this resource")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @GetMapping(value = "/statistics/daily", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<List<DailySubscriberActivityDTO>>> getDailyActivity(
+            @RequestParam(value = "days", defaultValue = "30") int days) {
+        if (days < 1 || days > MAX_ACTIVITY_DAYS) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Days must be between 1 and " + MAX_ACTIVITY_DAYS));
+        }
+        return ResponseEntity.ok(ApiResponse.success(subscriberStatisticsService.getDailyActivity(days)));
+    }
+
+
+    @Operation(
+            summary = "List subscribers in a status (Admin only)",
+            description = "One page of subscribers in the given status, oldest first.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Page returned successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Negative page or non-positive size"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - Only admins can access this resource")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @GetMapping(value = "/status/{status}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<SubscriberPageDTO>> getSubscribersInStatus(
+            @PathVariable SubscriptionStatus status,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        if (page < 0 || size < 1) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Page must not be negative and size must be positive"));
+        }
+        SubscriberPageDTO subscribers = subscriberStatisticsService.getSubscribers(status, page,
+                Math.min(size, MAX_PAGE_SIZE));
+
+        return ResponseEntity.ok(ApiResponse.success(subscribers));
+    }
+
+
+    @Operation(
+            summary = "Import subscribers from CSV (Admin only)",
+            description = "Reads lines of email[,status], with or without a header line. New emails are added, "
+                    + "existing ones take the imported status; status defaults to ACTIVE.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Counts of inserted, updated and rejected rows",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - Only admins can access this resource")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<SubscriberImportResult>> importSubscribersCsv(InputStream body)
+            throws IOException {
+        SubscriberImportResult result = subscriberImportService.importCsv(body);
+
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
+    @Operation(
+            summary = "Import subscribers from JSON (Admin only)",
+            description = "Reads a JSON array, or newline-delimited JSON, of {\"email\", \"status\"} objects or "
+                    + "plain email strings. New emails are added, existing ones take the imported status; status "
+                    + "defaults to ACTIVE.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Counts of inserted, updated and rejected records",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = ApiResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Malformed JSON; records before the error have been imported"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden - Only admins can access this resource")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<SubscriberImportResult>> importSubscribersJson(InputStream body)
+            throws IOException {
+        SubscriberImportResult result = subscriberImportService.importJson(body);
+
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
 }
@@ -0,0 +1,9 @@
+package com.codehacks.blog.subscription.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Subscribers who signed up on {@code day}, and subscribers who unsubscribed on {@code day} and have not come back.
+ */
+public record DailySubscriberActivityDTO(LocalDate day, long subscribed, long unsubscribed) {
+}
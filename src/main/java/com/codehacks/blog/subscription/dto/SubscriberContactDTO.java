@@ -0,0 +1,14 @@
+package com.codehacks.blog.subscription.dto;
+
+import com.codehacks.blog.subscription.repository.SubscriberContact;
+
+/**
+ * The id and email of a subscriber, all a consumer of the active subscriber list needs to mail them and to
+ * resume after them.
+ */
+public record SubscriberContactDTO(Long id, String email) {
+
+    public static SubscriberContactDTO from(SubscriberContact contact) {
+        return new SubscriberContactDTO(contact.getId(), contact.getEmail());
+    }
+}
@@ -0,0 +1,11 @@
+package com.codehacks.blog.subscription.dto;
+
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+
+import java.util.Map;
+
+/**
+ * Number of subscribers in each status, every status included, and in total.
+ */
+public record SubscriberCountsDTO(Map<SubscriptionStatus, Long> byStatus, long total) {
+}
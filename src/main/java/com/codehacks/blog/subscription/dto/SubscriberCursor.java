@@ -0,0 +1,31 @@
+package com.codehacks.blog.subscription.dto;
+
+import com.codehacks.blog.post.exception.InvalidCursorException;
+import com.codehacks.blog.util.CursorCodec;
+
+/**
+ * Keyset position in a subscriber listing: the id of the last subscriber already returned.
+ * Subscribers are ordered by id ascending.
+ */
+public record SubscriberCursor(long id) {
+
+    public static SubscriberCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String[] parts = CursorCodec.decode(token, 1);
+        try {
+            return new SubscriberCursor(Long.parseLong(parts[0]));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Malformed subscriber cursor");
+        }
+    }
+
+    public String encode() {
+        return CursorCodec.encode(id);
+    }
+
+    public static String encodeAfter(SubscriberContactDTO subscriber) {
+        return new SubscriberCursor(subscriber.id()).encode();
+    }
+}
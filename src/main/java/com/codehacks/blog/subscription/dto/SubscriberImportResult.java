@@ -0,0 +1,10 @@
+package com.codehacks.blog.subscription.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a subscriber import. {@code rejections} describes the first rejected rows only, up to
+ * {@code blog.subscription.import.max-reported-rejections}; {@code rejected} counts all of them.
+ */
+public record SubscriberImportResult(long inserted, long updated, long rejected, List<String> rejections) {
+}
@@ -0,0 +1,9 @@
+package com.codehacks.blog.subscription.dto;
+
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+
+/**
+ * One valid row of a subscriber import.
+ */
+public record SubscriberImportRow(String email, SubscriptionStatus status) {
+}
@@ -0,0 +1,10 @@
+package com.codehacks.blog.subscription.dto;
+
+import java.util.List;
+
+/**
+ * One page of subscribers in a status, oldest first. {@code totalElements} comes from the cached counts, so it
+ * can trail the listing by up to {@code blog.subscription.statistics.counts-ttl}.
+ */
+public record SubscriberPageDTO(List<SubscriberSummaryDTO> items, int page, int size, long totalElements) {
+}
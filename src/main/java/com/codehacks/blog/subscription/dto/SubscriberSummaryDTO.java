@@ -0,0 +1,9 @@
+package com.codehacks.blog.subscription.dto;
+
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+
+import java.time.LocalDateTime;
+
+public record SubscriberSummaryDTO(Long id, String email, SubscriptionStatus status, LocalDateTime createdAt,
+                                   LocalDateTime unsubscribedAt) {
+}
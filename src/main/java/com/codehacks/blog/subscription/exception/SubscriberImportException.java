@@ -0,0 +1,8 @@
+package com.codehacks.blog.subscription.exception;
+
+public class SubscriberImportException extends RuntimeException {
+
+    public SubscriberImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,12 +1,14 @@
 package com.codehacks.blog.subscription.exception;
 
 import com.codehacks.blog.auth.dto.ApiResponse;
+import com.codehacks.blog.post.exception.InvalidCursorException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
@@ -32,6 +34,20 @@ public class SubscriptionGlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    @ExceptionHandler(SubscriberImportException.class)
+    public ResponseEntity<ApiResponse<String>> handleSubscriberImport(SubscriberImportException ex) {
+        logger.error("Subscriber import aborted: {}", ex.getMessage());
+        return ResponseEntity.badRequest()
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<String>> handleInvalidCursor(InvalidCursorException ex) {
+        logger.error("Invalid cursor: {}", ex.getMessage());
+        return ResponseEntity.badRequest()
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ApiResponse<String>> handleConstraintViolation(ConstraintViolationException ex) {
         logger.error("Constraint violation: {}", ex.getMessage());
@@ -39,6 +55,13 @@ public class SubscriptionGlobalExceptionHandler {
                 .body(ApiResponse.error("Invalid input: " + ex.getMessage()));
     }
 
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ApiResponse<String>> handleAccessDenied(AccessDeniedException ex) {
+        logger.error("Access denied: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.error("Forbidden - Only admins can access this resource"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<String>> handleAllUncaughtException(Exception ex, WebRequest request) {
         logger.error("Unhandled exception: ", ex);
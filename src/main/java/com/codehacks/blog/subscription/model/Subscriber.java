@@ -19,7 +19,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "subscribers", indexes = {
         @Index(name = "idx_subscribers_email", columnList = "email", unique = true),
-        @Index(name = "idx_subscribers_status", columnList = "status")
+        @Index(name = "idx_subscribers_status_id", columnList = "status, id"),
+        @Index(name = "idx_subscribers_created_at", columnList = "created_at"),
+        @Index(name = "idx_subscribers_status_unsubscribed_at", columnList = "status, unsubscribed_at")
 })
 @Data
 @NoArgsConstructor
@@ -0,0 +1,10 @@
+package com.codehacks.blog.subscription.repository;
+
+import java.time.LocalDate;
+
+public interface DailyCountRow {
+
+    LocalDate getDay();
+
+    long getTotal();
+}
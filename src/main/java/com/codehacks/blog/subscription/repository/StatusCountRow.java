@@ -0,0 +1,10 @@
+package com.codehacks.blog.subscription.repository;
+
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+
+public interface StatusCountRow {
+
+    SubscriptionStatus getStatus();
+
+    long getTotal();
+}
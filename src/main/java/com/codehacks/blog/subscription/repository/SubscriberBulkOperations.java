@@ -0,0 +1,14 @@
+package com.codehacks.blog.subscription.repository;
+
+import com.codehacks.blog.subscription.dto.SubscriberImportRow;
+
+import java.util.Collection;
+
+public interface SubscriberBulkOperations {
+
+    /**
+     * Inserts the rows, or updates the status of subscribers whose email is already taken, in one statement, and
+     * returns how many were inserted; the rest were updated. Emails must be distinct.
+     */
+    int upsertAll(Collection<SubscriberImportRow> rows);
+}
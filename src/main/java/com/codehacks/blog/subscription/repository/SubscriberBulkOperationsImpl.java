@@ -0,0 +1,79 @@
+package com.codehacks.blog.subscription.repository;
+
+import com.codehacks.blog.subscription.dto.SubscriberImportRow;
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.StringJoiner;
+
+/**
+ * Bulk upsert for {@link SubscriberRepository}. The identity id keeps Hibernate from batching inserts, so the
+ * rows go out as a single multi-row {@code INSERT ... ON CONFLICT (email) DO UPDATE}, one round trip however many
+ * there are. {@code xmax} is zero only on rows the statement inserted, which tells the inserts from the updates.
+ */
+public class SubscriberBulkOperationsImpl implements SubscriberBulkOperations {
+
+    private static final String UPSERT_PREFIX =
+            "INSERT INTO subscribers (email, status, unsubscribed_at, created_at, version) VALUES ";
+
+    private static final String ROW = "(?, ?, ?, LOCALTIMESTAMP, 0)";
+
+    // Status is stored as its ordinal; imported rows get the same dates as Subscriber.unsubscribe()/resubscribe()
+    private static final String UPSERT_SUFFIX = """
+             ON CONFLICT (email) DO UPDATE SET
+                status = EXCLUDED.status,
+                unsubscribed_at = CASE WHEN EXCLUDED.status = %d THEN NULL
+                                       ELSE COALESCE(subscribers.unsubscribed_at, EXCLUDED.unsubscribed_at) END,
+                version = subscribers.version + 1
+            RETURNING (xmax = 0)
+            """.formatted(SubscriptionStatus.ACTIVE.ordinal());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SubscriberBulkOperationsImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int upsertAll(Collection<SubscriberImportRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] inserted = new int[1];
+        jdbcTemplate.query(upsertSql(rows.size()), statement -> bind(statement, rows, now), resultSet -> {
+            if (resultSet.getBoolean(1)) {
+                inserted[0]++;
+            }
+        });
+        return inserted[0];
+    }
+
+    static String upsertSql(int rowCount) {
+        StringJoiner values = new StringJoiner(", ", UPSERT_PREFIX, UPSERT_SUFFIX);
+        for (int i = 0; i < rowCount; i++) {
+            values.add(ROW);
+        }
+        return values.toString();
+    }
+
+    private static void bind(PreparedStatement statement, Collection<SubscriberImportRow> rows, Timestamp now)
+            throws SQLException {
+        int index = 1;
+        for (SubscriberImportRow row : rows) {
+            statement.setString(index++, row.email());
+            statement.setShort(index++, (short) row.status().ordinal());
+            if (row.status() == SubscriptionStatus.ACTIVE) {
+                statement.setNull(index++, Types.TIMESTAMP);
+            } else {
+                statement.setTimestamp(index++, now);
+            }
+        }
+    }
+}
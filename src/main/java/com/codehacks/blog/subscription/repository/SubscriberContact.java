@@ -0,0 +1,11 @@
+package com.codehacks.blog.subscription.repository;
+
+/**
+ * The columns needed to mail a subscriber.
+ */
+public interface SubscriberContact {
+
+    Long getId();
+
+    String getEmail();
+}
@@ -1,17 +1,66 @@
 package com.codehacks.blog.subscription.repository;
 
+import com.codehacks.blog.subscription.dto.SubscriberSummaryDTO;
 import com.codehacks.blog.subscription.model.Subscriber;
 import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface SubscriberRepository extends JpaRepository<Subscriber, Long> {
+public interface SubscriberRepository extends JpaRepository<Subscriber, Long>, SubscriberBulkOperations {
 
     List<Subscriber> findByStatus(SubscriptionStatus status);
 
     Optional<Subscriber> findByEmail(String email);
-} 
\ No newline at end of file
+
+    /**
+     * The next page of subscribers in {@code status} with an id above {@code afterId}, walking
+     * {@code idx_subscribers_status_id} instead of counting past skipped rows.
+     */
+    @Query("SELECT s.id AS id, s.email AS email FROM Subscriber s "
+            + "WHERE s.status = :status AND s.id > :afterId ORDER BY s.id")
+    List<SubscriberContact> findContactsAfter(@Param("status") SubscriptionStatus status,
+                                              @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Every subscriber in {@code status} in id order, read through a server-side cursor. Must be consumed inside a
+     * transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.id AS id, s.email AS email FROM Subscriber s WHERE s.status = :status ORDER BY s.id")
+    Stream<SubscriberContact> streamContactsByStatus(@Param("status") SubscriptionStatus status);
+
+    @Query("SELECT s.status AS status, COUNT(s) AS total FROM Subscriber s GROUP BY s.status")
+    List<StatusCountRow> countByStatus();
+
+    @Query("SELECT CAST(s.createdAt AS LocalDate) AS day, COUNT(s) AS total FROM Subscriber s "
+            + "WHERE s.createdAt >= :since GROUP BY CAST(s.createdAt AS LocalDate)")
+    List<DailyCountRow> countSubscribedPerDay(@Param("since") LocalDateTime since);
+
+    /**
+     * Unsubscriptions per day, counting only subscribers still unsubscribed, since a resubscribed subscriber can
+     * still carry an {@code unsubscribedAt}.
+     */
+    @Query("SELECT CAST(s.unsubscribedAt AS LocalDate) AS day, COUNT(s) AS total FROM Subscriber s "
+            + "WHERE s.status = com.codehacks.blog.subscription.model.SubscriptionStatus.UNSUBSCRIBED "
+            + "AND s.unsubscribedAt >= :since GROUP BY CAST(s.unsubscribedAt AS LocalDate)")
+    List<DailyCountRow> countUnsubscribedPerDay(@Param("since") LocalDateTime since);
+
+    @Query("SELECT new com.codehacks.blog.subscription.dto.SubscriberSummaryDTO(s.id, s.email, s.status, "
+            + "s.createdAt, s.unsubscribedAt) FROM Subscriber s WHERE s.status = :status ORDER BY s.id")
+    List<SubscriberSummaryDTO> findSummariesByStatus(@Param("status") SubscriptionStatus status, Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.codehacks.blog.subscription.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface SubscriberExportService {
+
+    /**
+     * Writes the id and email of every active subscriber to {@code out} as newline-delimited JSON, oldest first,
+     * and returns how many were written. The stream is flushed but not closed.
+     */
+    long exportActiveSubscribers(OutputStream out) throws IOException;
+}
@@ -0,0 +1,56 @@
+package com.codehacks.blog.subscription.service;
+
+import com.codehacks.blog.subscription.dto.SubscriberContactDTO;
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import com.codehacks.blog.subscription.repository.SubscriberContact;
+import com.codehacks.blog.subscription.repository.SubscriberRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams active subscribers from a server-side cursor straight into the response. Rows are projected to id and
+ * email rather than loaded as entities, so nothing accumulates in the persistence context.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubscriberExportServiceImpl implements SubscriberExportService {
+
+    private final SubscriberRepository subscriberRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportActiveSubscribers(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(SubscriberContactDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exported = 0;
+
+        try (Stream<SubscriberContact> contacts =
+                     subscriberRepository.streamContactsByStatus(SubscriptionStatus.ACTIVE);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<SubscriberContact> iterator = contacts.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, SubscriberContactDTO.from(iterator.next()));
+                generator.writeRaw('\n');
+                exported++;
+            }
+        }
+        log.info("Exported {} active subscribers", exported);
+        return exported;
+    }
+}
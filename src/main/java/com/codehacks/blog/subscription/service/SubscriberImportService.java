@@ -0,0 +1,21 @@
+package com.codehacks.blog.subscription.service;
+
+import com.codehacks.blog.subscription.dto.SubscriberImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface SubscriberImportService {
+
+    /**
+     * Imports UTF-8 CSV lines of {@code email[,status]}, with or without a header line. The status defaults to
+     * {@code ACTIVE}; subscribers that already exist get the imported status.
+     */
+    SubscriberImportResult importCsv(InputStream in) throws IOException;
+
+    /**
+     * Imports a JSON array, or newline-delimited JSON, of {@code {"email": ..., "status": ...}} objects or plain
+     * email strings, with the same defaults as {@link #importCsv}.
+     */
+    SubscriberImportResult importJson(InputStream in) throws IOException;
+}
@@ -0,0 +1,184 @@
+package com.codehacks.blog.subscription.service;
+
+import com.codehacks.blog.subscription.dto.SubscriberDTO;
+import com.codehacks.blog.subscription.dto.SubscriberImportResult;
+import com.codehacks.blog.subscription.dto.SubscriberImportRow;
+import com.codehacks.blog.subscription.exception.SubscriberImportException;
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import com.codehacks.blog.subscription.repository.SubscriberRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the input one row at a time and upserts it {@code blog.subscription.import.batch-size} rows per statement,
+ * so memory use depends on the batch size, not on the size of the import. Each batch commits on its own: if the
+ * input turns out to be malformed halfway, the rows before it stay imported.
+ */
+@Slf4j
+@Service
+public class SubscriberImportServiceImpl implements SubscriberImportService {
+
+    // Three bind parameters per row, and Postgres allows 65535 per statement
+    static final int MAX_BATCH_SIZE = 10_000;
+
+    private final SubscriberRepository subscriberRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxReportedRejections;
+
+    public SubscriberImportServiceImpl(SubscriberRepository subscriberRepository, ObjectMapper objectMapper,
+                                       Validator validator,
+                                       @Value("${blog.subscription.import.batch-size:1000}") int batchSize,
+                                       @Value("${blog.subscription.import.max-reported-rejections:100}")
+                                       int maxReportedRejections) {
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Import batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        this.subscriberRepository = subscriberRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    @Override
+    public SubscriberImportResult importCsv(InputStream in) throws IOException {
+        Import anImport = new Import();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && isHeader(line))) {
+                continue;
+            }
+            String[] columns = line.split(",", -1);
+            if (columns.length > 2) {
+                anImport.reject("line " + lineNumber, "expected email[,status]");
+                continue;
+            }
+            anImport.add("line " + lineNumber, unquote(columns[0]), columns.length > 1 ? unquote(columns[1]) : null);
+        }
+        return anImport.finish();
+    }
+
+    @Override
+    public SubscriberImportResult importJson(InputStream in) throws IOException {
+        Import anImport = new Import();
+        long recordNumber = 0;
+        try (MappingIterator<JsonNode> records = objectMapper.readerFor(JsonNode.class).readValues(in)) {
+            while (records.hasNextValue()) {
+                JsonNode record = records.nextValue();
+                recordNumber++;
+                if (record.isTextual()) {
+                    anImport.add("record " + recordNumber, record.asText(), null);
+                } else if (record.isObject()) {
+                    anImport.add("record " + recordNumber, record.path("email").asText(null),
+                            record.path("status").asText(null));
+                } else {
+                    anImport.reject("record " + recordNumber, "expected an email or an object with an email");
+                }
+            }
+        } catch (JsonProcessingException e) {
+            anImport.finish();
+            throw new SubscriberImportException("Malformed JSON after record " + recordNumber
+                    + "; the records before it have been imported", e);
+        }
+        return anImport.finish();
+    }
+
+    private static boolean isHeader(String line) {
+        return unquote(line.split(",", -1)[0]).equalsIgnoreCase("email");
+    }
+
+    private static String unquote(String value) {
+        String trimmed = value.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1).trim();
+        }
+        return trimmed;
+    }
+
+    /**
+     * The rows waiting for the next statement and the running totals of one import.
+     */
+    private final class Import {
+
+        // Keyed by email: Postgres refuses to upsert the same row twice in one statement, so the last one wins
+        private final Map<String, SubscriberImportRow> pending = new LinkedHashMap<>();
+        private final List<String> rejections = new ArrayList<>();
+        private final long startedAt = System.nanoTime();
+        private long inserted;
+        private long updated;
+        private long rejected;
+
+        void add(String position, String email, String status) {
+            String address = email != null ? email.trim() : null;
+            Set<ConstraintViolation<SubscriberDTO>> violations = validator.validate(new SubscriberDTO(address));
+            if (!violations.isEmpty()) {
+                reject(position, violations.iterator().next().getMessage());
+                return;
+            }
+            SubscriptionStatus subscriptionStatus;
+            try {
+                subscriptionStatus = status == null || status.isBlank() ? SubscriptionStatus.ACTIVE
+                        : SubscriptionStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                reject(position, "Unknown status " + status);
+                return;
+            }
+
+            if (pending.put(address, new SubscriberImportRow(address, subscriptionStatus)) != null) {
+                // Listed earlier in this batch; across batches the repeat would have been an update as well
+                updated++;
+            }
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(String position, String reason) {
+            rejected++;
+            if (rejections.size() < maxReportedRejections) {
+                rejections.add(position + ": " + reason);
+            }
+        }
+
+        SubscriberImportResult finish() {
+            flush();
+            log.info("Imported subscribers in {} ms: {} inserted, {} updated, {} rejected",
+                    (System.nanoTime() - startedAt) / 1_000_000, inserted, updated, rejected);
+            return new SubscriberImportResult(inserted, updated, rejected, List.copyOf(rejections));
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            int insertedRows = subscriberRepository.upsertAll(pending.values());
+            inserted += insertedRows;
+            updated += pending.size() - insertedRows;
+            pending.clear();
+        }
+    }
+}
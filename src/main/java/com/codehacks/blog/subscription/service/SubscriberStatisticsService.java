@@ -0,0 +1,31 @@
+package com.codehacks.blog.subscription.service;
+
+import com.codehacks.blog.subscription.dto.DailySubscriberActivityDTO;
+import com.codehacks.blog.subscription.dto.SubscriberCountsDTO;
+import com.codehacks.blog.subscription.dto.SubscriberPageDTO;
+import com.codehacks.blog.subscription.dto.SubscriberSummaryDTO;
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+
+import java.util.List;
+import java.util.Map;
+
+public interface SubscriberStatisticsService {
+
+    /**
+     * Subscriber counts per status, at most {@code blog.subscription.statistics.counts-ttl} old.
+     */
+    SubscriberCountsDTO getCounts();
+
+    /**
+     * Subscriptions and unsubscriptions per day over the last {@code days} days, today included, oldest first.
+     * Days without any are included with zero counts.
+     */
+    List<DailySubscriberActivityDTO> getDailyActivity(int days);
+
+    SubscriberPageDTO getSubscribers(SubscriptionStatus status, int page, int size);
+
+    /**
+     * The oldest {@code limit} subscribers of every status that has any.
+     */
+    Map<SubscriptionStatus, List<SubscriberSummaryDTO>> getSubscribersByStatus(int limit);
+}
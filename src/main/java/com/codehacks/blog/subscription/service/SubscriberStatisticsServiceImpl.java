@@ -0,0 +1,118 @@
+package com.codehacks.blog.subscription.service;
+
+import com.codehacks.blog.subscription.dto.DailySubscriberActivityDTO;
+import com.codehacks.blog.subscription.dto.SubscriberCountsDTO;
+import com.codehacks.blog.subscription.dto.SubscriberPageDTO;
+import com.codehacks.blog.subscription.dto.SubscriberSummaryDTO;
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import com.codehacks.blog.subscription.repository.DailyCountRow;
+import com.codehacks.blog.subscription.repository.StatusCountRow;
+import com.codehacks.blog.subscription.repository.SubscriberRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Subscriber statistics computed by the database: counts come from one {@code GROUP BY status} query, cached
+ * briefly so a dashboard refreshing every few seconds does not repeat it, and listings read one page of summaries
+ * at a time instead of whole entities.
+ */
+@Service
+public class SubscriberStatisticsServiceImpl implements SubscriberStatisticsService {
+
+    private static final String COUNTS_KEY = "counts";
+
+    private final SubscriberRepository subscriberRepository;
+    private final Cache<String, SubscriberCountsDTO> counts;
+    private final Clock clock;
+
+    @Autowired
+    public SubscriberStatisticsServiceImpl(SubscriberRepository subscriberRepository,
+                                           @Value("${blog.subscription.statistics.counts-ttl:30s}")
+                                           Duration countsTtl) {
+        this(subscriberRepository, countsTtl, Clock.systemDefaultZone());
+    }
+
+    SubscriberStatisticsServiceImpl(SubscriberRepository subscriberRepository, Duration countsTtl, Clock clock) {
+        this.subscriberRepository = subscriberRepository;
+        this.counts = Caffeine.newBuilder().maximumSize(1).expireAfterWrite(countsTtl).build();
+        this.clock = clock;
+    }
+
+    @Override
+    public SubscriberCountsDTO getCounts() {
+        return counts.get(COUNTS_KEY, key -> countByStatus());
+    }
+
+    @Override
+    public List<DailySubscriberActivityDTO> getDailyActivity(int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Days must be positive");
+        }
+        LocalDate first = LocalDate.now(clock).minusDays(days - 1L);
+        long[] subscribed = perDay(subscriberRepository.countSubscribedPerDay(first.atStartOfDay()), first, days);
+        long[] unsubscribed = perDay(subscriberRepository.countUnsubscribedPerDay(first.atStartOfDay()), first, days);
+
+        List<DailySubscriberActivityDTO> activity = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            activity.add(new DailySubscriberActivityDTO(first.plusDays(i), subscribed[i], unsubscribed[i]));
+        }
+        return activity;
+    }
+
+    @Override
+    public SubscriberPageDTO getSubscribers(SubscriptionStatus status, int page, int size) {
+        List<SubscriberSummaryDTO> items = subscriberRepository.findSummariesByStatus(status,
+                PageRequest.of(page, size));
+        return new SubscriberPageDTO(items, page, size, getCounts().byStatus().get(status));
+    }
+
+    @Override
+    public Map<SubscriptionStatus, List<SubscriberSummaryDTO>> getSubscribersByStatus(int limit) {
+        Map<SubscriptionStatus, List<SubscriberSummaryDTO>> subscribers = new EnumMap<>(SubscriptionStatus.class);
+        getCounts().byStatus().forEach((status, count) -> {
+            if (count > 0) {
+                subscribers.put(status, subscriberRepository.findSummariesByStatus(status, PageRequest.of(0, limit)));
+            }
+        });
+        return subscribers;
+    }
+
+    private SubscriberCountsDTO countByStatus() {
+        Map<SubscriptionStatus, Long> byStatus = new EnumMap<>(SubscriptionStatus.class);
+        for (SubscriptionStatus status : SubscriptionStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        long total = 0;
+        for (StatusCountRow row : subscriberRepository.countByStatus()) {
+            byStatus.put(row.getStatus(), row.getTotal());
+            total += row.getTotal();
+        }
+        return new SubscriberCountsDTO(Collections.unmodifiableMap(byStatus), total);
+    }
+
+    private static long[] perDay(List<DailyCountRow> rows, LocalDate first, int days) {
+        long[] totals = new long[days];
+        for (DailyCountRow row : rows) {
+            long index = ChronoUnit.DAYS.between(first, row.getDay());
+            // Rows dated after today, from clock skew between nodes, are left out
+            if (index >= 0 && index < days) {
+                totals[(int) index] = row.getTotal();
+            }
+        }
+        return totals;
+    }
+}
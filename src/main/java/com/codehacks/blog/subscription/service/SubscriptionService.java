@@ -1,10 +1,10 @@
 package com.codehacks.blog.subscription.service;
 
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.subscription.dto.SubscriberContactDTO;
 import com.codehacks.blog.subscription.model.Subscriber;
-import com.codehacks.blog.subscription.model.SubscriptionStatus;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 public interface SubscriptionService {
@@ -17,7 +17,10 @@ public interface SubscriptionService {
 
     List<Subscriber> getActiveSubscribers();
 
-    Map<SubscriptionStatus, List<Subscriber>> getSubscribersByStatus();
+    /**
+     * Up to {@code limit} active subscribers after {@code cursor}, oldest first, with the cursor of the next page.
+     */
+    CursorPage<SubscriberContactDTO> getActiveSubscribers(int limit, String cursor);
 
     List<Subscriber> saveSubscribersList(List<Subscriber> subscriberList);
 
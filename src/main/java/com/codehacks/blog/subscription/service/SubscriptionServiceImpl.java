@@ -1,5 +1,8 @@
 package com.codehacks.blog.subscription.service;
 
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.subscription.dto.SubscriberContactDTO;
+import com.codehacks.blog.subscription.dto.SubscriberCursor;
 import com.codehacks.blog.subscription.exception.DuplicateSubscriptionException;
 import com.codehacks.blog.subscription.exception.SubscriberNotFoundException;
 import com.codehacks.blog.subscription.model.Subscriber;
@@ -7,13 +10,12 @@ import com.codehacks.blog.subscription.model.SubscriptionStatus;
 import com.codehacks.blog.subscription.repository.SubscriberRepository;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -57,20 +59,28 @@ public class SubscriptionServiceImpl implements SubscriptionService {
         return subscriberRepository.findByStatus(SubscriptionStatus.ACTIVE);
     }
 
+    @Override
+    public CursorPage<SubscriberContactDTO> getActiveSubscribers(int limit, String cursor) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        SubscriberCursor after = SubscriberCursor.decode(cursor);
+
+        List<SubscriberContactDTO> subscribers = subscriberRepository
+                .findContactsAfter(SubscriptionStatus.ACTIVE, after == null ? 0 : after.id(),
+                        PageRequest.of(0, limit + 1))
+                .stream()
+                .map(SubscriberContactDTO::from)
+                .toList();
+        return CursorPage.fromWindow(subscribers, limit, SubscriberCursor::encodeAfter);
+    }
+
     private void updateStatus(Subscriber subscriber, SubscriptionStatus status) {
         subscriber.setStatus(status);
         subscriber.setUnsubscribedAt(LocalDateTime.now());
         subscriberRepository.save(subscriber);
     }
 
-    @Override
-    public Map<SubscriptionStatus, List<Subscriber>> getSubscribersByStatus() {
-        List<Subscriber> subscriberList = subscriberRepository.findAll();
-
-        return subscriberList.stream()
-                .collect(Collectors.groupingBy(Subscriber::getStatus));
-    }
-
     @Override
     public List<Subscriber> saveSubscribersList(List<Subscriber> subscriberList) {
         return subscriberRepository.saveAll(subscriberList);
@@ -0,0 +1,29 @@
+package com.codehacks.blog.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
+
+/**
+ * Overrides the async request timeout for a single handler invocation, so long-running responses such as
+ * streamed exports do not need a global {@code spring.mvc.async.request-timeout} that also covers every
+ * other async endpoint.
+ */
+public final class AsyncRequestTimeouts {
+
+    private AsyncRequestTimeouts() {
+    }
+
+    /**
+     * Applies {@code timeout} to the async processing the current handler is about to start. Must be called
+     * from the handler method, before it returns its async result.
+     */
+    public static void override(HttpServletRequest request, Duration timeout) {
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncWebRequest != null) {
+            asyncWebRequest.setTimeout(timeout.toMillis());
+        }
+    }
+}
@@ -14,6 +14,7 @@ public final class Constants {
     public static final int MIN_TITLE_LENGTH = 10;
     public static final int MAX_TITLE_LENGTH = 150;
     public static final int MAX_CONTENT_LENGTH = 100000;
+    public static final int POST_DETAIL_COMMENT_LIMIT = 20;
 
     public static final String POST_NOT_FOUND = "Post not found with id: ";
 }
@@ -0,0 +1,68 @@
+package com.codehacks.blog.util;
+
+/**
+ * Counts words and finds word and paragraph boundaries in a single pass over a {@link CharSequence},
+ * without splitting it into intermediate strings. Words are runs of characters other than the ones
+ * matched by the regex {@code \s}, so counts agree with {@code text.trim().split("\\s+")}.
+ */
+public final class WordScanner {
+
+    private static final String PARAGRAPH_BREAK = "\n\n";
+
+    private WordScanner() {
+    }
+
+    /**
+     * Result of a scan: the number of words in the text and the offset just past its
+     * {@code wordLimit}-th word, or the text length when it has fewer words.
+     */
+    public record WordScan(int wordCount, int cutOffset) {
+    }
+
+    public static WordScan scan(CharSequence text, int wordLimit) {
+        int length = text.length();
+        int words = 0;
+        int cutOffset = wordLimit > 0 ? length : 0;
+        boolean inWord = false;
+
+        for (int i = 0; i < length; i++) {
+            if (isWhitespace(text.charAt(i))) {
+                if (inWord) {
+                    inWord = false;
+                    if (++words == wordLimit) {
+                        cutOffset = i;
+                    }
+                }
+            } else {
+                inWord = true;
+            }
+        }
+        if (inWord && ++words == wordLimit) {
+            cutOffset = length;
+        }
+        return new WordScan(words, cutOffset);
+    }
+
+    public static int countWords(CharSequence text) {
+        return scan(text, 0).wordCount();
+    }
+
+    /**
+     * Returns the offset where the given number of leading paragraphs end, i.e. the start of the
+     * next {@code "\n\n"} break, or the text length when there are no more breaks.
+     */
+    public static int paragraphsEnd(String text, int paragraphs) {
+        int end = -PARAGRAPH_BREAK.length();
+        for (int i = 0; i < paragraphs; i++) {
+            end = text.indexOf(PARAGRAPH_BREAK, end + PARAGRAPH_BREAK.length());
+            if (end < 0) {
+                return text.length();
+            }
+        }
+        return Math.max(end, 0);
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+}
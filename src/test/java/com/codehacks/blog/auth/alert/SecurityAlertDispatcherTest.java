@@ -0,0 +1,163 @@
+package com.codehacks.blog.auth.alert;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class SecurityAlertDispatcherTest {
+
+    private static final String SECURITY_TEAM = "security@example.com";
+    private static final LocalDateTime TIME = LocalDateTime.parse("2024-01-01T10:15:30");
+
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SecurityAlertDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.destroy();
+    }
+
+    @Test
+    void dispatch_ShouldSendFirstAlertAtOnceAndRepeatsAsOneDigest() {
+        // Given
+        dispatcher = new SecurityAlertDispatcher(mailSender, meterRegistry, 2, 10, Duration.ofMillis(300), 100);
+
+        // When
+        dispatcher.dispatch(alert("admin@example.com", "203.0.113.9", TIME));
+        dispatcher.dispatch(alert("admin@example.com", "203.0.113.9", TIME.plusSeconds(1)));
+        dispatcher.dispatch(alert("admin@example.com", "203.0.113.9", TIME.plusSeconds(2)));
+
+        // Then
+        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        verify(mailSender, timeout(5_000).times(2)).send(captor.capture());
+        List<SimpleMailMessage> messages = captor.getAllValues();
+        assertAll(
+                () -> assertEquals("Unusual Admin Login Detected", messages.get(0).getSubject()),
+                () -> assertEquals("Repeated Unusual Admin Logins Detected", messages.get(1).getSubject()),
+                () -> assertTrue(messages.get(1).getText().contains("Further attempts: 2")),
+                () -> assertTrue(messages.get(1).getText().contains("Last seen: " + TIME.plusSeconds(2))),
+                () -> assertEquals(SECURITY_TEAM, messages.get(1).getTo()[0]),
+                () -> assertEquals(2.0, count("coalesced"))
+        );
+    }
+
+    @Test
+    void dispatch_WhenIpAddressesDiffer_ShouldSendEachAlert() {
+        // Given
+        dispatcher = new SecurityAlertDispatcher(mailSender, meterRegistry, 2, 10, Duration.ofMinutes(5), 100);
+
+        // When
+        dispatcher.dispatch(alert("admin@example.com", "203.0.113.9", TIME));
+        dispatcher.dispatch(alert("admin@example.com", "198.51.100.7", TIME));
+
+        // Then
+        verify(mailSender, timeout(5_000).times(2)).send(any(SimpleMailMessage.class));
+        assertEquals(0.0, count("coalesced"));
+    }
+
+    @Test
+    void dispatch_WhenMailServerFails_ShouldRecordFailure() {
+        // Given
+        dispatcher = new SecurityAlertDispatcher(mailSender, meterRegistry, 1, 10, Duration.ofMinutes(5), 100);
+        doThrow(new MailSendException("Connection refused")).when(mailSender).send(any(SimpleMailMessage.class));
+
+        // When
+        dispatcher.dispatch(alert("admin@example.com", "203.0.113.9", TIME));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> sendCount("failed") == 1);
+        assertEquals(0, sendCount("sent"));
+    }
+
+    @Test
+    void dispatch_WhenSenderThrowsUnexpectedly_ShouldRecordFailureAndKeepSending() {
+        // Given
+        dispatcher = new SecurityAlertDispatcher(mailSender, meterRegistry, 1, 10, Duration.ofMinutes(5), 100);
+        doThrow(new IllegalStateException("Mail session closed"))
+                .doNothing()
+                .when(mailSender).send(any(SimpleMailMessage.class));
+
+        // When
+        dispatcher.dispatch(alert("admin@example.com", "203.0.113.9", TIME));
+        dispatcher.dispatch(alert("admin@example.com", "198.51.100.7", TIME));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> sendCount("sent") == 1);
+        assertEquals(1, sendCount("failed"));
+    }
+
+    @Test
+    void dispatch_WhenManyAddressesAlert_ShouldBoundOpenWindows() {
+        // Given
+        dispatcher = new SecurityAlertDispatcher(mailSender, meterRegistry, 2, 100, Duration.ofMinutes(5), 10);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            dispatcher.dispatch(alert("admin@example.com", "203.0.113." + i, TIME));
+        }
+
+        // Then
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> meterRegistry.get("blog.security.alerts.windows.open").gauge().value() <= 10);
+        verify(mailSender, timeout(5_000).times(50)).send(any(SimpleMailMessage.class));
+    }
+
+    @Test
+    void dispatch_WhenQueueFull_ShouldDropAlertWithoutWaiting() throws InterruptedException {
+        // Given
+        CountDownLatch senderStarted = new CountDownLatch(1);
+        CountDownLatch senderReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            senderStarted.countDown();
+            assertTrue(senderReleased.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(mailSender).send(any(SimpleMailMessage.class));
+        dispatcher = new SecurityAlertDispatcher(mailSender, meterRegistry, 1, 1, Duration.ofMinutes(5), 100);
+        dispatcher.dispatch(alert("first@example.com", "203.0.113.9", TIME));
+        assertTrue(senderStarted.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(alert("queued@example.com", "203.0.113.9", TIME));
+
+        // When
+        dispatcher.dispatch(alert("dropped@example.com", "203.0.113.9", TIME));
+
+        // Then
+        assertEquals(1.0, count("dropped"));
+        senderReleased.countDown();
+        verify(mailSender, timeout(5_000).times(2)).send(any(SimpleMailMessage.class));
+    }
+
+    private static SecurityAlert alert(String email, String ipAddress, LocalDateTime timestamp) {
+        return new SecurityAlert(SECURITY_TEAM, email, ipAddress, timestamp);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("blog.security.alerts").tag("outcome", outcome).counter().count();
+    }
+
+    private long sendCount(String outcome) {
+        return meterRegistry.get("blog.security.alerts.send").tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,138 @@
+package com.codehacks.blog.auth.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisListCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdminAuditLogTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.parse("2024-01-01T10:15:30.123");
+
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final RedisConnection connection = mock(RedisConnection.class);
+    private final RedisListCommands listCommands = mock(RedisListCommands.class);
+    private final RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch writerReleased = new CountDownLatch(1);
+    private AdminAuditLog auditLog;
+
+    @BeforeEach
+    void setUp() {
+        when(connection.listCommands()).thenReturn(listCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        // The writer holds its first batch until the test releases it, so later events queue up behind it
+        when(redisTemplate.executePipelined(isA(RedisCallback.class))).thenAnswer(invocation -> {
+            assertTrue(writerReleased.await(5, TimeUnit.SECONDS));
+            invocation.getArgument(0, RedisCallback.class).doInRedis(connection);
+            return List.of();
+        });
+        auditLog = new AdminAuditLog(new RedisAdminAuditSink(redisTemplate, 3), meterRegistry, 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writerReleased.countDown();
+        auditLog.destroy();
+    }
+
+    @Test
+    void record_ShouldWriteQueuedEventsOfAnAdminInOneCappedPush() {
+        // Given
+        auditLog.record(event("first@example.com", "10.0.0.1"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> queueSize() == 0);
+        auditLog.record(event("admin@example.com", "10.0.0.2"));
+        auditLog.record(event("admin@example.com", "10.0.0.3"));
+
+        // When
+        writerReleased.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> eventCount("written") == 3);
+
+        // Then
+        byte[] key = bytes("admin:access:admin@example.com");
+        verify(listCommands).rPush(aryEq(key),
+                aryEq(bytes("IP: 10.0.0.2, Time: 2024-01-01T10:15:30.123")),
+                aryEq(bytes("IP: 10.0.0.3, Time: 2024-01-01T10:15:30.123")));
+        verify(listCommands).lTrim(key, -3, -1);
+        verify(keyCommands).expire(key, Duration.ofDays(7).toSeconds());
+    }
+
+    @Test
+    void record_WhenQueueFull_ShouldDropAndCountEvent() {
+        // Given
+        auditLog.record(event("first@example.com", "10.0.0.1"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> queueSize() == 0);
+        auditLog.record(event("admin@example.com", "10.0.0.2"));
+        auditLog.record(event("admin@example.com", "10.0.0.3"));
+
+        // When
+        boolean queued = auditLog.record(event("admin@example.com", "10.0.0.4"));
+
+        // Then
+        assertAll(
+                () -> assertFalse(queued),
+                () -> assertEquals(1.0, meterRegistry.get("blog.admin.audit.events")
+                        .tag("outcome", "dropped").counter().count()),
+                () -> assertEquals(2, queueSize())
+        );
+    }
+
+    @Test
+    void record_WhenRedisFails_ShouldCountFailedEventsAndKeepWriting() {
+        // Given
+        writerReleased.countDown();
+        doThrow(new RedisConnectionFailureException("down"))
+                .doReturn(List.of())
+                .when(redisTemplate).executePipelined(isA(RedisCallback.class));
+
+        // When
+        auditLog.record(event("admin@example.com", "10.0.0.1"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> eventCount("failed") == 1);
+        auditLog.record(event("admin@example.com", "10.0.0.2"));
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(() -> eventCount("written") == 1);
+    }
+
+    private static AdminAccessEvent event(String email, String ipAddress) {
+        return new AdminAccessEvent(AdminAccessEvent.Kind.ACCESS, email, ipAddress, TIME);
+    }
+
+    private double eventCount(String outcome) {
+        return meterRegistry.get("blog.admin.audit.events").tag("outcome", outcome).counter().count();
+    }
+
+    private double queueSize() {
+        return meterRegistry.get("blog.admin.audit.queue.size").gauge().value();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,82 @@
+package com.codehacks.blog.auth.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver = new ClientAddressResolver(List.of("10.0.0.0/8", "192.168.1.1"));
+
+    @Test
+    void resolve_WhenNoForwardedHeader_ShouldReturnRemoteAddress() {
+        // Given
+        MockHttpServletRequest request = request("203.0.113.7", null);
+
+        // When
+        String client = resolver.resolve(request);
+
+        // Then
+        assertEquals("203.0.113.7", client);
+    }
+
+    @Test
+    void resolve_WhenUntrustedPeerSendsForwardedHeader_ShouldIgnoreIt() {
+        // Given
+        MockHttpServletRequest request = request("203.0.113.7", "198.51.100.1");
+
+        // When
+        String client = resolver.resolve(request);
+
+        // Then
+        assertEquals("203.0.113.7", client);
+    }
+
+    @Test
+    void resolve_WhenTrustedProxyForwards_ShouldReturnRightMostUntrustedHop() {
+        // Given: the client spoofed a first hop, then went through two of our proxies
+        MockHttpServletRequest request = request("10.1.2.3", "1.1.1.1, 198.51.100.1, 192.168.1.1");
+
+        // When
+        String client = resolver.resolve(request);
+
+        // Then
+        assertEquals("198.51.100.1", client);
+    }
+
+    @Test
+    void resolve_WhenEveryHopIsTrusted_ShouldReturnLeftMostHop() {
+        // Given
+        MockHttpServletRequest request = request("10.1.2.3", "10.9.9.9, 192.168.1.1");
+
+        // When
+        String client = resolver.resolve(request);
+
+        // Then
+        assertEquals("10.9.9.9", client);
+    }
+
+    @Test
+    void resolve_WhenHopIsHostName_ShouldTreatItAsUntrusted() {
+        // Given
+        MockHttpServletRequest request = request("10.1.2.3", "proxy.internal");
+
+        // When
+        String client = resolver.resolve(request);
+
+        // Then
+        assertEquals("proxy.internal", client);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        if (forwardedFor != null) {
+            request.addHeader(ClientAddressResolver.FORWARDED_FOR, forwardedFor);
+        }
+        return request;
+    }
+}
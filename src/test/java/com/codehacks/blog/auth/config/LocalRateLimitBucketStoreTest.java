@@ -0,0 +1,140 @@
+package com.codehacks.blog.auth.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalRateLimitBucketStoreTest {
+
+    private static final RateLimitPolicy TWO_PER_MINUTE = new RateLimitPolicy(2, Duration.ofMinutes(1));
+
+    private final MutableClock clock = new MutableClock();
+    private final LocalRateLimitBucketStore store = new LocalRateLimitBucketStore(1_000, clock);
+
+    @Test
+    void tryConsume_WhenBucketEmpty_ShouldRejectUntilWindowEnds() {
+        // Given
+        store.tryConsume("k", TWO_PER_MINUTE);
+        RateLimitDecision last = store.tryConsume("k", TWO_PER_MINUTE);
+
+        // When
+        clock.advance(Duration.ofSeconds(20));
+        RateLimitDecision rejected = store.tryConsume("k", TWO_PER_MINUTE);
+        clock.advance(Duration.ofSeconds(40));
+        RateLimitDecision refilled = store.tryConsume("k", TWO_PER_MINUTE);
+
+        // Then
+        assertAll(
+                () -> assertTrue(last.allowed()),
+                () -> assertEquals(0, last.remaining()),
+                () -> assertFalse(rejected.allowed()),
+                () -> assertEquals(Duration.ofSeconds(40), rejected.resetAfter()),
+                () -> assertTrue(refilled.allowed()),
+                () -> assertEquals(1, refilled.remaining())
+        );
+    }
+
+    @Test
+    void tryConsume_WhenKeysDiffer_ShouldUseSeparateBuckets() {
+        // Given
+        store.tryConsume("a", TWO_PER_MINUTE);
+        store.tryConsume("a", TWO_PER_MINUTE);
+
+        // When
+        RateLimitDecision other = store.tryConsume("b", TWO_PER_MINUTE);
+
+        // Then
+        assertAll(
+                () -> assertFalse(store.tryConsume("a", TWO_PER_MINUTE).allowed()),
+                () -> assertTrue(other.allowed())
+        );
+    }
+
+    @Test
+    void tryConsume_WhenCalledConcurrently_ShouldNeverExceedCapacity() throws InterruptedException {
+        // Given
+        RateLimitPolicy policy = new RateLimitPolicy(100, Duration.ofMinutes(1));
+        LocalRateLimitBucketStore realTimeStore = new LocalRateLimitBucketStore(1_000, Clock.systemUTC());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (realTimeStore.tryConsume("hot", policy).allowed()) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(100, allowed.get());
+    }
+
+    @Test
+    void size_WhenBucketsIdleForAWindow_ShouldEvictThem() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            store.tryConsume("client-" + i, TWO_PER_MINUTE);
+        }
+        clock.advance(Duration.ofSeconds(30));
+        long beforeWindowEnds = store.size();
+
+        // When
+        clock.advance(Duration.ofMinutes(2));
+
+        // Then
+        assertAll(
+                () -> assertEquals(10, beforeWindowEnds),
+                () -> assertEquals(0, store.size())
+        );
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
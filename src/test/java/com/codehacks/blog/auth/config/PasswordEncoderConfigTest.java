@@ -0,0 +1,85 @@
+package com.codehacks.blog.auth.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordEncoderConfigTest {
+
+    private final PasswordEncoder encoder = PasswordEncoderConfig.delegatingPasswordEncoder(5);
+
+    @Test
+    void encode_ShouldPrefixBcryptHashAtConfiguredStrength() {
+        // When
+        String hash = encoder.encode("Secret@123");
+
+        // Then
+        assertAll(
+                () -> assertTrue(hash.startsWith("{bcrypt}$2a$05$")),
+                () -> assertTrue(encoder.matches("Secret@123", hash)),
+                () -> assertFalse(encoder.upgradeEncoding(hash))
+        );
+    }
+
+    @Test
+    void matches_WhenLegacyUnprefixedHash_ShouldVerifyAndAskForUpgrade() {
+        // Given
+        String legacyHash = new BCryptPasswordEncoder(4).encode("Secret@123");
+
+        // Then
+        assertAll(
+                () -> assertTrue(encoder.matches("Secret@123", legacyHash)),
+                () -> assertFalse(encoder.matches("Wrong@123", legacyHash)),
+                () -> assertTrue(encoder.upgradeEncoding(legacyHash))
+        );
+    }
+
+    @Test
+    void upgradeEncoding_WhenPrefixedHashIsWeaker_ShouldAskForUpgrade() {
+        // Given
+        String weakerHash = PasswordEncoderConfig.delegatingPasswordEncoder(4).encode("Secret@123");
+
+        // Then
+        assertAll(
+                () -> assertTrue(encoder.matches("Secret@123", weakerHash)),
+                () -> assertTrue(encoder.upgradeEncoding(weakerHash))
+        );
+    }
+
+    @Test
+    void calibrate_ShouldPickHighestStrengthWithinTarget() {
+        // Given: 1 ms at strength 4, doubling with every step
+        Duration target = Duration.ofMillis(250);
+
+        // When
+        int strength = BcryptStrengthCalibrator.calibrate(4, target, s -> Duration.ofMillis(1L << (s - 4)));
+
+        // Then: 2^7 = 128 ms fits, 256 ms does not
+        assertEquals(11, strength);
+    }
+
+    @Test
+    void calibrate_WhenFloorIsTooSlow_ShouldKeepFloor() {
+        // When
+        int strength = BcryptStrengthCalibrator.calibrate(12, Duration.ofMillis(10), s -> Duration.ofSeconds(1));
+
+        // Then
+        assertEquals(12, strength);
+    }
+
+    @Test
+    void calibrate_WhenHostIsVeryFast_ShouldStopAtMaximum() {
+        // When
+        int strength = BcryptStrengthCalibrator.calibrate(10, Duration.ofSeconds(1), s -> Duration.ZERO);
+
+        // Then
+        assertEquals(BcryptStrengthCalibrator.MAX_STRENGTH, strength);
+    }
+}
@@ -0,0 +1,57 @@
+package com.codehacks.blog.auth.config;
+
+import com.codehacks.blog.util.Constants;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PublicPathsTest {
+
+    private final PublicPaths publicPaths = new PublicPaths();
+
+    @Test
+    void shouldSkipAuthenticationForAnonymousEndpoints() {
+        // When & Then
+        assertAll(
+                () -> assertTrue(publicPaths.skipsAuthentication("POST", Constants.AUTH_PATH + "/login")),
+                () -> assertTrue(publicPaths.skipsAuthentication("POST", Constants.AUTH_PATH + "/register")),
+                () -> assertTrue(publicPaths.skipsAuthentication("POST", Constants.SUBSCRIPTION_PATH + "/subscribe")),
+                () -> assertTrue(publicPaths.skipsAuthentication("GET", Constants.BLOG_PATH + "/previews")),
+                () -> assertTrue(publicPaths.skipsAuthentication("GET", "/swagger-ui/index.html")),
+                () -> assertTrue(publicPaths.skipsAuthentication("GET", "/v3/api-docs/swagger-config"))
+        );
+    }
+
+    @Test
+    void shouldAuthenticateEverythingElse() {
+        // When & Then
+        assertAll(
+                () -> assertFalse(publicPaths.skipsAuthentication("GET", Constants.AUTH_PATH + "/login")),
+                () -> assertFalse(publicPaths.skipsAuthentication("POST", Constants.AUTH_PATH + "/logout")),
+                () -> assertFalse(publicPaths.skipsAuthentication("DELETE", Constants.BLOG_PATH + "/previews")),
+                () -> assertFalse(publicPaths.skipsAuthentication("GET", Constants.BLOG_PATH + "/all")),
+                () -> assertFalse(publicPaths.skipsAuthentication("GET", Constants.SUBSCRIPTION_PATH + "/active"))
+        );
+    }
+
+    @Test
+    void shouldPermitWholeAuthPathButOnlySkipLoginAndRegistration() {
+        // When & Then
+        assertTrue(publicPaths.rules().stream()
+                .anyMatch(rule -> rule.method() == null && rule.pattern().equals(Constants.AUTH_PATH + "/**")));
+        assertFalse(publicPaths.skipsAuthentication("PUT", Constants.AUTH_PATH + "/change-role"));
+    }
+
+    @Test
+    void shouldIgnoreContextPath() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/blog" + Constants.AUTH_PATH + "/login");
+        request.setContextPath("/blog");
+
+        // When & Then
+        assertTrue(publicPaths.skipsAuthentication(request));
+    }
+}
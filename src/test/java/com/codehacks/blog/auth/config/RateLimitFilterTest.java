@@ -0,0 +1,147 @@
+package com.codehacks.blog.auth.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(
+            List.of(
+                    new RateLimitFilterProperties.Route("POST", "/api/v1/auth/login", 2, Duration.ofMinutes(1)),
+                    new RateLimitFilterProperties.Route(null, "/api/v1/subscriptions/*", 1, Duration.ofMinutes(1))
+            ),
+            new ClientAddressResolver(List.of()),
+            new LocalRateLimitBucketStore(1_000, Clock.systemUTC()));
+
+    @Test
+    void doFilter_WhenUnderLimit_ShouldProceedWithRateLimitHeaders() throws Exception {
+        // Given
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = perform("POST", "/api/v1/auth/login", "203.0.113.1", chain);
+
+        // Then
+        assertAll(
+                () -> assertNotNull(chain.getRequest()),
+                () -> assertEquals(HttpStatus.OK.value(), response.getStatus()),
+                () -> assertEquals("2", response.getHeader(RateLimitFilter.LIMIT_HEADER)),
+                () -> assertEquals("1", response.getHeader(RateLimitFilter.REMAINING_HEADER)),
+                () -> assertEquals("60", response.getHeader(RateLimitFilter.RESET_HEADER)),
+                () -> assertNull(response.getHeader(HttpHeaders.RETRY_AFTER))
+        );
+    }
+
+    @Test
+    void doFilter_WhenOverLimit_ShouldRejectWithoutCallingChain() throws Exception {
+        // Given
+        perform("POST", "/api/v1/auth/login", "203.0.113.1", new MockFilterChain());
+        perform("POST", "/api/v1/auth/login", "203.0.113.1", new MockFilterChain());
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = perform("POST", "/api/v1/auth/login", "203.0.113.1", chain);
+
+        // Then
+        assertAll(
+                () -> assertNull(chain.getRequest()),
+                () -> assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus()),
+                () -> assertEquals("0", response.getHeader(RateLimitFilter.REMAINING_HEADER)),
+                () -> assertEquals("60", response.getHeader(HttpHeaders.RETRY_AFTER)),
+                () -> assertEquals("{\"error\": \"Too many requests\"}", response.getContentAsString())
+        );
+    }
+
+    @Test
+    void doFilter_WhenClientsDiffer_ShouldLimitEachSeparately() throws Exception {
+        // Given
+        perform("PUT", "/api/v1/subscriptions/subscribe", "203.0.113.1", new MockFilterChain());
+
+        // When
+        MockHttpServletResponse sameClient = perform("POST", "/api/v1/subscriptions/resubscribe", "203.0.113.1",
+                new MockFilterChain());
+        MockHttpServletResponse otherClient = perform("POST", "/api/v1/subscriptions/subscribe", "203.0.113.2",
+                new MockFilterChain());
+
+        // Then
+        assertAll(
+                () -> assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), sameClient.getStatus()),
+                () -> assertEquals(HttpStatus.OK.value(), otherClient.getStatus())
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/v1/auth/%6Cogin",
+            "/api/v1/auth/login;jsessionid=1",
+            "/api//v1/auth/login",
+            "/api/v1/posts/../auth/login"
+    })
+    void doFilter_WhenLiteralRouteIsObfuscated_ShouldStillLimit(String path) throws Exception {
+        // Given
+        perform("POST", "/api/v1/auth/login", "203.0.113.1", new MockFilterChain());
+        perform("POST", "/api/v1/auth/login", "203.0.113.1", new MockFilterChain());
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = perform("POST", path, "203.0.113.1", chain);
+
+        // Then
+        assertAll(
+                () -> assertNull(chain.getRequest()),
+                () -> assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus())
+        );
+    }
+
+    @Test
+    void doFilter_WhenPatternRouteIsEncoded_ShouldStillLimit() throws Exception {
+        // Given
+        perform("POST", "/api/v1/subscriptions/subscribe", "203.0.113.1", new MockFilterChain());
+
+        // When
+        MockHttpServletResponse response = perform("POST", "/api/v1/%73ubscriptions/subscribe", "203.0.113.1",
+                new MockFilterChain());
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+    }
+
+    @Test
+    void doFilter_WhenNoRouteMatches_ShouldPassWithoutHeaders() throws Exception {
+        // Given
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = perform("GET", "/api/v1/auth/login", "203.0.113.1", chain);
+
+        // Then
+        assertAll(
+                () -> assertNotNull(chain.getRequest()),
+                () -> assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER))
+        );
+    }
+
+    private MockHttpServletResponse perform(String method, String path, String remoteAddress, MockFilterChain chain)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(remoteAddress);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
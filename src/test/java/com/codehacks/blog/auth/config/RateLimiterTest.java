@@ -6,16 +6,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.server.ResponseStatusException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -28,7 +37,8 @@ class RateLimiterTest {
 
     @BeforeEach
     void setUp() {
-        rateLimiter = new RateLimiter();
+        rateLimiter = new RateLimiter(new ClientAddressResolver(List.of()),
+                new LocalRateLimitBucketStore(1_000, Clock.systemUTC()));
         joinPoint = mock(ProceedingJoinPoint.class);
         Signature signature = mock(Signature.class);
         rateLimit = mock(RateLimit.class);
@@ -37,6 +47,12 @@ class RateLimiterTest {
         when(signature.toShortString()).thenReturn("testMethod");
     }
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void whenUnderRateLimit_shouldProceed() throws Throwable {
         // Given
@@ -141,4 +157,81 @@ class RateLimiterTest {
         // Then
         assertEquals(expectedException, actualException);
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenKeyedByClientIp_shouldTrackEachClientSeparately() throws Throwable {
+        // Given
+        givenOnePerMinute(RateLimit.KeyStrategy.CLIENT_IP);
+        bindRequest("203.0.113.1", null);
+        rateLimiter.enforceRateLimit(joinPoint, rateLimit);
+
+        // When
+        bindRequest("203.0.113.2", null);
+
+        // Then
+        assertDoesNotThrow(() -> rateLimiter.enforceRateLimit(joinPoint, rateLimit));
+        assertThrows(ResponseStatusException.class, () -> rateLimiter.enforceRateLimit(joinPoint, rateLimit));
+    }
+
+    @Test
+    void whenKeyedGlobally_shouldShareOneBucketAcrossClients() throws Throwable {
+        // Given
+        givenOnePerMinute(RateLimit.KeyStrategy.GLOBAL);
+        bindRequest("203.0.113.1", null);
+        rateLimiter.enforceRateLimit(joinPoint, rateLimit);
+
+        // When
+        bindRequest("203.0.113.2", null);
+
+        // Then
+        assertThrows(ResponseStatusException.class, () -> rateLimiter.enforceRateLimit(joinPoint, rateLimit));
+    }
+
+    @Test
+    void whenKeyedByUser_shouldFollowTheUserAcrossAddresses() throws Throwable {
+        // Given
+        givenOnePerMinute(RateLimit.KeyStrategy.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice@example.com", null, List.of()));
+        bindRequest("203.0.113.1", null);
+        rateLimiter.enforceRateLimit(joinPoint, rateLimit);
+
+        // When
+        bindRequest("203.0.113.2", null);
+
+        // Then
+        assertThrows(ResponseStatusException.class, () -> rateLimiter.enforceRateLimit(joinPoint, rateLimit));
+    }
+
+    @Test
+    void whenKeyedByApiKey_shouldTrackEachKeySeparately() throws Throwable {
+        // Given
+        givenOnePerMinute(RateLimit.KeyStrategy.API_KEY);
+        when(rateLimit.apiKeyHeader()).thenReturn("X-API-Key");
+        bindRequest("203.0.113.1", "key-one");
+        rateLimiter.enforceRateLimit(joinPoint, rateLimit);
+
+        // When
+        bindRequest("203.0.113.1", "key-two");
+
+        // Then
+        assertDoesNotThrow(() -> rateLimiter.enforceRateLimit(joinPoint, rateLimit));
+        bindRequest("203.0.113.9", "key-one");
+        assertThrows(ResponseStatusException.class, () -> rateLimiter.enforceRateLimit(joinPoint, rateLimit));
+    }
+
+    private void givenOnePerMinute(RateLimit.KeyStrategy strategy) {
+        when(rateLimit.maxRequests()).thenReturn(1);
+        when(rateLimit.timeWindowMinutes()).thenReturn(1);
+        when(rateLimit.key()).thenReturn(strategy);
+    }
+
+    private static void bindRequest(String remoteAddress, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
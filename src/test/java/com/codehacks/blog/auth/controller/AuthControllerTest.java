@@ -1,5 +1,6 @@
 package com.codehacks.blog.auth.controller;
 
+import com.codehacks.blog.auth.config.PasswordHashingExecutor;
 import com.codehacks.blog.auth.dto.LoginRequest;
 import com.codehacks.blog.auth.dto.PasswordChangeRequest;
 import com.codehacks.blog.auth.dto.RegisterRequest;
@@ -11,25 +12,29 @@ import com.codehacks.blog.auth.model.User;
 import com.codehacks.blog.auth.service.AuthService;
 import com.codehacks.blog.util.Constants;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -38,12 +43,15 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,11 +67,13 @@ class AuthControllerTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
-    @InjectMocks
+    private final PasswordHashingExecutor passwordHashingExecutor = new PasswordHashingExecutor(new SimpleMeterRegistry(), 1, 10);
+
     private AuthController authController;
 
     @BeforeEach
     void setUp() {
+        authController = new AuthController(authService, authenticationManager, passwordHashingExecutor);
         mockMvc = MockMvcBuilders
                 .standaloneSetup(authController)
                 .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
@@ -73,6 +83,7 @@ class AuthControllerTest {
     @AfterEach
     void tearDown() {
         SecurityContextHolder.clearContext();
+        passwordHashingExecutor.destroy();
     }
 
     @Test
@@ -107,9 +118,13 @@ class AuthControllerTest {
         when(authenticationManager.authenticate(any())).thenReturn(authentication);
         when(authService.authenticate(userDetails)).thenReturn("mockToken");
 
-        mockMvc.perform(post(Constants.AUTH_PATH + "/login")
+        MvcResult result = mockMvc.perform(post(Constants.AUTH_PATH + "/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Login successful"))
@@ -118,6 +133,46 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.data.role").value("ADMIN"));
     }
 
+    @Test
+    void testLogin_BadCredentials() throws Exception {
+        LoginRequest loginRequest = new LoginRequest("user@example.com", "Wrong@123");
+
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        MvcResult result = mockMvc.perform(post(Constants.AUTH_PATH + "/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Invalid email or password"));
+        verify(authService, never()).authenticate(any());
+    }
+
+    @Test
+    void testLogin_HashingQueueFull() throws Exception {
+        LoginRequest loginRequest = new LoginRequest("user@example.com", "Test@123");
+        PasswordHashingExecutor saturated = mock(PasswordHashingExecutor.class);
+        when(saturated.submit(any())).thenThrow(new RejectedExecutionException("queue full"));
+        MockMvc saturatedMvc = MockMvcBuilders
+                .standaloneSetup(new AuthController(authService, authenticationManager, saturated))
+                .build();
+
+        MvcResult result = saturatedMvc.perform(post(Constants.AUTH_PATH + "/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn();
+
+        saturatedMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.success").value(false));
+        verify(authenticationManager, never()).authenticate(any());
+    }
+
     @Test
     @WithMockUser(roles = "SUBSCRIBER")
     void testChangePassword_Success() throws Exception {
@@ -13,6 +13,7 @@ import com.codehacks.blog.util.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.security.core.GrantedAuthority;
@@ -25,14 +26,17 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,6 +63,9 @@ class AuthServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
     private User user;
 
     private BCryptPasswordEncoder passwordEncoder;
@@ -87,40 +94,87 @@ class AuthServiceTest {
         User user = new User(1L, "username", "encodedPassword", email, role, true, LocalDateTime.now(), LocalDateTime.now());
 
         when(userRepository.findByUsername("username")).thenReturn(Optional.of(user));
-        when(tokenService.generateToken(user)).thenReturn("generatedToken");
+        when(tokenService.getOrCreateToken(user)).thenReturn("generatedToken");
 
         // When
         String result = authService.authenticate(userDetails);
 
         // Then
         assertEquals("generatedToken", result);
-        verify(userRepository, times(2)).findByUsername(user.getUsername());
-        verify(tokenService, times(1)).generateToken(user);
+        verify(userRepository, times(1)).findByUsername(user.getUsername());
+        verify(tokenService, times(1)).getOrCreateToken(user);
     }
 
-
     @Test
-    void testAuthenticateWhenUserNotFound() {
+    void testAuthenticateWhenPrincipalHasId_ShouldIssueTokenWithoutLookup() {
         // Given
-        String email = "user@example.com";
-        Role role = Role.USER;
-        Collection<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        CustomUserDetails userDetails = new CustomUserDetails(7L, "username", "encodedPassword",
+                "user@example.com", Role.AUTHOR, List.of(new SimpleGrantedAuthority("ROLE_AUTHOR")), true);
+        when(tokenService.getOrCreateToken(any(User.class))).thenReturn("generatedToken");
 
-        CustomUserDetails userDetails = new CustomUserDetails(
-                "username", "encodedPassword", email, role, authorities, true
+        // When
+        String result = authService.authenticate(userDetails);
+
+        // Then
+        ArgumentCaptor<User> subject = ArgumentCaptor.forClass(User.class);
+        verify(tokenService).getOrCreateToken(subject.capture());
+        assertAll(
+                () -> assertEquals("generatedToken", result),
+                () -> assertEquals(7L, subject.getValue().getId()),
+                () -> assertEquals("username", subject.getValue().getUsername()),
+                () -> assertEquals("user@example.com", subject.getValue().getEmail()),
+                () -> assertEquals(Role.AUTHOR, subject.getValue().getRole())
         );
+        verifyNoInteractions(userRepository);
+    }
 
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+    @Test
+    void revokeSessions_ShouldEndSessionsOfEveryUserWithRole() {
+        // Given
+        List<String> emails = List.of("a@example.com", "b@example.com");
+        when(userRepository.findEmailsByRole(Role.AUTHOR)).thenReturn(emails);
+        when(tokenService.invalidateTokens(emails)).thenReturn(1L);
 
-        // When & Then
-        UserAccountException thrown = assertThrows(UserAccountException.class, () -> {
-            authService.authenticate(userDetails);
-        });
+        // When
+        long revoked = authService.revokeSessions(Role.AUTHOR);
 
-        assertEquals("Invalid login credentials", thrown.getMessage());
-        verify(userRepository, never()).findByUsername(user.getUsername());
+        // Then
+        assertEquals(1L, revoked);
+        verify(tokenService).invalidateTokens(emails);
     }
 
+    @Test
+    void updatePassword_ShouldStoreUpgradedHashAndReturnUpdatedPrincipal() {
+        // Given
+        CustomUserDetails userDetails = new CustomUserDetails(7L, "username", "$2a$04$old",
+                "user@example.com", Role.USER, List.of(new SimpleGrantedAuthority("ROLE_USER")), true);
+        when(userRepository.updatePasswordByEmail("user@example.com", "{bcrypt}$2a$12$new")).thenReturn(1);
+
+        // When
+        UserDetails updated = authService.updatePassword(userDetails, "{bcrypt}$2a$12$new");
+
+        // Then
+        assertAll(
+                () -> assertEquals("{bcrypt}$2a$12$new", updated.getPassword()),
+                () -> assertEquals(7L, ((CustomUserDetails) updated).getId())
+        );
+        verify(userDetailsService).evict("user@example.com");
+    }
+
+    @Test
+    void updatePassword_WhenUserIsGone_ShouldKeepPrincipal() {
+        // Given
+        CustomUserDetails userDetails = new CustomUserDetails(7L, "username", "$2a$04$old",
+                "user@example.com", Role.USER, List.of(new SimpleGrantedAuthority("ROLE_USER")), true);
+        when(userRepository.updatePasswordByEmail(anyString(), anyString())).thenReturn(0);
+
+        // When
+        UserDetails updated = authService.updatePassword(userDetails, "{bcrypt}$2a$12$new");
+
+        // Then
+        assertEquals(userDetails, updated);
+        verify(userDetailsService, never()).evict(anyString());
+    }
 
     @Test
     void registerUser_whenUsernameExists_thenThrowException() {
@@ -180,6 +234,8 @@ class AuthServiceTest {
 
         // Then
         verify(userRepository, times(1)).delete(user);
+        verify(userDetailsService).evict(user.getEmail());
+        verify(tokenService).invalidateToken(user.getEmail());
     }
 
     @Test
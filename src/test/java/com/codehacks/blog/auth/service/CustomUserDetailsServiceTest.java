@@ -0,0 +1,122 @@
+package com.codehacks.blog.auth.service;
+
+import com.codehacks.blog.auth.model.Role;
+import com.codehacks.blog.auth.model.TokenClaims;
+import com.codehacks.blog.auth.model.User;
+import com.codehacks.blog.auth.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomUserDetailsServiceTest {
+
+    private static final String EMAIL = "author@example.com";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("author");
+        user.setEmail(EMAIL);
+        user.setPassword("hash");
+        user.setRole(Role.AUTHOR);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void shouldQueryDatabaseEveryTimeWithoutCache() {
+        // Given
+        CustomUserDetailsService service = new CustomUserDetailsService(userRepository, false, 10, Duration.ofMinutes(1));
+
+        // When
+        service.loadUserByEmail(EMAIL);
+        service.loadUserByEmail(EMAIL);
+
+        // Then
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCacheUntilEvicted() {
+        // Given
+        CustomUserDetailsService service = new CustomUserDetailsService(userRepository, true, 10, Duration.ofMinutes(1));
+
+        // When
+        service.loadUserByEmail(EMAIL);
+        service.loadUserByEmail(EMAIL);
+        user.setRole(Role.ADMIN);
+        service.evict(EMAIL);
+        UserDetails reloaded = service.loadUserByEmail(EMAIL);
+
+        // Then
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+        assertEquals("ROLE_ADMIN", reloaded.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void shouldEvictUserWhenAnotherNodeRevokesItsSession() {
+        // Given
+        CustomUserDetailsService service = new CustomUserDetailsService(userRepository, true, 10, Duration.ofMinutes(1));
+        service.loadUserByEmail(EMAIL);
+        user.setRole(Role.USER);
+
+        // When
+        service.onMessage(new DefaultMessage(TokenServiceImpl.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                EMAIL.getBytes(StandardCharsets.UTF_8)), null);
+        UserDetails reloaded = service.loadUserByEmail(EMAIL);
+
+        // Then
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+        assertEquals("ROLE_USER", reloaded.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void shouldNotCacheUnknownUsers() {
+        // Given
+        CustomUserDetailsService service = new CustomUserDetailsService(userRepository, true, 10, Duration.ofMinutes(1));
+        when(userRepository.findByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByEmail("ghost@example.com"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByEmail("ghost@example.com"));
+        verify(userRepository, times(2)).findByEmail("ghost@example.com");
+    }
+
+    @Test
+    void shouldBuildUserFromClaimsWithoutDatabase() {
+        // Given
+        CustomUserDetailsService service = new CustomUserDetailsService(userRepository, false, 10, Duration.ofMinutes(1));
+        TokenClaims claims = new TokenClaims(3L, "author", EMAIL, Role.AUTHOR, Instant.now().plusSeconds(60));
+
+        // When
+        UserDetails details = service.loadUserFromClaims(claims);
+
+        // Then
+        assertAll(
+                () -> assertEquals("author", details.getUsername()),
+                () -> assertEquals("ROLE_AUTHOR",
+                        details.getAuthorities().stream().map(GrantedAuthority::getAuthority).findFirst().orElseThrow())
+        );
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+}
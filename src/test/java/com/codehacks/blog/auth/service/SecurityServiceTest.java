@@ -1,43 +1,37 @@
 package com.codehacks.blog.auth.service;
 
-import com.codehacks.blog.auth.config.MailConfig;
+import com.codehacks.blog.auth.alert.SecurityAlert;
+import com.codehacks.blog.auth.alert.SecurityAlertDispatcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 class SecurityServiceTest {
 
     @Mock
-    private MailConfig mailConfig;
-
-    @Mock
-    private JavaMailSender javaMailSender;
+    private SecurityAlertDispatcher alertDispatcher;
 
     @InjectMocks
     private SecurityServiceImpl securityService;
 
-    private MailConfig mailConfigMock;
-
-    private JavaMailSender mailSenderMock;
+    private SecurityAlertDispatcher alertDispatcherMock;
 
     private static final String TEST_EMAIL = "user@company.com";
     private static final String TEST_IP = "192.168.1.1";
@@ -46,85 +40,60 @@ class SecurityServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        mailConfigMock = mock(MailConfig.class);
-        mailSenderMock = mock(JavaMailSender.class);
-
-        when(mailConfig.javaMailSender()).thenReturn(javaMailSender);
+        alertDispatcherMock = mock(SecurityAlertDispatcher.class);
     }
 
     @Test
     void testHandleSuspiciousLogin_ValidSuspiciousLogin() throws IllegalAccessException, NoSuchFieldException {
         // Given
-        when(mailConfigMock.javaMailSender()).thenReturn(mailSenderMock);
-
         Set<String> knownIps = Set.of(KNOWN_IP, "10.0.0.2");
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfigMock, knownIps);
+        SecurityServiceImpl securityService = new SecurityServiceImpl(alertDispatcherMock, knownIps);
 
         Field securityEmailField = SecurityServiceImpl.class.getDeclaredField("securityEmail");
         securityEmailField.setAccessible(true);
         securityEmailField.set(securityService, "security@example.com");
 
-        // When: Calling handleSuspiciousLogin (should invoke sendEmail)
+        // When: Calling handleSuspiciousLogin (should dispatch an alert)
         securityService.handleSuspiciousLogin(TEST_EMAIL, TEST_IP);
 
         // Then
-        verify(mailSenderMock).send(any(SimpleMailMessage.class));
+        verify(alertDispatcherMock).dispatch(any(SecurityAlert.class));
     }
 
     @Test
     void testHandleSuspiciousLogin_KnownIp() {
         // Given
         Set<String> knownIps = Set.of(TEST_IP, KNOWN_IP);
-        securityService = new SecurityServiceImpl(mailConfigMock, knownIps);
+        securityService = new SecurityServiceImpl(alertDispatcherMock, knownIps);
 
         // When
-        when(mailConfigMock.javaMailSender()).thenReturn(mailSenderMock);
         securityService.handleSuspiciousLogin(TEST_EMAIL, TEST_IP);
 
         // Then
-        verify(mailSenderMock, never()).send(any(SimpleMailMessage.class));
+        verify(alertDispatcherMock, never()).dispatch(any(SecurityAlert.class));
     }
 
     @Test
     void testTriggerAlert_InvalidEmail() throws NoSuchFieldException, IllegalAccessException {
         // Given
         Set<String> knownIps = Set.of(KNOWN_IP, "10.0.0.2");
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfigMock, knownIps);
+        SecurityServiceImpl securityService = new SecurityServiceImpl(alertDispatcherMock, knownIps);
 
         Field securityEmailField = SecurityServiceImpl.class.getDeclaredField("securityEmail");
         securityEmailField.setAccessible(true);
         securityEmailField.set(securityService, "invalid-email");
 
         // When
-        when(mailConfigMock.javaMailSender()).thenReturn(mailSenderMock);
         securityService.handleSuspiciousLogin(TEST_EMAIL, TEST_IP);
 
         // Then
-        verify(mailSenderMock, never()).send(any(SimpleMailMessage.class));
-    }
-
-    @Test
-    void testSendEmail_MailException() throws Exception {
-        // Given
-        Set<String> knownIps = Set.of(KNOWN_IP);
-        Method sendEmailMethod = SecurityServiceImpl.class.getDeclaredMethod("sendEmail", String.class, String.class, String.class);
-        sendEmailMethod.setAccessible(true);
-
-        // When
-        doThrow(new MailException("Simulated mail exception") {}).when(mailSenderMock).send(any(SimpleMailMessage.class));
-        when(mailConfigMock.javaMailSender()).thenReturn(mailSenderMock);
-
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfigMock, knownIps);
-        sendEmailMethod.invoke(securityService, "test@example.com", "Test Subject", "Test Message");
-
-        // Then
-        verify(mailSenderMock).send(any(SimpleMailMessage.class));
+        verify(alertDispatcherMock, never()).dispatch(any(SecurityAlert.class));
     }
 
     @Test
     void testIsValidEmail_ValidEmail() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
         // Given
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfig, Set.of(KNOWN_IP));
+        SecurityServiceImpl securityService = new SecurityServiceImpl(alertDispatcher, Set.of(KNOWN_IP));
 
         Method isValidEmailMethod = SecurityServiceImpl.class.getDeclaredMethod("isValidEmail", String.class);
         isValidEmailMethod.setAccessible(true);
@@ -143,7 +112,7 @@ class SecurityServiceTest {
     @Test
     void testIsValidEmail_InvalidEmail() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
         // Given
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfig, Set.of(KNOWN_IP));
+        SecurityServiceImpl securityService = new SecurityServiceImpl(alertDispatcher, Set.of(KNOWN_IP));
 
         Method isValidEmailMethod = SecurityServiceImpl.class.getDeclaredMethod("isValidEmail", String.class);
         isValidEmailMethod.setAccessible(true);
@@ -160,7 +129,7 @@ class SecurityServiceTest {
     void testIsSuspiciousLogin_KnownIp() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
         // Given
         Set<String> knownIps = Set.of(KNOWN_IP);
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfig, knownIps);
+        SecurityServiceImpl securityService = new SecurityServiceImpl(alertDispatcher, knownIps);
 
         Method isSuspiciousLoginMethod = SecurityServiceImpl.class.getDeclaredMethod("isSuspiciousLogin", String.class);
         isSuspiciousLoginMethod.setAccessible(true);
@@ -176,7 +145,7 @@ class SecurityServiceTest {
     void testIsSuspiciousLogin_UnknownIp() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
         // Given
         Set<String> knownIps = Set.of(KNOWN_IP);
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfig, knownIps);
+        SecurityServiceImpl securityService = new SecurityServiceImpl(alertDispatcher, knownIps);
 
         Method isSuspiciousLoginMethod = SecurityServiceImpl.class.getDeclaredMethod("isSuspiciousLogin", String.class);
         isSuspiciousLoginMethod.setAccessible(true);
@@ -189,11 +158,10 @@ class SecurityServiceTest {
     }
 
     @Test
-    void handleSuspiciousLogin_ShouldSendEmail() throws Exception {
+    void handleSuspiciousLogin_ShouldDispatchAlertToSecurityTeam() throws Exception {
         // Given
         Set<String> knownIps = Set.of(KNOWN_IP);
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfigMock, knownIps);
-        when(mailConfigMock.javaMailSender()).thenReturn(mailSenderMock);
+        SecurityServiceImpl securityService = new SecurityServiceImpl(alertDispatcherMock, knownIps);
 
         Field securityEmailField = SecurityServiceImpl.class.getDeclaredField("securityEmail");
         securityEmailField.setAccessible(true);
@@ -203,34 +171,20 @@ class SecurityServiceTest {
         securityService.handleSuspiciousLogin(TEST_EMAIL, TEST_IP);
 
         // Then
-        verify(mailSenderMock).send(any(SimpleMailMessage.class));
-    }
-
-    @Test
-    void handleSuspiciousLogin_ShouldLogError_WhenEmailSendingFails() throws Exception {
-        // Given
-        Set<String> knownIps = Set.of(KNOWN_IP);
-        securityService = new SecurityServiceImpl(mailConfigMock, knownIps);
-        when(mailConfigMock.javaMailSender()).thenReturn(mailSenderMock);
-        doThrow(new MailException("Simulated mail exception") {}).when(mailSenderMock).send(any(SimpleMailMessage.class));
-
-        Field securityEmailField = SecurityServiceImpl.class.getDeclaredField("securityEmail");
-        securityEmailField.setAccessible(true);
-        securityEmailField.set(securityService, "security@example.com");
-
-        // When
-        securityService.handleSuspiciousLogin(TEST_EMAIL, TEST_IP);
-
-        // Then
-        verify(mailSenderMock).send(any(SimpleMailMessage.class));
+        ArgumentCaptor<SecurityAlert> captor = ArgumentCaptor.forClass(SecurityAlert.class);
+        verify(alertDispatcherMock).dispatch(captor.capture());
+        assertAll(
+                () -> assertEquals("security@example.com", captor.getValue().recipient()),
+                () -> assertEquals(TEST_EMAIL, captor.getValue().email()),
+                () -> assertEquals(TEST_IP, captor.getValue().ipAddress())
+        );
     }
 
     @Test
     void handleSuspiciousLogin_ShouldLogError_WhenInvalidEmail() throws Exception {
         // Given
         Set<String> knownIps = Set.of(KNOWN_IP);
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfigMock, knownIps);
-        when(mailConfigMock.javaMailSender()).thenReturn(mailSenderMock);
+        SecurityServiceImpl securityService = new SecurityServiceImpl(alertDispatcherMock, knownIps);
 
         Field securityEmailField = SecurityServiceImpl.class.getDeclaredField("securityEmail");
         securityEmailField.setAccessible(true);
@@ -240,30 +194,13 @@ class SecurityServiceTest {
         securityService.handleSuspiciousLogin(TEST_EMAIL, TEST_IP);
 
         // Then
-        verify(mailSenderMock, never()).send(any(SimpleMailMessage.class));
-    }
-
-    @Test
-    void sendEmail_ShouldSendEmail() throws Exception {
-        // Given
-        Set<String> knownIps = Set.of(KNOWN_IP);
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfigMock, knownIps);
-        when(mailConfigMock.javaMailSender()).thenReturn(mailSenderMock);
-
-        Method sendEmailMethod = SecurityServiceImpl.class.getDeclaredMethod("sendEmail", String.class, String.class, String.class);
-        sendEmailMethod.setAccessible(true);
-
-        // When
-        sendEmailMethod.invoke(securityService, "test@example.com", "Test Subject", "Test Message");
-
-        // Then
-        verify(mailSenderMock).send(any(SimpleMailMessage.class));
+        verify(alertDispatcherMock, never()).dispatch(any(SecurityAlert.class));
     }
 
     @Test
     void isValidEmail_ShouldReturnTrue_ForValidEmail() throws Exception {
         // Given
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfig, Set.of(KNOWN_IP));
+        SecurityServiceImpl securityService = new SecurityServiceImpl(alertDispatcher, Set.of(KNOWN_IP));
 
         Method isValidEmailMethod = SecurityServiceImpl.class.getDeclaredMethod("isValidEmail", String.class);
         isValidEmailMethod.setAccessible(true);
@@ -278,7 +215,7 @@ class SecurityServiceTest {
     @Test
     void isValidEmail_ShouldReturnFalse_ForInvalidEmail() throws Exception {
         // Given
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfig, Set.of(KNOWN_IP));
+        SecurityServiceImpl securityService = new SecurityServiceImpl(alertDispatcher, Set.of(KNOWN_IP));
 
         Method isValidEmailMethod = SecurityServiceImpl.class.getDeclaredMethod("isValidEmail", String.class);
         isValidEmailMethod.setAccessible(true);
@@ -294,7 +231,7 @@ class SecurityServiceTest {
     void isSuspiciousLogin_ShouldReturnFalse_ForKnownIp() throws Exception {
         // Given
         Set<String> knownIps = Set.of(KNOWN_IP);
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfig, knownIps);
+        SecurityServiceImpl securityService = new SecurityServiceImpl(alertDispatcher, knownIps);
 
         Method isSuspiciousLoginMethod = SecurityServiceImpl.class.getDeclaredMethod("isSuspiciousLogin", String.class);
         isSuspiciousLoginMethod.setAccessible(true);
@@ -310,7 +247,7 @@ class SecurityServiceTest {
     void isSuspiciousLogin_ShouldReturnTrue_ForUnknownIp() throws Exception {
         // Given
         Set<String> knownIps = Set.of(KNOWN_IP);
-        SecurityServiceImpl securityService = new SecurityServiceImpl(mailConfig, knownIps);
+        SecurityServiceImpl securityService = new SecurityServiceImpl(alertDispatcher, knownIps);
 
         Method isSuspiciousLoginMethod = SecurityServiceImpl.class.getDeclaredMethod("isSuspiciousLogin", String.class);
         isSuspiciousLoginMethod.setAccessible(true);
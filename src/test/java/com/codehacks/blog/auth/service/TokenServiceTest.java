@@ -0,0 +1,241 @@
+package com.codehacks.blog.auth.service;
+
+import com.codehacks.blog.auth.model.Role;
+import com.codehacks.blog.auth.model.TokenClaims;
+import com.codehacks.blog.auth.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.codehacks.blog.auth.store.TokenStore;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final String EMAIL = "reader@example.com";
+    private static final String OTHER_EMAIL = "writer@example.com";
+
+    private final TokenStore tokenStore = mock(TokenStore.class);
+    private TokenServiceImpl tokenService;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenServiceImpl(tokenStore);
+        ReflectionTestUtils.setField(tokenService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(tokenService, "validationCacheTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(tokenService, "validationCacheMaxSize", 100L);
+        tokenService.init();
+
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("reader");
+        user.setEmail(EMAIL);
+        user.setRole(Role.AUTHOR);
+        token = tokenService.generateToken(user);
+        when(tokenStore.get(EMAIL)).thenReturn(token);
+    }
+
+    @Test
+    void shouldReturnClaimsOfValidToken() {
+        // When
+        Optional<TokenClaims> claims = tokenService.verifyToken(token);
+
+        // Then
+        assertTrue(claims.isPresent());
+        assertAll(
+                () -> assertEquals(7L, claims.get().userId()),
+                () -> assertEquals("reader", claims.get().username()),
+                () -> assertEquals(EMAIL, claims.get().email()),
+                () -> assertEquals(Role.AUTHOR, claims.get().role())
+        );
+    }
+
+    @Test
+    void shouldAskStoreOnlyOnceForRepeatedToken() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertTrue(tokenService.validateToken(token));
+        }
+
+        // Then
+        verify(tokenStore, times(1)).get(EMAIL);
+    }
+
+    @Test
+    void shouldRejectTokenThatIsNoLongerTheSession() {
+        // Given
+        when(tokenStore.get(EMAIL)).thenReturn("another-token");
+
+        // When & Then
+        assertFalse(tokenService.validateToken(token));
+    }
+
+    @Test
+    void shouldRejectTamperedAndMalformedTokens() {
+        // Given
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // When & Then
+        assertAll(
+                () -> assertFalse(tokenService.validateToken(tampered)),
+                () -> assertFalse(tokenService.validateToken("not.a.jwt")),
+                () -> assertFalse(tokenService.validateToken(null))
+        );
+        verify(tokenStore, never()).get(anyString());
+    }
+
+    @Test
+    void shouldForgetVerifiedTokenOnLogout() {
+        // Given
+        assertTrue(tokenService.validateToken(token));
+        when(tokenStore.remove(EMAIL)).thenReturn(true);
+
+        // When
+        tokenService.invalidateToken(EMAIL);
+        when(tokenStore.get(EMAIL)).thenReturn(null);
+
+        // Then
+        assertFalse(tokenService.validateToken(token));
+        verify(tokenStore).remove(EMAIL);
+    }
+
+    @Test
+    void shouldNotCacheTokenRevokedWhileItWasBeingChecked() {
+        // Given
+        when(tokenStore.get(EMAIL)).thenAnswer(invocation -> {
+            tokenService.invalidateToken(EMAIL);
+            return token;
+        });
+
+        // When
+        assertTrue(tokenService.validateToken(token));
+        doReturn(null).when(tokenStore).get(EMAIL);
+
+        // Then
+        assertFalse(tokenService.validateToken(token));
+    }
+
+    @Test
+    void shouldForgetVerifiedTokenWhenAnotherNodeRevokesIt() {
+        // Given
+        assertTrue(tokenService.validateToken(token));
+        when(tokenStore.get(EMAIL)).thenReturn(null);
+
+        // When
+        tokenService.onMessage(new DefaultMessage(TokenServiceImpl.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                EMAIL.getBytes(StandardCharsets.UTF_8)), null);
+
+        // Then
+        assertFalse(tokenService.validateToken(token));
+        verify(tokenStore).put(eq(EMAIL), any(), eq(Duration.ofHours(6)));
+    }
+
+    @Test
+    void shouldEvictOnlyTheRevokedUsersCachedTokens() {
+        // Given
+        User other = user();
+        other.setId(8L);
+        other.setEmail(OTHER_EMAIL);
+        String otherToken = tokenService.generateToken(other);
+        when(tokenStore.get(OTHER_EMAIL)).thenReturn(otherToken);
+        assertTrue(tokenService.validateToken(token));
+        assertTrue(tokenService.validateToken(otherToken));
+
+        // When
+        tokenService.onMessage(new DefaultMessage(TokenServiceImpl.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                EMAIL.getBytes(StandardCharsets.UTF_8)), null);
+        tokenService.validateToken(token);
+        tokenService.validateToken(otherToken);
+
+        // Then
+        assertAll(
+                () -> verify(tokenStore, times(2)).get(EMAIL),
+                () -> verify(tokenStore, times(1)).get(OTHER_EMAIL)
+        );
+    }
+
+    @Test
+    void shouldReuseExistingSessionWithoutIssuingToken() {
+        // When
+        String session = tokenService.getOrCreateToken(user());
+
+        // Then
+        assertEquals(token, session);
+        verify(tokenStore, never()).putIfAbsent(anyString(), anyString(), any());
+    }
+
+    @Test
+    void shouldStoreNewSessionOnlyIfAbsent() {
+        // Given
+        when(tokenStore.get(EMAIL)).thenReturn(null);
+        when(tokenStore.putIfAbsent(eq(EMAIL), anyString(), any())).thenReturn(true);
+
+        // When
+        String session = tokenService.getOrCreateToken(user());
+
+        // Then
+        verify(tokenStore).putIfAbsent(EMAIL, session, Duration.ofHours(6));
+    }
+
+    @Test
+    void shouldShareSessionOfConcurrentLogin() {
+        // Given
+        when(tokenStore.get(EMAIL)).thenReturn(null, "winner-token");
+        when(tokenStore.putIfAbsent(eq(EMAIL), anyString(), any())).thenReturn(false);
+
+        // When
+        String session = tokenService.getOrCreateToken(user());
+
+        // Then
+        assertEquals("winner-token", session);
+    }
+
+    @Test
+    void shouldRevokeManySessionsAtOnce() {
+        // Given
+        List<String> emails = List.of(EMAIL, "gone@example.com", "other@example.com");
+        assertTrue(tokenService.validateToken(token));
+        when(tokenStore.removeAll(emails)).thenReturn(2L);
+
+        // When
+        long ended = tokenService.invalidateTokens(emails);
+        when(tokenStore.get(EMAIL)).thenReturn(null);
+
+        // Then
+        assertAll(
+                () -> assertEquals(2L, ended),
+                () -> assertFalse(tokenService.validateToken(token)),
+                () -> verify(tokenStore, times(1)).removeAll(emails)
+        );
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("reader");
+        user.setEmail(EMAIL);
+        user.setRole(Role.AUTHOR);
+        return user;
+    }
+}
@@ -0,0 +1,123 @@
+package com.codehacks.blog.auth.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryTokenStoreTest extends TokenStoreContractTest {
+
+    @Override
+    protected TokenStore createStore() {
+        return new InMemoryTokenStore(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((InMemoryTokenStore) store).destroy();
+    }
+
+    @Test
+    void sweep_ShouldDropOnlyExpiredSessions() {
+        // Given
+        MutableClock clock = new MutableClock();
+        InMemoryTokenStore clockedStore = new InMemoryTokenStore(clock, Duration.ofHours(1));
+        clockedStore.put("short@example.com", "short", Duration.ofMinutes(1));
+        clockedStore.put("long@example.com", "long", Duration.ofHours(6));
+
+        // When
+        clock.advance(Duration.ofMinutes(2));
+        clockedStore.sweep();
+
+        // Then
+        assertAll(
+                () -> assertEquals(1, clockedStore.size()),
+                () -> assertNull(clockedStore.get("short@example.com")),
+                () -> assertEquals("long", clockedStore.get("long@example.com"))
+        );
+        clockedStore.destroy();
+    }
+
+    @Test
+    void remove_WhenSessionAlreadyExpired_ShouldReportNoSession() {
+        // Given
+        MutableClock clock = new MutableClock();
+        InMemoryTokenStore clockedStore = new InMemoryTokenStore(clock, Duration.ofHours(1));
+        clockedStore.put("reader@example.com", "token", Duration.ofMinutes(1));
+
+        // When
+        clock.advance(Duration.ofMinutes(1));
+
+        // Then
+        assertFalse(clockedStore.remove("reader@example.com"));
+        clockedStore.destroy();
+    }
+
+    @Test
+    void putIfAbsent_WhenCalledConcurrently_ShouldStoreExactlyOneSession() throws InterruptedException {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger stored = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            String token = "token-" + i;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    if (store.putIfAbsent("reader@example.com", token, Duration.ofHours(1))) {
+                        stored.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        // Then
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1, stored.get());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.codehacks.blog.auth.store;
+
+import com.codehacks.blog.it.RedisTestContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RedisTokenStoreIntegrationTest extends TokenStoreContractTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+
+    @Override
+    protected TokenStore createStore() {
+        RedisTestContainer redis = RedisTestContainer.getInstance();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getRedisPort()));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+        return new RedisTokenStore(redisTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void removeAll_WhenMoreThanOneBatch_ShouldEndEverySession() {
+        // Given
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            String email = "author" + i + "@example.com";
+            emails.add(email);
+            store.put(email, "token-" + i, Duration.ofHours(1));
+        }
+
+        // When
+        long removed = store.removeAll(emails);
+
+        // Then
+        assertEquals(1_200L, removed);
+        assertEquals(0, redisTemplate.keys(RedisTokenStore.KEY_PREFIX + "*").size());
+    }
+}
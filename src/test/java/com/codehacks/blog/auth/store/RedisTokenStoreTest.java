@@ -0,0 +1,99 @@
+package com.codehacks.blog.auth.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisTokenStoreTest {
+
+    private static final String EMAIL = "reader@example.com";
+
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final RedisTokenStore store = new RedisTokenStore(redisTemplate);
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void put_ShouldSetWithExpiryAndPublishRevocation() {
+        // When
+        store.put(EMAIL, "token", Duration.ofHours(6));
+
+        // Then
+        verify(valueOperations).set("token:" + EMAIL, "token", Duration.ofHours(6).toSeconds(), TimeUnit.SECONDS);
+        verify(redisTemplate).convertAndSend(RedisTokenStore.REVOCATION_CHANNEL, EMAIL);
+    }
+
+    @Test
+    void putIfAbsent_ShouldUseSingleSetNx() {
+        // Given
+        when(valueOperations.setIfAbsent("token:" + EMAIL, "token", 60L, TimeUnit.SECONDS)).thenReturn(true);
+
+        // When & Then
+        assertTrue(store.putIfAbsent(EMAIL, "token", Duration.ofMinutes(1)));
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void remove_ShouldEndSessionWithSingleUnlink() {
+        // When
+        store.remove(EMAIL);
+
+        // Then
+        verify(redisTemplate).unlink("token:" + EMAIL);
+        verify(redisTemplate, never()).hasKey(anyString());
+        verify(redisTemplate, never()).delete(anyString());
+        verify(redisTemplate).convertAndSend(RedisTokenStore.REVOCATION_CHANNEL, EMAIL);
+    }
+
+    @Test
+    void remove_WhenPublishFails_ShouldStillEndSession() {
+        // Given
+        when(redisTemplate.unlink("token:" + EMAIL)).thenReturn(true);
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(redisTemplate).convertAndSend(eq(RedisTokenStore.REVOCATION_CHANNEL), anyString());
+
+        // When & Then
+        assertTrue(store.remove(EMAIL));
+    }
+
+    @Test
+    void removeAll_ShouldUnlinkAndPublishInOnePipeline() {
+        // Given
+        when(redisTemplate.executePipelined(isA(RedisCallback.class)))
+                .thenReturn(Arrays.asList(1L, 0L, 0L, 0L, 1L, 0L));
+
+        // When
+        long removed = store.removeAll(List.of(EMAIL, "gone@example.com", "other@example.com"));
+
+        // Then
+        assertAll(
+                () -> assertEquals(2L, removed),
+                () -> verify(redisTemplate, times(1)).executePipelined(isA(RedisCallback.class))
+        );
+    }
+}
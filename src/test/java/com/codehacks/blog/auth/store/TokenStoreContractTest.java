@@ -0,0 +1,122 @@
+package com.codehacks.blog.auth.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Behaviour every {@link TokenStore} must share; each implementation's test extends this class.
+ */
+public abstract class TokenStoreContractTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+
+    protected TokenStore store;
+
+    protected abstract TokenStore createStore();
+
+    @BeforeEach
+    void createTokenStore() {
+        store = createStore();
+    }
+
+    @Test
+    void get_WhenNoSession_ShouldReturnNull() {
+        // When & Then
+        assertAll(
+                () -> assertNull(store.get("nobody@example.com")),
+                () -> assertFalse(store.contains("nobody@example.com"))
+        );
+    }
+
+    @Test
+    void put_ShouldReplacePreviousSession() {
+        // Given
+        store.put("reader@example.com", "first", TTL);
+
+        // When
+        store.put("reader@example.com", "second", TTL);
+
+        // Then
+        assertAll(
+                () -> assertEquals("second", store.get("reader@example.com")),
+                () -> assertTrue(store.contains("reader@example.com"))
+        );
+    }
+
+    @Test
+    void putIfAbsent_WhenSessionExists_ShouldKeepIt() {
+        // Given
+        boolean first = store.putIfAbsent("reader@example.com", "first", TTL);
+
+        // When
+        boolean second = store.putIfAbsent("reader@example.com", "second", TTL);
+
+        // Then
+        assertAll(
+                () -> assertTrue(first),
+                () -> assertFalse(second),
+                () -> assertEquals("first", store.get("reader@example.com"))
+        );
+    }
+
+    @Test
+    void remove_ShouldEndSessionAndReportWhetherItExisted() {
+        // Given
+        store.put("reader@example.com", "token", TTL);
+
+        // When
+        boolean removed = store.remove("reader@example.com");
+        boolean removedAgain = store.remove("reader@example.com");
+
+        // Then
+        assertAll(
+                () -> assertTrue(removed),
+                () -> assertFalse(removedAgain),
+                () -> assertNull(store.get("reader@example.com"))
+        );
+    }
+
+    @Test
+    void removeAll_ShouldCountOnlyExistingSessions() {
+        // Given
+        store.put("a@example.com", "a", TTL);
+        store.put("b@example.com", "b", TTL);
+        store.put("kept@example.com", "kept", TTL);
+
+        // When
+        long removed = store.removeAll(List.of("a@example.com", "b@example.com", "gone@example.com"));
+
+        // Then
+        assertAll(
+                () -> assertEquals(2L, removed),
+                () -> assertNull(store.get("a@example.com")),
+                () -> assertNull(store.get("b@example.com")),
+                () -> assertEquals("kept", store.get("kept@example.com"))
+        );
+    }
+
+    @Test
+    void put_WhenTtlElapses_ShouldExpireSessionAndFreeItForNewLogin() {
+        // Given
+        store.put("reader@example.com", "token", Duration.ofSeconds(1));
+
+        // When
+        await().atMost(Duration.ofSeconds(5)).until(() -> store.get("reader@example.com") == null);
+
+        // Then
+        assertAll(
+                () -> assertFalse(store.contains("reader@example.com")),
+                () -> assertTrue(store.putIfAbsent("reader@example.com", "next", TTL))
+        );
+    }
+}
@@ -0,0 +1,134 @@
+package com.codehacks.blog.benchmark;
+
+import com.codehacks.blog.auth.config.JwtAuthenticationFilter;
+import com.codehacks.blog.auth.config.PublicPaths;
+import com.codehacks.blog.auth.model.Role;
+import com.codehacks.blog.auth.model.TokenClaims;
+import com.codehacks.blog.auth.model.User;
+import com.codehacks.blog.auth.repository.UserRepository;
+import com.codehacks.blog.auth.service.CustomUserDetailsService;
+import com.codehacks.blog.auth.service.TokenService;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs authenticated requests through {@link JwtAuthenticationFilter} and counts the user lookups it makes.
+ * The {@code dbQueries} counter is the number of {@code UserRepository.findByEmail} calls and {@code requests}
+ * the number of filtered requests: with {@code claims} the ratio is zero, with {@code database} it is one,
+ * and with {@code cached-database} it drops to the cache misses. Run with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=com.codehacks.blog.benchmark.JwtAuthenticationBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationBenchmark {
+
+    private static final String EMAIL = "reader@example.com";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"claims", "database", "cached-database"})
+    private String mode;
+
+    private final AtomicLong userLookups = new AtomicLong();
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setUsername("reader");
+        user.setEmail(EMAIL);
+        user.setPassword("hash");
+        user.setRole(Role.USER);
+
+        // A plain proxy rather than a Mockito mock, which would record every invocation for the whole run
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findByEmail")) {
+                        userLookups.incrementAndGet();
+                        return Optional.of(user);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        TokenClaims claims = new TokenClaims(1L, "reader", EMAIL, Role.USER, Instant.now().plus(Duration.ofHours(1)));
+        TokenService tokenService = Mockito.mock(TokenService.class, Mockito.withSettings().stubOnly());
+        Mockito.when(tokenService.verifyToken("token")).thenReturn(Optional.of(claims));
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository,
+                mode.equals("cached-database"), 10_000, Duration.ofMinutes(5));
+        filter = new JwtAuthenticationFilter(tokenService, userDetailsService, new PublicPaths());
+        ReflectionTestUtils.setField(filter, "principalSource", mode.equals("claims") ? "claims" : "database");
+
+        request = new MockHttpServletRequest("GET", "/api/v1/blog/all");
+        request.addHeader("Authorization", "Bearer token");
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long requests;
+        public long dbQueries;
+
+        private long lookupsAtStart;
+
+        @Setup(Level.Iteration)
+        public void reset(JwtAuthenticationBenchmark benchmark) {
+            requests = 0;
+            lookupsAtStart = benchmark.userLookups.get();
+        }
+
+        void record(JwtAuthenticationBenchmark benchmark) {
+            requests++;
+            dbQueries = benchmark.userLookups.get() - lookupsAtStart;
+        }
+    }
+
+    @Benchmark
+    public int authenticatedRequest(Counters counters) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+        counters.record(this);
+        return response.getStatus();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtAuthenticationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,142 @@
+package com.codehacks.blog.benchmark;
+
+import com.codehacks.blog.auth.config.PasswordHashingExecutor;
+import com.codehacks.blog.auth.model.CustomUserDetails;
+import com.codehacks.blog.auth.model.Role;
+import com.codehacks.blog.auth.model.User;
+import com.codehacks.blog.auth.repository.UserRepository;
+import com.codehacks.blog.auth.service.AuthServiceImpl;
+import com.codehacks.blog.auth.service.TokenService;
+import com.codehacks.blog.auth.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins per second through the same pipeline as {@code POST /login}: the {@link DaoAuthenticationProvider}
+ * loads the user and checks the BCrypt hash on the {@link PasswordHashingExecutor}, then
+ * {@link AuthServiceImpl#authenticate} issues the token from the authenticated principal. The {@code dbQueries}
+ * counter should equal {@code logins}, one user lookup per login. {@code strength} is the BCrypt cost; pass
+ * {@code -p strength=...} to try others. Run with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=com.codehacks.blog.benchmark.LoginBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginBenchmark {
+
+    private static final String EMAIL = "reader@example.com";
+    private static final String PASSWORD = "Reader@123";
+
+    // Lookups made on the current thread, so each login can report its own
+    private static final ThreadLocal<long[]> USER_LOOKUPS = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private DaoAuthenticationProvider authenticationProvider;
+    private AuthServiceImpl authService;
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(strength);
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("reader");
+        user.setEmail(EMAIL);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole(Role.USER);
+
+        // A plain proxy rather than a Mockito mock, which would record every invocation for the whole run
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findByEmail") || method.getName().equals("findByUsername")) {
+                        USER_LOOKUPS.get()[0]++;
+                        return Optional.of(user);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        TokenService tokenService = Mockito.mock(TokenService.class, Mockito.withSettings().stubOnly());
+        Mockito.when(tokenService.getOrCreateToken(Mockito.any())).thenReturn("token");
+
+        authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(new UserDetailsServiceImpl(userRepository));
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        authService = new AuthServiceImpl(userRepository, null, tokenService, null, passwordEncoder, null);
+        passwordHashingExecutor = new PasswordHashingExecutor(new SimpleMeterRegistry(), 0, 1_000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHashingExecutor.destroy();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long logins;
+        public long dbQueries;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            logins = 0;
+            dbQueries = 0;
+        }
+    }
+
+    @Benchmark
+    public String login(Counters counters) {
+        LoginResult result = passwordHashingExecutor.submit(() -> {
+            long lookupsBefore = USER_LOOKUPS.get()[0];
+            Authentication authentication = authenticationProvider.authenticate(
+                    new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
+            String token = authService.authenticate((CustomUserDetails) authentication.getPrincipal());
+            return new LoginResult(token, USER_LOOKUPS.get()[0] - lookupsBefore);
+        }).join();
+        counters.logins++;
+        counters.dbQueries += result.userLookups();
+        return result.token();
+    }
+
+    private record LoginResult(String token, long userLookups) {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LoginBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
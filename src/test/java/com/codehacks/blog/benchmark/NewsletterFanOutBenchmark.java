@@ -0,0 +1,215 @@
+package com.codehacks.blog.benchmark;
+
+import com.codehacks.blog.newsletter.model.NewsletterCampaign;
+import com.codehacks.blog.newsletter.repository.NewsletterCampaignRepository;
+import com.codehacks.blog.newsletter.repository.NewsletterDeliveryRepository;
+import com.codehacks.blog.newsletter.service.NewsletterServiceImpl;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.model.Status;
+import com.codehacks.blog.post.repository.PostRepository;
+import com.codehacks.blog.subscription.repository.SubscriberContact;
+import com.codehacks.blog.subscription.repository.SubscriberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.testcontainers.containers.GenericContainer;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Newsletter fan-out of {@link NewsletterServiceImpl} to {@code subscribers} recipients through a GreenMail SMTP
+ * server. Each invocation publishes one post and waits for its campaign to complete. In {@code publish} the
+ * {@code mails} counter is the delivery throughput in mails per second; {@code lag} samples the time from publication
+ * to the last copy being sent, so its percentiles and max are the newsletter lag. The repositories are in-memory
+ * stand-ins, so the numbers are for the sending side alone. The rate limit is set well above what the server accepts;
+ * pass {@code -p threads=...} to try other pool sizes. Needs Docker for the mail server container. Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.codehacks.blog.benchmark.NewsletterFanOutBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NewsletterFanOutBenchmark {
+
+    private static final int SMTP_PORT = 3025;  // GreenMail default SMTP port
+
+    @Param({"1", "4", "8"})
+    private int threads;
+
+    @Param({"500"})
+    private int subscribers;
+
+    private final AtomicLong campaignIds = new AtomicLong();
+    private volatile CountDownLatch campaignCompleted;
+
+    private GenericContainer<?> mailContainer;
+    private NewsletterServiceImpl newsletterService;
+    private Post post;
+
+    @Setup
+    public void setUp() {
+        mailContainer = new GenericContainer<>("greenmail/standalone:latest").withExposedPorts(SMTP_PORT);
+        mailContainer.start();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(mailContainer.getHost());
+        mailSender.setPort(mailContainer.getMappedPort(SMTP_PORT));
+
+        post = new Post();
+        post.setId(1L);
+        post.setTitle("Keyset pagination");
+        post.setContent("Why OFFSET gets slower with every page.");
+        post.setAuthorName("Jane Doe");
+        post.setStatus(Status.PUBLISHED);
+
+        newsletterService = new NewsletterServiceImpl(postRepository(), subscriberRepository(),
+                campaignRepository(), deliveryRepository(), mailSender, new SimpleMeterRegistry(),
+                "news@codehacks.com", "https://codehacks.com/posts/", 100, threads, 1_000_000, 3, Duration.ofMillis(100));
+    }
+
+    @TearDown
+    public void tearDown() {
+        newsletterService.destroy();
+        mailContainer.stop();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+
+        public long mails;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            mails = 0;
+        }
+    }
+
+    @Benchmark
+    public void publish(Counters counters) throws InterruptedException {
+        mailCampaign();
+        counters.mails += subscribers;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void lag() throws InterruptedException {
+        mailCampaign();
+    }
+
+    private void mailCampaign() throws InterruptedException {
+        campaignCompleted = new CountDownLatch(1);
+        newsletterService.publish(post.getId());
+        if (!campaignCompleted.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Campaign did not complete");
+        }
+    }
+
+    // Plain proxies rather than Mockito mocks, which would record every invocation for the whole run
+
+    private PostRepository postRepository() {
+        return proxy(PostRepository.class, (method, args) -> switch (method) {
+            case "findById" -> Optional.of(post);
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private NewsletterCampaignRepository campaignRepository() {
+        return proxy(NewsletterCampaignRepository.class, (method, args) -> switch (method) {
+            case "createIfAbsent" -> 1;
+            case "findByPostId" -> {
+                // A fresh campaign for every publication, so the same post can be mailed again
+                NewsletterCampaign campaign = new NewsletterCampaign((Long) args[0], post.getPublishedAt());
+                campaign.setId(campaignIds.incrementAndGet());
+                yield Optional.of(campaign);
+            }
+            case "advance" -> null;
+            case "complete" -> {
+                campaignCompleted.countDown();
+                yield null;
+            }
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private SubscriberRepository subscriberRepository() {
+        return proxy(SubscriberRepository.class, (method, args) -> switch (method) {
+            case "findContactsAfter" -> {
+                long afterId = (Long) args[1];
+                int pageSize = ((Pageable) args[2]).getPageSize();
+                List<SubscriberContact> page = new ArrayList<>(pageSize);
+                for (long id = afterId + 1; id <= Math.min(afterId + pageSize, subscribers); id++) {
+                    page.add(new Contact(id, "reader" + id + "@example.com"));
+                }
+                yield page;
+            }
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private NewsletterDeliveryRepository deliveryRepository() {
+        return proxy(NewsletterDeliveryRepository.class, (method, args) -> switch (method) {
+            case "findRecordedSubscriberIds" -> Set.of();
+            case "record" -> 1;
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, RepositoryMethod handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.invoke(method.getName(), args)));
+    }
+
+    private interface RepositoryMethod {
+        Object invoke(String method, Object[] args);
+    }
+
+    private record Contact(Long id, String email) implements SubscriberContact {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(NewsletterFanOutBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
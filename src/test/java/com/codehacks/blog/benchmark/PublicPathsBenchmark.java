@@ -0,0 +1,89 @@
+package com.codehacks.blog.benchmark;
+
+import com.codehacks.blog.auth.config.JwtAuthenticationFilter;
+import com.codehacks.blog.auth.config.PublicPaths;
+import com.codehacks.blog.auth.service.CustomUserDetailsService;
+import com.codehacks.blog.auth.service.TokenService;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of deciding whether {@link JwtAuthenticationFilter} looks for a token: the former
+ * {@link AntPathMatcher} created per request against {@link PublicPaths}, and the whole filter on a request
+ * without a token. Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.codehacks.blog.benchmark.PublicPathsBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PublicPathsBenchmark {
+
+    private static final String[] LEGACY_PUBLIC_PATHS = {"/api/v1/auth/register", "/api/v1/auth/login"};
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"/api/v1/auth/login", "/api/v1/blog/previews", "/api/v1/blog/42", "/swagger-ui/index.html"})
+    private String path;
+
+    private PublicPaths publicPaths;
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        publicPaths = new PublicPaths();
+        filter = new JwtAuthenticationFilter(Mockito.mock(TokenService.class),
+                new CustomUserDetailsService(null, false, 0, Duration.ZERO), publicPaths);
+        request = new MockHttpServletRequest(path.startsWith("/api/v1/auth") ? "POST" : "GET", path);
+    }
+
+    @Benchmark
+    public boolean antPathMatcherPerRequest() {
+        AntPathMatcher pathMatcher = new AntPathMatcher();
+        return Arrays.stream(LEGACY_PUBLIC_PATHS).anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Benchmark
+    public boolean publicPaths() {
+        return publicPaths.skipsAuthentication(request);
+    }
+
+    @Benchmark
+    public int filterWithoutToken() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return response.getStatus();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PublicPathsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,168 @@
+package com.codehacks.blog.benchmark;
+
+import com.codehacks.blog.it.PostgresTestContainer;
+import com.codehacks.blog.subscription.dto.SubscriberImportResult;
+import com.codehacks.blog.subscription.repository.SubscriberBulkOperationsImpl;
+import com.codehacks.blog.subscription.repository.SubscriberRepository;
+import com.codehacks.blog.subscription.service.SubscriberImportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subscriber import against a real Postgres: {@code legacy} inserts one row per round trip in a single
+ * transaction, as {@code saveAll} does with an identity id, and {@code current} streams the same rows as CSV
+ * through {@link SubscriberImportServiceImpl}, upserting {@code batchSize} rows per statement. Both share one
+ * connection. The {@code rows} counter is rows per second; pass {@code -p batchSize=...} to try other batch sizes.
+ * Needs Docker for the Postgres container. Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.codehacks.blog.benchmark.SubscriberImportBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubscriberImportBenchmark {
+
+    // The columns and unique email index Hibernate creates for Subscriber, in case the container is fresh
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS subscribers (
+                id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                email varchar(255) UNIQUE,
+                status smallint NOT NULL,
+                created_at timestamp(6) NOT NULL,
+                unsubscribed_at timestamp(6),
+                version bigint
+            )
+            """;
+
+    private static final String INSERT_ONE = "INSERT INTO subscribers (email, status, created_at, version) "
+            + "VALUES (?, 0, LOCALTIMESTAMP, 0) RETURNING id";
+
+    @Param({"legacy", "current"})
+    private String mode;
+
+    @Param({"1000"})
+    private int batchSize;
+
+    @Param({"10000"})
+    private int importSize;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ValidatorFactory validatorFactory;
+    private SubscriberImportServiceImpl importService;
+    private long importNumber;
+    private byte[] csv;
+
+    @Setup
+    public void setUp() {
+        PostgresTestContainer postgres = PostgresTestContainer.getInstance();
+        dataSource = new SingleConnectionDataSource(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword(), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(CREATE_TABLE);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        SubscriberBulkOperationsImpl bulkOperations = new SubscriberBulkOperationsImpl(jdbcTemplate);
+        SubscriberRepository subscriberRepository = (SubscriberRepository) Proxy.newProxyInstance(
+                SubscriberRepository.class.getClassLoader(), new Class<?>[]{SubscriberRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("upsertAll")) {
+                        return method.invoke(bulkOperations, args);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        importService = new SubscriberImportServiceImpl(subscriberRepository, new ObjectMapper(),
+                validatorFactory.getValidator(), batchSize, 10);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE subscribers");
+    }
+
+    @Setup(Level.Invocation)
+    public void nextImport() {
+        // Fresh addresses every time, so each import inserts all of its rows
+        importNumber++;
+        StringBuilder lines = new StringBuilder("email\n");
+        for (int i = 0; i < importSize; i++) {
+            lines.append("reader").append(i).append('.').append(importNumber).append("@example.com\n");
+        }
+        csv = lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+        dataSource.destroy();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Benchmark
+    public long importSubscribers(Counters counters) throws IOException {
+        if (mode.equals("legacy")) {
+            String[] emails = new String(csv, StandardCharsets.UTF_8).lines().skip(1).toArray(String[]::new);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (String email : emails) {
+                    jdbcTemplate.queryForObject(INSERT_ONE, Long.class, email);
+                }
+            });
+            counters.rows += emails.length;
+            return emails.length;
+        }
+        SubscriberImportResult result = importService.importCsv(new ByteArrayInputStream(csv));
+        counters.rows += result.inserted() + result.updated();
+        return result.inserted();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SubscriberImportBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
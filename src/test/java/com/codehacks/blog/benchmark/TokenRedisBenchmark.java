@@ -0,0 +1,153 @@
+package com.codehacks.blog.benchmark;
+
+import com.codehacks.blog.auth.model.Role;
+import com.codehacks.blog.auth.model.User;
+import com.codehacks.blog.auth.service.TokenServiceImpl;
+import com.codehacks.blog.auth.store.RedisTokenStore;
+import com.codehacks.blog.it.RedisTestContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Session operations of {@link TokenServiceImpl} on a {@link RedisTokenStore} against a real Redis, next to the
+ * command sequences they replaced: {@code login} is a returning user's login ({@code EXISTS} + {@code GET} before,
+ * one {@code GET} now), {@code logout} ends one session ({@code EXISTS} + {@code DEL} before, one {@code UNLINK}
+ * now) and {@code revokeRole} ends {@code users} sessions (one {@code DEL} and {@code PUBLISH} round trip per user
+ * before, pipelined batches now). Needs Docker for the Redis container. Run with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=com.codehacks.blog.benchmark.TokenRedisBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenRedisBenchmark {
+
+    private static final String KEY_PREFIX = "token:";
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Param({"legacy", "current"})
+    private String mode;
+
+    @Param({"1000"})
+    private int users;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private TokenServiceImpl tokenService;
+    private User user;
+    private List<String> emails;
+    private Map<String, String> sessions;
+
+    @Setup
+    public void setUp() {
+        RedisTestContainer redis = RedisTestContainer.getInstance();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getRedisPort()));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+
+        tokenService = new TokenServiceImpl(new RedisTokenStore(redisTemplate));
+        ReflectionTestUtils.setField(tokenService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(tokenService, "validationCacheTtl", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(tokenService, "validationCacheMaxSize", 10_000L);
+        tokenService.init();
+
+        user = new User();
+        user.setId(1L);
+        user.setUsername("reader");
+        user.setEmail("reader@example.com");
+        user.setRole(Role.USER);
+
+        emails = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            emails.add("author" + i + "@example.com");
+        }
+        sessions = emails.stream().collect(Collectors.toMap(email -> KEY_PREFIX + email, Function.identity()));
+    }
+
+    @Setup(Level.Invocation)
+    public void storeSessions() {
+        redisTemplate.opsForValue().set(KEY_PREFIX + user.getEmail(), "token");
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public String login() {
+        String key = KEY_PREFIX + user.getEmail();
+        if (mode.equals("legacy")) {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(key)) ? redisTemplate.opsForValue().get(key) : null;
+        }
+        return tokenService.getOrCreateToken(user);
+    }
+
+    @Benchmark
+    public void logout() {
+        String key = KEY_PREFIX + user.getEmail();
+        if (mode.equals("legacy")) {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                redisTemplate.delete(key);
+            }
+            redisTemplate.convertAndSend(TokenServiceImpl.REVOCATION_CHANNEL, user.getEmail());
+            return;
+        }
+        tokenService.invalidateToken(user.getEmail());
+    }
+
+    @Benchmark
+    public long revokeRole() {
+        // The single MSET restoring the sessions is counted in both modes alike
+        redisTemplate.opsForValue().multiSet(sessions);
+        if (mode.equals("legacy")) {
+            long ended = 0;
+            for (String email : emails) {
+                if (Boolean.TRUE.equals(redisTemplate.delete(KEY_PREFIX + email))) {
+                    ended++;
+                }
+                redisTemplate.convertAndSend(TokenServiceImpl.REVOCATION_CHANNEL, email);
+            }
+            return ended;
+        }
+        return tokenService.invalidateTokens(emails);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TokenRedisBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
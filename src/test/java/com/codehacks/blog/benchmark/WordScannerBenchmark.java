@@ -0,0 +1,86 @@
+package com.codehacks.blog.benchmark;
+
+import com.codehacks.blog.util.WordScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the regex split/join preview computation with {@link WordScanner} on posts of typical sizes.
+ * Run from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.codehacks.blog.benchmark.WordScannerBenchmark}; add {@code -prof gc} to the
+ * options to see the allocation rate of each variant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WordScannerBenchmark {
+
+    private static final String[] VOCABULARY = {
+            "spring", "boot", "the", "a", "post", "service", "repository", "of", "cache", "query",
+            "index", "and", "to", "performance", "is", "transaction", "we", "request", "latency", "in"
+    };
+
+    @Param({"300", "800", "3000"})
+    private int words;
+
+    private String content;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(i % 60 == 0 ? "\n\n" : " ");
+            }
+            text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+        }
+        content = text.toString();
+    }
+
+    @Benchmark
+    public String regexPreview() {
+        int wordCount = content.trim().split("\\s+").length;
+        if (wordCount >= 600) {
+            String[] all = content.trim().split("\\s+");
+            return String.join(" ", Arrays.copyOfRange(all, 0, Math.min((int) (wordCount * 0.8), all.length)));
+        }
+        return String.join("\n\n", Arrays.stream(content.split("\n\n")).limit(2).toList());
+    }
+
+    @Benchmark
+    public String scannerPreview() {
+        int wordCount = WordScanner.countWords(content);
+        if (wordCount >= 600) {
+            return content.substring(0, WordScanner.scan(content, (int) (wordCount * 0.8)).cutOffset());
+        }
+        return content.substring(0, WordScanner.paragraphsEnd(content, 2));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(WordScannerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
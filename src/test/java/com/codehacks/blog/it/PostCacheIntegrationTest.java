@@ -0,0 +1,139 @@
+package com.codehacks.blog.it;
+
+import com.codehacks.blog.post.config.PostCacheConfig;
+import com.codehacks.blog.post.dto.CommentSummaryDTO;
+import com.codehacks.blog.post.dto.PostDetailDTO;
+import com.codehacks.blog.post.dto.PostPreviewDTO;
+import com.codehacks.blog.post.dto.PostSummaryDTO;
+import com.codehacks.blog.post.exception.PostNotFoundException;
+import com.codehacks.blog.post.model.Author;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.service.CommentService;
+import com.codehacks.blog.post.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class PostCacheIntegrationTest {
+
+    static PostgresTestContainer postgres = PostgresTestContainer.getInstance();
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Author author = new Author("Grace", "Hopper", "grace@example.com");
+
+    private Post post;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.execute("DELETE FROM comments");
+        jdbcTemplate.execute("DELETE FROM posts");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        post = postService.createPost(new Post("Caching done right", "Cached reads must never go stale.", author));
+    }
+
+    @Test
+    @DisplayName("Post reads are served from the post-by-id cache")
+    void shouldCachePostById() {
+        // When
+        postService.getPostDetail(post.getId());
+
+        // Then
+        assertThat(cacheManager.getCache(PostCacheConfig.POST_BY_ID).get(post.getId(), PostDetailDTO.class))
+                .isNotNull();
+    }
+
+    @Test
+    @DisplayName("A cached post is dropped when the post is updated")
+    void shouldNotServeStalePostAfterUpdate() {
+        // Given
+        postService.getPostDetail(post.getId());
+
+        // When
+        postService.updatePost(new Post("Caching done better", "Updated content is visible at once.", author),
+                post.getId());
+
+        // Then
+        PostDetailDTO reloaded = postService.getPostDetail(post.getId());
+        assertThat(reloaded.title()).isEqualTo("Caching done better");
+        assertThat(reloaded.content()).isEqualTo("Updated content is visible at once.");
+    }
+
+    @Test
+    @DisplayName("Previews and recent posts reflect updates and deletions")
+    void shouldEvictListingsOnWrite() {
+        // Given
+        PageRequest page = PageRequest.of(0, 10);
+        postService.getBlogPreviews(page);
+        postService.getRecentPosts(page);
+
+        // When
+        postService.updatePost(new Post("Caching done better", "Updated content is visible at once.", author),
+                post.getId());
+
+        // Then
+        assertThat(postService.getBlogPreviews(page)).extracting(PostPreviewDTO::getTitle)
+                .containsExactly("Caching done better");
+        assertThat(postService.getRecentPosts(page)).extracting(PostSummaryDTO::getTitle)
+                .containsExactly("Caching done better");
+
+        // When
+        postService.deletePost(post.getId());
+
+        // Then
+        assertThat(postService.getBlogPreviews(page)).isEmpty();
+        assertThat(postService.getRecentPosts(page)).isEmpty();
+        assertThatThrownBy(() -> postService.getPostDetail(post.getId())).isInstanceOf(PostNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Deleting a comment drops it from the cached post")
+    void shouldEvictPostWhenCommentIsDeleted() {
+        // Given
+        Long commentId = jdbcTemplate.queryForObject(
+                "INSERT INTO comments (content, author, post_id, created_at) VALUES (?, ?, ?, now()) RETURNING id",
+                Long.class, "First!", "reader", post.getId());
+        PostDetailDTO cached = postService.getPostDetail(post.getId());
+        assertThat(cached.commentCount()).isEqualTo(1);
+        assertThat(cached.comments()).extracting(CommentSummaryDTO::content).containsExactly("First!");
+
+        // When
+        commentService.deleteComment(commentId);
+
+        // Then
+        PostDetailDTO reloaded = postService.getPostDetail(post.getId());
+        assertThat(reloaded.commentCount()).isZero();
+        assertThat(reloaded.comments()).isEmpty();
+    }
+}
@@ -0,0 +1,101 @@
+package com.codehacks.blog.it;
+
+import com.codehacks.blog.post.dto.CommentSummaryDTO;
+import com.codehacks.blog.post.dto.PostCommentsDTO;
+import com.codehacks.blog.post.model.Author;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.service.CommentService;
+import com.codehacks.blog.post.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class PostCommentsIntegrationTest {
+
+    static PostgresTestContainer postgres = PostgresTestContainer.getInstance();
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long busyPostId;
+    private Long quietPostId;
+    private Long silentPostId;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.execute("DELETE FROM comments");
+        jdbcTemplate.execute("DELETE FROM posts");
+
+        Author author = new Author("Barbara", "Liskov", "barbara@example.com");
+        busyPostId = postService.createPost(new Post("Busy post", "Everyone has an opinion.", author)).getId();
+        quietPostId = postService.createPost(new Post("Quiet post", "One reader found it.", author)).getId();
+        silentPostId = postService.createPost(new Post("Silent post", "Nobody said a word.", author)).getId();
+
+        for (int i = 1; i <= 5; i++) {
+            addComment(busyPostId, "Comment " + i, "2024-01-0" + i + " 10:00:00");
+        }
+        addComment(quietPostId, "Lonely comment", "2024-01-01 10:00:00");
+    }
+
+    @Test
+    @DisplayName("Counts and newest comments of several posts come back together")
+    void shouldReturnCountsAndNewestCommentsPerPost() {
+        // When
+        Map<Long, PostCommentsDTO> comments = commentService.getCommentsForPosts(
+                List.of(silentPostId, busyPostId, quietPostId), 2);
+
+        // Then
+        assertThat(comments).containsOnlyKeys(silentPostId, busyPostId, quietPostId);
+        assertThat(comments.get(busyPostId).commentCount()).isEqualTo(5);
+        assertThat(comments.get(busyPostId).latestComments())
+                .extracting(CommentSummaryDTO::content).containsExactly("Comment 5", "Comment 4");
+        assertThat(comments.get(quietPostId).commentCount()).isEqualTo(1);
+        assertThat(comments.get(quietPostId).latestComments())
+                .extracting(CommentSummaryDTO::content).containsExactly("Lonely comment");
+        assertThat(comments.get(silentPostId)).isEqualTo(PostCommentsDTO.NONE);
+    }
+
+    @Test
+    @DisplayName("Asking for no comments still returns every count")
+    void shouldReturnCountsOnly() {
+        // When
+        Map<Long, PostCommentsDTO> comments = commentService.getCommentsForPosts(List.of(busyPostId, quietPostId), 0);
+
+        // Then
+        assertThat(comments.get(busyPostId).commentCount()).isEqualTo(5);
+        assertThat(comments.get(quietPostId).commentCount()).isEqualTo(1);
+        assertThat(comments.values()).allSatisfy(post -> assertThat(post.latestComments()).isEmpty());
+    }
+
+    private void addComment(Long postId, String content, String createdAt) {
+        jdbcTemplate.update("INSERT INTO comments (content, author, post_id, created_at, updated_at) "
+                + "VALUES (?, 'reader', ?, CAST(? AS timestamp), CAST(? AS timestamp))",
+                content, postId, createdAt, createdAt);
+    }
+}
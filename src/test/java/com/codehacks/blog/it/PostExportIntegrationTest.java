@@ -0,0 +1,120 @@
+package com.codehacks.blog.it;
+
+import com.codehacks.blog.post.model.Author;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.service.PostExportService;
+import com.codehacks.blog.post.service.PostService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports enough posts that materializing them would not fit in a small heap. Run with
+ * {@code mvn test -Pexport-memory} to execute it under {@code -Xmx128m}.
+ */
+@Tag("export-memory")
+@ActiveProfiles("test")
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=INFO")
+class PostExportIntegrationTest {
+
+    private static final int GENERATED_POSTS = 100_000;
+
+    static PostgresTestContainer postgres = PostgresTestContainer.getInstance();
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostExportService postExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.execute("DELETE FROM comments");
+        jdbcTemplate.execute("DELETE FROM posts");
+
+        Post first = postService.createPost(new Post("Export starts here", "The first post of the export.",
+                new Author("Alan", "Turing", "alan@example.com")));
+        Long authorId = jdbcTemplate.queryForObject("SELECT author_id FROM posts WHERE id = ?", Long.class,
+                first.getId());
+
+        jdbcTemplate.update("""
+                INSERT INTO posts (title, content, slug, status, created_at, updated_at, version, author_id,
+                                   preview_content, word_count, author_name)
+                SELECT 'Generated post ' || n, repeat('Lorem ipsum dolor sit amet, consectetur adipiscing. ', 40),
+                       'generated-post-' || n, 1, now(), now(), 0, ?, 'Lorem ipsum', 280, 'Alan Turing'
+                FROM generate_series(1, ?) AS n
+                """, authorId, GENERATED_POSTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM posts");
+    }
+
+    @Test
+    @DisplayName("Every post is written as one JSON line without holding them all in memory")
+    void shouldStreamAllPostsAsNdjson() throws Exception {
+        // Given
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        // When
+        long exported = postExportService.exportPosts(out);
+
+        // Then
+        assertThat(exported).isEqualTo(GENERATED_POSTS + 1);
+        assertThat(out.lines).isEqualTo(GENERATED_POSTS + 1);
+
+        JsonNode first = objectMapper.readTree(out.firstLine.toString(StandardCharsets.UTF_8));
+        assertThat(first.get("title").asText()).isEqualTo("Export starts here");
+        assertThat(first.get("author").asText()).isEqualTo("Alan Turing");
+        assertThat(first.has("comments")).isFalse();
+    }
+
+    /**
+     * Discards the export, keeping only the first line and the number of lines.
+     */
+    private static final class LineCountingOutputStream extends OutputStream {
+
+        private final ByteArrayOutputStream firstLine = new ByteArrayOutputStream();
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (lines == 0 && b != '\n') {
+                firstLine.write(b);
+            }
+            if (b == '\n') {
+                lines++;
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.codehacks.blog.it;
+
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.post.dto.PostSummaryDTO;
+import com.codehacks.blog.post.model.Author;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.service.FullTextPostSearchService;
+import com.codehacks.blog.post.service.PostSearchService;
+import com.codehacks.blog.post.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "blog.search.backend=postgres")
+class PostFullTextSearchIntegrationTest {
+
+    static PostgresTestContainer postgres = PostgresTestContainer.getInstance();
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.execute("DELETE FROM comments");
+        jdbcTemplate.execute("DELETE FROM posts");
+
+        Author author = new Author("Ada", "Lovelace", "ada@example.com");
+        postService.createPost(new Post("Tuning PostgreSQL indexes",
+                "GIN indexes make full text search fast. Indexes everywhere.", author));
+        postService.createPost(new Post("Cooking with cast iron",
+                "Nothing about databases here at all, only pans.", author));
+        postService.createPost(new Post("A note on search",
+                "We mention indexing once in passing.", author));
+    }
+
+    @Test
+    @DisplayName("Postgres backend is selected and its GIN index exists")
+    void shouldUseGeneratedColumnWithGinIndex() {
+        Integer indexes = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_indexes WHERE tablename = 'posts' AND indexname = 'idx_posts_search_vector'",
+                Integer.class);
+
+        assertThat(postSearchService).isInstanceOf(FullTextPostSearchService.class);
+        assertThat(indexes).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Results are ranked, stemmed and paged by cursor")
+    void shouldReturnRankedPagesByCursor() {
+        CursorPage<PostSummaryDTO> first = postService.searchPosts("index", false, false, 1, null);
+
+        assertThat(first.items()).extracting(PostSummaryDTO::getTitle).containsExactly("Tuning PostgreSQL indexes");
+        assertThat(first.nextCursor()).isNotNull();
+
+        CursorPage<PostSummaryDTO> second = postService.searchPosts("index", false, false, 1, first.nextCursor());
+
+        assertThat(second.items()).extracting(PostSummaryDTO::getTitle).containsExactly("A note on search");
+        assertThat(second.nextCursor()).isNotNull();
+
+        CursorPage<PostSummaryDTO> third = postService.searchPosts("index", false, false, 1, second.nextCursor());
+
+        assertThat(third.items()).isEmpty();
+        assertThat(third.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Exact match is answered as a phrase query")
+    void shouldMatchPhrases() {
+        List<PostSummaryDTO> phrase = postService.searchPosts("full text search", false, true, 10, null).items();
+        List<PostSummaryDTO> reversed = postService.searchPosts("search text full", false, true, 10, null).items();
+
+        assertThat(phrase).extracting(PostSummaryDTO::getTitle).containsExactly("Tuning PostgreSQL indexes");
+        assertThat(reversed).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Updated content is searchable without any index maintenance")
+    void shouldSeeUpdatesImmediately() {
+        PostSummaryDTO cooking = postService.searchPosts("pans", false, false, 10, null).items().get(0);
+
+        Author author = new Author("Ada", "Lovelace", "ada@example.com");
+        postService.updatePost(new Post("Cooking with cast iron", "Seasoning skillets the right way.", author),
+                cooking.getId());
+
+        assertThat(postService.searchPosts("pans", false, false, 10, null).items()).isEmpty();
+        assertThat(postService.searchPosts("skillet", false, false, 10, null).items())
+                .extracting(PostSummaryDTO::getId).containsExactly(cooking.getId());
+    }
+}
@@ -0,0 +1,78 @@
+package com.codehacks.blog.it;
+
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.post.dto.PostSummaryDTO;
+import com.codehacks.blog.post.model.Author;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class PostKeysetPaginationIntegrationTest {
+
+    static PostgresTestContainer postgres = PostgresTestContainer.getInstance();
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.execute("DELETE FROM comments");
+        jdbcTemplate.execute("DELETE FROM posts");
+
+        Author author = new Author("Edsger", "Dijkstra", "edsger@example.com");
+        for (int i = 1; i <= 7; i++) {
+            postService.createPost(new Post("Keyset post number " + i, "Content of post number " + i, author));
+        }
+        // Three posts share a timestamp so the id tie-breaker is exercised across page boundaries
+        jdbcTemplate.execute("UPDATE posts SET created_at = TIMESTAMP '2024-01-01 10:00:00' "
+                + "WHERE title IN ('Keyset post number 2', 'Keyset post number 3', 'Keyset post number 4')");
+    }
+
+    @Test
+    @DisplayName("Walking the cursor returns every post exactly once, newest first")
+    void shouldVisitEveryPostOnceInStableOrder() {
+        // Given
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM posts ORDER BY created_at DESC, id DESC", Long.class);
+
+        // When
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<PostSummaryDTO> page = postService.getPosts(2, cursor);
+            page.items().forEach(post -> visited.add(post.getId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertThat(visited).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(4);
+    }
+}
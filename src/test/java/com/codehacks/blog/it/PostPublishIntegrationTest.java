@@ -0,0 +1,79 @@
+package com.codehacks.blog.it;
+
+import com.codehacks.blog.newsletter.service.NewsletterService;
+import com.codehacks.blog.post.model.Author;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.model.PostPublishedEvent;
+import com.codehacks.blog.post.model.Status;
+import com.codehacks.blog.post.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@RecordApplicationEvents
+class PostPublishIntegrationTest {
+
+    static PostgresTestContainer postgres = PostgresTestContainer.getInstance();
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    // Keeps the newsletter from mailing anyone; this test only checks that the publication is announced
+    @MockBean
+    private NewsletterService newsletterService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Author author = new Author("Ada", "Lovelace", "ada@example.com");
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.execute("DELETE FROM comments");
+        jdbcTemplate.execute("DELETE FROM posts");
+    }
+
+    @Test
+    @DisplayName("Publishing a draft announces the publication once")
+    void shouldRaisePublishedEventWhenDraftIsPublished() {
+        // Given
+        Post draft = postService.createPost(new Post("Notes on the engine", "It weaves algebraic patterns.", author));
+        postService.updatePost(new Post("Notes on the engine", "It weaves algebraic patterns, twice.", author),
+                draft.getId());
+        assertThat(events.stream(PostPublishedEvent.class)).isEmpty();
+
+        // When
+        Post published = postService.publishPost(draft.getId());
+        postService.publishPost(draft.getId());
+
+        // Then
+        assertThat(published.getStatus()).isEqualTo(Status.PUBLISHED);
+        assertThat(published.getPublishedAt()).isNotNull();
+        assertThat(events.stream(PostPublishedEvent.class))
+                .extracting(PostPublishedEvent::postId)
+                .containsExactly(draft.getId());
+    }
+}
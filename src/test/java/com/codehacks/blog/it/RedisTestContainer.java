@@ -0,0 +1,34 @@
+package com.codehacks.blog.it;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+public class RedisTestContainer extends GenericContainer<RedisTestContainer> {
+
+    private static final String IMAGE_VERSION = "redis:7-alpine";
+    private static final int REDIS_PORT = 6379;
+    private static RedisTestContainer container;
+
+    private RedisTestContainer() {
+        super(DockerImageName.parse(IMAGE_VERSION));
+        withExposedPorts(REDIS_PORT);
+        withReuse(true);
+    }
+
+    public static RedisTestContainer getInstance() {
+        if (container == null) {
+            container = new RedisTestContainer();
+            container.start();
+        }
+        return container;
+    }
+
+    public int getRedisPort() {
+        return getMappedPort(REDIS_PORT);
+    }
+
+    @Override
+    public void stop() {
+        // We do nothing here as the container is reused
+    }
+}
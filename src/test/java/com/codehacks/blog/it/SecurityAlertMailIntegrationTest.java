@@ -0,0 +1,71 @@
+package com.codehacks.blog.it;
+
+import com.codehacks.blog.auth.alert.SecurityAlert;
+import com.codehacks.blog.auth.alert.SecurityAlertDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.testcontainers.containers.GenericContainer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SecurityAlertMailIntegrationTest {
+
+    private static final int SMTP_PORT = 3025;  // GreenMail default SMTP port
+
+    private static GenericContainer<?> mailContainer;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SecurityAlertDispatcher dispatcher;
+
+    @BeforeAll
+    static void startMailServer() {
+        mailContainer = new GenericContainer<>("greenmail/standalone:latest")
+                .withExposedPorts(SMTP_PORT);
+        mailContainer.start();
+    }
+
+    @AfterAll
+    static void stopMailServer() {
+        if (mailContainer != null) {
+            mailContainer.stop();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.destroy();
+    }
+
+    @Test
+    void dispatch_ShouldDeliverAlertAndDigestThroughOneMailSender() {
+        // Given
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(mailContainer.getHost());
+        mailSender.setPort(mailContainer.getMappedPort(SMTP_PORT));
+        dispatcher = new SecurityAlertDispatcher(mailSender, meterRegistry, 2, 10, Duration.ofMillis(500), 100);
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(new SecurityAlert("security@example.com", "admin@example.com", "203.0.113.9",
+                    now.plusSeconds(i)));
+        }
+
+        // Then
+        await().atMost(Duration.ofSeconds(10)).until(() -> sendCount("sent") == 2);
+        assertEquals(0, sendCount("failed"));
+    }
+
+    private long sendCount(String outcome) {
+        return meterRegistry.get("blog.security.alerts.send").tag("outcome", outcome).timer().count();
+    }
+}
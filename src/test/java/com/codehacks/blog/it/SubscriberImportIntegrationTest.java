@@ -0,0 +1,102 @@
+package com.codehacks.blog.it;
+
+import com.codehacks.blog.subscription.dto.SubscriberImportResult;
+import com.codehacks.blog.subscription.model.Subscriber;
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import com.codehacks.blog.subscription.repository.SubscriberRepository;
+import com.codehacks.blog.subscription.service.SubscriberImportService;
+import com.codehacks.blog.subscription.service.SubscriptionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "blog.subscription.import.batch-size=100")
+class SubscriberImportIntegrationTest {
+
+    static PostgresTestContainer postgres = PostgresTestContainer.getInstance();
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private SubscriberImportService subscriberImportService;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+
+    @BeforeEach
+    void setup() {
+        subscriberRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("New emails are inserted and existing ones take the imported status, across batches")
+    void shouldUpsertByEmail() throws Exception {
+        // Given
+        Subscriber existing = new Subscriber("reader42@example.com");
+        existing = subscriberRepository.save(existing);
+        String csv = "email,status\n" + IntStream.rangeClosed(1, 250)
+                .mapToObj(i -> "reader" + i + "@example.com" + (i == 42 ? ",UNSUBSCRIBED" : ""))
+                .collect(Collectors.joining("\n")) + "\nnot-an-email\n";
+
+        // When
+        SubscriberImportResult result = subscriberImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertThat(result.inserted()).isEqualTo(249);
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(subscriberRepository.count()).isEqualTo(250);
+
+        Subscriber updated = subscriptionService.findSubscriberByEmail("reader42@example.com").orElseThrow();
+        assertThat(updated.getId()).isEqualTo(existing.getId());
+        assertThat(updated.getStatus()).isEqualTo(SubscriptionStatus.UNSUBSCRIBED);
+        assertThat(updated.getUnsubscribedAt()).isNotNull();
+        assertThat(updated.getVersion()).isEqualTo(existing.getVersion() + 1);
+
+        Subscriber inserted = subscriptionService.findSubscriberByEmail("reader7@example.com").orElseThrow();
+        assertThat(inserted.getStatus()).isEqualTo(SubscriptionStatus.ACTIVE);
+        assertThat(inserted.getCreatedAt()).isNotNull();
+        assertThat(inserted.getUnsubscribedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Importing the same JSON twice updates every row the second time")
+    void shouldBeRepeatable() throws Exception {
+        // Given
+        byte[] json = """
+                [{"email": "a@example.com", "status": "BANNED"}, "b@example.com"]
+                """.getBytes(StandardCharsets.UTF_8);
+        subscriberImportService.importJson(new ByteArrayInputStream(json));
+
+        // When
+        SubscriberImportResult result = subscriberImportService.importJson(new ByteArrayInputStream(json));
+
+        // Then
+        assertThat(result).isEqualTo(new SubscriberImportResult(0, 2, 0, List.of()));
+        assertThat(subscriptionService.findSubscriberByEmail("a@example.com").orElseThrow().getStatus())
+                .isEqualTo(SubscriptionStatus.BANNED);
+    }
+}
@@ -3,17 +3,17 @@ package com.codehacks.blog.it;
 import com.codehacks.blog.subscription.dto.SubscriberDTO;
 import com.codehacks.blog.subscription.model.Subscriber;
 import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import com.codehacks.blog.subscription.service.SubscriberExportService;
 import com.codehacks.blog.subscription.service.SubscriptionServiceImpl;
 import com.codehacks.blog.util.Constants;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.github.bucket4j.Bucket;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
@@ -25,12 +25,14 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.springframework.security.test.context.support.WithMockUser;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.BDDMockito.given;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -62,19 +64,18 @@ class SubscriptionControllerIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
-    @MockBean
-    private Bucket rateLimiterBucket;
-
     @Autowired
     private SubscriptionServiceImpl subscriptionService;
 
+    @Autowired
+    private SubscriberExportService subscriberExportService;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private final String email = "user@example.com";
 
     @BeforeEach
     void setup() {
-        given(rateLimiterBucket.tryConsume(anyLong())).willReturn(true);
         subscriptionService.deleteAllSubscribers();
     }
 
@@ -200,4 +201,85 @@ class SubscriptionControllerIntegrationTest {
                 .andExpect(jsonPath("$.data.UNSUBSCRIBED[0].email").value("inactive1@example.com"))
                 .andExpect(jsonPath("$.data.BANNED[0].email").value("pending1@example.com"));
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Get subscriber statistics - should count by status and by day")
+    void shouldReturnStatistics_ForAdmin() throws Exception {
+        initializeSubscribers();
+        subscriptionService.unsubscribe("active2@example.com");
+        String today = LocalDate.now().toString();
+
+        mockMvc.perform(get(Constants.SUBSCRIPTION_PATH + "/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.byStatus.ACTIVE").value(1))
+                .andExpect(jsonPath("$.data.byStatus.UNSUBSCRIBED").value(2))
+                .andExpect(jsonPath("$.data.byStatus.BANNED").value(1))
+                .andExpect(jsonPath("$.data.total").value(4));
+
+        mockMvc.perform(get(Constants.SUBSCRIPTION_PATH + "/statistics/daily")
+                        .param("days", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(7)))
+                .andExpect(jsonPath("$.data[6].day").value(today))
+                .andExpect(jsonPath("$.data[6].subscribed").value(4))
+                .andExpect(jsonPath("$.data[6].unsubscribed").value(1))
+                .andExpect(jsonPath("$.data[0].subscribed").value(0));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("List subscribers in a status - should return one page")
+    void shouldPageSubscribersInStatus_ForAdmin() throws Exception {
+        initializeSubscribers();
+
+        mockMvc.perform(get(Constants.SUBSCRIPTION_PATH + "/status/ACTIVE")
+                        .param("page", "1")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(1)))
+                .andExpect(jsonPath("$.data.items[0].email").value("active2@example.com"))
+                .andExpect(jsonPath("$.data.totalElements").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Page through active subscribers - should follow the cursor to the last page")
+    void shouldPageActiveSubscribersByCursor_ForAdmin() throws Exception {
+        initializeSubscribers();
+
+        String firstPage = mockMvc.perform(get(Constants.SUBSCRIPTION_PATH + "/active/page")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(1)))
+                .andExpect(jsonPath("$.data.items[0].email").value("active1@example.com"))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).at("/data/nextCursor").asText();
+
+        mockMvc.perform(get(Constants.SUBSCRIPTION_PATH + "/active/page")
+                        .param("limit", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(1)))
+                .andExpect(jsonPath("$.data.items[0].email").value("active2@example.com"))
+                .andExpect(jsonPath("$.data.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("Export active subscribers - should write one id and email per line")
+    void shouldExportActiveSubscribersAsNdjson() throws Exception {
+        initializeSubscribers();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = subscriberExportService.exportActiveSubscribers(out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("email").asText()).isEqualTo("active1@example.com");
+        assertThat(first.has("id")).isTrue();
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(objectMapper.readTree(lines.get(1)).get("email").asText()).isEqualTo("active2@example.com");
+    }
 }
@@ -0,0 +1,139 @@
+package com.codehacks.blog.it;
+
+import com.codehacks.blog.post.cache.TwoTierCache;
+import com.codehacks.blog.post.cache.TwoTierCacheManager;
+import com.codehacks.blog.post.config.PostCacheConfig;
+import com.codehacks.blog.post.dto.PostDetailDTO;
+import com.codehacks.blog.post.model.Author;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.service.PostService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.cache.type=redis")
+class TwoTierCacheIntegrationTest {
+
+    static PostgresTestContainer postgres = PostgresTestContainer.getInstance();
+    static RedisTestContainer redis = RedisTestContainer.getInstance();
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", redis::getRedisPort);
+    }
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RedisConnectionFactory connectionFactory;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Author author = new Author("Barbara", "Liskov", "barbara@example.com");
+
+    private RedisMessageListenerContainer otherNodeListener;
+    private TwoTierCacheManager otherNode;
+    private Post post;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.execute("DELETE FROM comments");
+        jdbcTemplate.execute("DELETE FROM posts");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        post = postService.createPost(new Post("Near caches at scale", "Every node keeps its own copy.", author));
+
+        RedisCacheManager otherRemote = RedisCacheManager.create(connectionFactory);
+        otherNode = new TwoTierCacheManager(otherRemote, redisTemplate, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(5));
+        otherNodeListener = new RedisMessageListenerContainer();
+        otherNodeListener.setConnectionFactory(connectionFactory);
+        otherNodeListener.addMessageListener(otherNode, new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+        otherNodeListener.afterPropertiesSet();
+        otherNodeListener.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        otherNodeListener.stop();
+        otherNodeListener.destroy();
+    }
+
+    @Test
+    @DisplayName("Repeated reads are answered by the near tier without going to Redis")
+    void shouldHitNearTierOnRepeatedReads() {
+        // Given
+        double nearHitsBefore = nearHits();
+
+        // When
+        postService.getPostDetail(post.getId());
+        postService.getPostDetail(post.getId());
+
+        // Then
+        assertThat(cacheManager).isInstanceOf(TwoTierCacheManager.class);
+        assertThat(nearHits() - nearHitsBefore).isEqualTo(1);
+        assertThat(redisTemplate.hasKey(PostCacheConfig.POST_BY_ID + "::" + post.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("An update on one node clears the near copy held by another node")
+    void shouldInvalidateNearTierOnOtherNodes() {
+        // Given
+        postService.getPostDetail(post.getId());
+        Cache otherCache = otherNode.getCache(PostCacheConfig.POST_BY_ID);
+        assertThat(otherCache.get(post.getId(), PostDetailDTO.class).title()).isEqualTo("Near caches at scale");
+
+        // When
+        postService.updatePost(new Post("Near caches, coherently", "Every node drops its copy on writes.", author),
+                post.getId());
+
+        // Then
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(otherCache.get(post.getId())).isNull());
+
+        postService.getPostDetail(post.getId());
+        assertThat(otherCache.get(post.getId(), PostDetailDTO.class).title()).isEqualTo("Near caches, coherently");
+    }
+
+    private double nearHits() {
+        return meterRegistry.find("blog.cache.gets")
+                .tags("cache", PostCacheConfig.POST_BY_ID, "tier", TwoTierCache.NEAR_TIER, "result", "hit")
+                .counter().count();
+    }
+}
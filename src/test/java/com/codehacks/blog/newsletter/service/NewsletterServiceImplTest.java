@@ -0,0 +1,208 @@
+package com.codehacks.blog.newsletter.service;
+
+import com.codehacks.blog.newsletter.model.CampaignStatus;
+import com.codehacks.blog.newsletter.model.NewsletterCampaign;
+import com.codehacks.blog.newsletter.repository.NewsletterCampaignRepository;
+import com.codehacks.blog.newsletter.repository.NewsletterDeliveryRepository;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.model.Status;
+import com.codehacks.blog.post.repository.PostRepository;
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import com.codehacks.blog.subscription.repository.SubscriberContact;
+import com.codehacks.blog.subscription.repository.SubscriberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NewsletterServiceImplTest {
+
+    private static final long POST_ID = 42L;
+    private static final long CAMPAIGN_ID = 7L;
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final SubscriberRepository subscriberRepository = mock(SubscriberRepository.class);
+    private final NewsletterCampaignRepository campaignRepository = mock(NewsletterCampaignRepository.class);
+    private final NewsletterDeliveryRepository deliveryRepository = mock(NewsletterDeliveryRepository.class);
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NewsletterServiceImpl newsletterService;
+    private NewsletterCampaign campaign;
+
+    @BeforeEach
+    void setUp() {
+        Post post = new Post();
+        post.setId(POST_ID);
+        post.setTitle("Keyset pagination");
+        post.setContent("Why OFFSET gets slower with every page.");
+        post.setPreviewContent("Why OFFSET gets slower");
+        post.setAuthorName("Jane Doe");
+        post.setStatus(Status.PUBLISHED);
+        when(postRepository.findById(POST_ID)).thenReturn(Optional.of(post));
+
+        campaign = new NewsletterCampaign(POST_ID, post.getPublishedAt());
+        campaign.setId(CAMPAIGN_ID);
+        when(campaignRepository.createIfAbsent(eq(POST_ID), any())).thenReturn(1);
+        when(campaignRepository.findByPostId(POST_ID)).thenReturn(Optional.of(campaign));
+        when(deliveryRepository.findRecordedSubscriberIds(eq(POST_ID), anyCollection())).thenReturn(Set.of());
+
+        newsletterService = new NewsletterServiceImpl(postRepository, subscriberRepository, campaignRepository,
+                deliveryRepository, mailSender, meterRegistry, "news@codehacks.com", "https://codehacks.com/posts/",
+                2, 2, 1_000, 3, Duration.ofMillis(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        newsletterService.destroy();
+    }
+
+    @Test
+    void publish_ShouldMailEveryActiveSubscriberPageByPage() {
+        // Given
+        when(subscriberRepository.findContactsAfter(SubscriptionStatus.ACTIVE, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(contact(1L), contact(3L)));
+        when(subscriberRepository.findContactsAfter(SubscriptionStatus.ACTIVE, 3L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(contact(8L)));
+
+        // When
+        newsletterService.publish(POST_ID);
+
+        // Then
+        verify(campaignRepository, timeout(5_000)).complete(eq(CAMPAIGN_ID), any());
+        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        verify(mailSender, times(3)).send(captor.capture());
+        verify(campaignRepository).advance(CAMPAIGN_ID, 3L);
+        verify(campaignRepository).advance(CAMPAIGN_ID, 8L);
+        verify(deliveryRepository, times(3)).record(eq(POST_ID), anyLong(), eq("SENT"), eq(1), any(), isNull());
+        SimpleMailMessage message = captor.getAllValues().get(0);
+        assertAll(
+                () -> assertEquals("New post: Keyset pagination", message.getSubject()),
+                () -> assertEquals("news@codehacks.com", message.getFrom()),
+                () -> assertTrue(message.getText().contains("by Jane Doe")),
+                () -> assertTrue(message.getText().contains("https://codehacks.com/posts/keyset-pagination")),
+                () -> assertEquals(Set.of("s1@example.com", "s3@example.com", "s8@example.com"),
+                        captor.getAllValues().stream().map(mail -> mail.getTo()[0]).collect(Collectors.toSet())),
+                () -> assertEquals(3.0, deliveries("sent"))
+        );
+    }
+
+    @Test
+    void publish_WhenPostAlreadyHasCampaign_ShouldSendNothing() {
+        // Given
+        when(campaignRepository.createIfAbsent(eq(POST_ID), any())).thenReturn(0);
+
+        // When
+        newsletterService.publish(POST_ID);
+
+        // Then
+        verify(campaignRepository, timeout(5_000)).createIfAbsent(eq(POST_ID), any());
+        verify(subscriberRepository, after(200).never()).findContactsAfter(any(), anyLong(), any());
+        verify(mailSender, never()).send(any(SimpleMailMessage.class));
+    }
+
+    @Test
+    void resumeUnfinished_ShouldContinueFromCheckpointAndSkipRecordedSubscribers() {
+        // Given
+        campaign.setLastSubscriberId(3L);
+        when(campaignRepository.findByStatus(CampaignStatus.RUNNING)).thenReturn(List.of(campaign));
+        when(subscriberRepository.findContactsAfter(SubscriptionStatus.ACTIVE, 3L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(contact(5L)));
+        when(deliveryRepository.findRecordedSubscriberIds(POST_ID, List.of(5L))).thenReturn(Set.of(5L));
+
+        // When
+        newsletterService.resumeUnfinished();
+
+        // Then
+        verify(campaignRepository, timeout(5_000)).complete(eq(CAMPAIGN_ID), any());
+        verify(mailSender, never()).send(any(SimpleMailMessage.class));
+        assertEquals(1.0, deliveries("skipped"));
+    }
+
+    @Test
+    void publish_WhenMailServerFailsOnce_ShouldRetryAndRecordAttempts() {
+        // Given
+        when(subscriberRepository.findContactsAfter(SubscriptionStatus.ACTIVE, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(contact(1L)));
+        doThrow(new MailSendException("421 try again later")).doNothing()
+                .when(mailSender).send(any(SimpleMailMessage.class));
+
+        // When
+        newsletterService.publish(POST_ID);
+
+        // Then
+        verify(campaignRepository, timeout(5_000)).complete(eq(CAMPAIGN_ID), any());
+        verify(mailSender, times(2)).send(any(SimpleMailMessage.class));
+        verify(deliveryRepository).record(eq(POST_ID), eq(1L), eq("SENT"), eq(2), any(), isNull());
+    }
+
+    @Test
+    void publish_WhenMailIsRejectedForGood_ShouldRecordFailureWithoutRetrying() {
+        // Given
+        when(subscriberRepository.findContactsAfter(SubscriptionStatus.ACTIVE, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(contact(1L)));
+        doThrow(new MailAuthenticationException("535 bad credentials"))
+                .when(mailSender).send(any(SimpleMailMessage.class));
+
+        // When
+        newsletterService.publish(POST_ID);
+
+        // Then
+        verify(campaignRepository, timeout(5_000)).complete(eq(CAMPAIGN_ID), any());
+        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(deliveryRepository).record(eq(POST_ID), eq(1L), eq("FAILED"), anyInt(), any(),
+                eq("535 bad credentials"));
+        assertEquals(1.0, deliveries("failed"));
+    }
+
+    private double deliveries(String outcome) {
+        return meterRegistry.get("blog.newsletter.deliveries").tag("outcome", outcome).counter().count();
+    }
+
+    private static SubscriberContact contact(long id) {
+        return new Contact(id, "s" + id + "@example.com");
+    }
+
+    private record Contact(Long id, String email) implements SubscriberContact {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.codehacks.blog.post.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TwoTierCacheTest {
+
+    private ConcurrentMapCache remote;
+    private MeterRegistry meterRegistry;
+    private List<String> invalidations;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("post-by-id");
+        meterRegistry = new SimpleMeterRegistry();
+        invalidations = new ArrayList<>();
+        cache = new TwoTierCache(remote, 2, Duration.ofMinutes(1), meterRegistry,
+                (name, key) -> invalidations.add(name + ":" + key));
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromNearTier() {
+        // Given
+        remote.put(1L, "post");
+
+        // When
+        cache.get(1L);
+        cache.get(1L);
+
+        // Then
+        assertAll(
+                () -> assertEquals(1, count("blog.cache.gets", TwoTierCache.NEAR_TIER, "hit")),
+                () -> assertEquals(1, count("blog.cache.gets", TwoTierCache.NEAR_TIER, "miss")),
+                () -> assertEquals(1, count("blog.cache.gets", TwoTierCache.REMOTE_TIER, "hit"))
+        );
+    }
+
+    @Test
+    void shouldWriteThroughAndAnnounceWrites() {
+        // When
+        cache.put(1L, "post");
+        cache.evict(2L);
+        cache.clear();
+
+        // Then
+        assertAll(
+                () -> assertEquals(List.of("post-by-id:1", "post-by-id:2", "post-by-id:null"), invalidations),
+                () -> assertNull(remote.get(1L))
+        );
+    }
+
+    @Test
+    void shouldFallBackToRemoteTierAfterNearInvalidation() {
+        // Given
+        cache.put(1L, "old");
+        remote.put(1L, "new");
+
+        // When
+        cache.invalidateNear("1");
+
+        // Then
+        assertAll(
+                () -> assertEquals("new", cache.get(1L, String.class)),
+                () -> assertEquals(1, count("blog.cache.evictions", TwoTierCache.NEAR_TIER, null))
+        );
+    }
+
+    @Test
+    void shouldBoundNearTier() {
+        // When
+        for (long id = 1; id <= 10; id++) {
+            cache.put(id, "post " + id);
+        }
+        ((com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache()).cleanUp();
+
+        // Then
+        assertEquals(8, count("blog.cache.evictions", TwoTierCache.NEAR_TIER, null));
+    }
+
+    private double count(String name, String tier, String result) {
+        var search = meterRegistry.find(name).tag("tier", tier);
+        if (result != null) {
+            search = search.tag("result", result);
+        }
+        return search.counter().count();
+    }
+}
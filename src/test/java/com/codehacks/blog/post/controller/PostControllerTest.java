@@ -3,12 +3,20 @@ package com.codehacks.blog.post.controller;
 import com.codehacks.blog.auth.config.JwtAuthenticationFilter;
 import com.codehacks.blog.auth.exception.AuthGlobalExceptionHandler;
 import com.codehacks.blog.auth.exception.InvalidPostException;
+import com.codehacks.blog.post.dto.CommentSummaryDTO;
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.post.dto.PostCommentsDTO;
+import com.codehacks.blog.post.dto.PostDetailDTO;
 import com.codehacks.blog.post.dto.PostPreviewDTO;
 import com.codehacks.blog.post.dto.PostSummaryDTO;
+import com.codehacks.blog.post.exception.InvalidCursorException;
 import com.codehacks.blog.post.exception.PostNotFoundException;
 import com.codehacks.blog.subscription.exception.SubscriptionGlobalExceptionHandler;
 import com.codehacks.blog.post.model.Author;
 import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.model.Status;
+import com.codehacks.blog.post.service.CommentService;
+import com.codehacks.blog.post.service.PostExportService;
 import com.codehacks.blog.post.service.PostService;
 import com.codehacks.blog.util.Constants;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -22,33 +30,47 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -66,6 +88,12 @@ class PostControllerTest {
     @MockBean
     private PostService postService;
 
+    @MockBean
+    private PostExportService postExportService;
+
+    @MockBean
+    private CommentService commentService;
+
     @MockBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -87,45 +115,113 @@ class PostControllerTest {
     @Test
     void shouldReturnAllPosts() throws Exception {
         // Given
-        Post post1 = new Post("Post 1", "Content 1", author);
-        Post post2 = new Post("Post 2", "Content 2", author);
-        Set<Post> posts = new HashSet<>(Arrays.asList(post1, post2));
+        List<PostSummaryDTO> posts = List.of(
+                new PostSummaryDTO(2L, "Post 2", LocalDateTime.now()),
+                new PostSummaryDTO(1L, "Post 1", LocalDateTime.now().minusDays(1)));
 
         // When
-        Mockito.when(postService.getAllPosts()).thenReturn(posts);
+        Mockito.when(postService.getPosts(20, null)).thenReturn(CursorPage.of(posts, "next-page"));
 
         // Then
         mockMvc.perform(get(Constants.BLOG_PATH + "/all")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(posts.size()));
+                .andExpect(jsonPath("$.items.length()").value(posts.size()))
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
 
-        verify(postService, times(1)).getAllPosts();
+        verify(postService, times(1)).getPosts(20, null);
     }
 
     @Test
     void shouldReturnEmptyListWhenNoPostsExist() throws Exception {
         // Given & When
-        when(postService.getAllPosts()).thenReturn(Collections.emptySet());
+        when(postService.getPosts(20, null)).thenReturn(CursorPage.last(Collections.emptyList()));
 
         // Then
         mockMvc.perform(get(Constants.BLOG_PATH + "/all")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(0));
+                .andExpect(jsonPath("$.items.length()").value(0))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(postService, times(1)).getPosts(20, null);
+    }
+
+    @Test
+    void shouldClampPostPageSizeAndForwardCursor() throws Exception {
+        // Given
+        when(postService.getPosts(100, "abc")).thenReturn(CursorPage.last(Collections.emptyList()));
+
+        // When & Then
+        mockMvc.perform(get(Constants.BLOG_PATH + "/all?limit=1000&cursor=abc"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(Constants.BLOG_PATH + "/all?limit=0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").isNotEmpty());
+
+        verify(postService, times(1)).getPosts(100, "abc");
+    }
+
+    @Test
+    void shouldStreamPostExportAsNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(postExportService).exportPosts(any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get(Constants.BLOG_PATH + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        assertEquals(Duration.ofMinutes(10).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void shouldGzipPostExportWhenRequested() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(postExportService).exportPosts(any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get(Constants.BLOG_PATH + "/export?gzip=true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult dispatched = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
 
-        verify(postService, times(1)).getAllPosts();
+        // Then
+        byte[] compressed = dispatched.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals("{\"id\":1}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
     }
 
     @Test
     void shouldReturnPostWhenPostExists() throws Exception {
         // Given
         Long postId = 1L;
-        Post post = new Post("Test Post", "This is the content", author);
-        post.setId(postId);
+        PostDetailDTO post = new PostDetailDTO(postId, "Test Post", "This is the content", "test-post", null,
+                Status.PUBLISHED, "John Doe", LocalDateTime.now(), null, LocalDateTime.now(), 3,
+                List.of(new CommentSummaryDTO(7L, "reader", "Nice post", LocalDateTime.now())));
 
         // When
-        when(postService.getPostById(postId)).thenReturn(post);
+        when(postService.getPostDetail(postId)).thenReturn(post);
 
         // Then
         mockMvc.perform(get(Constants.BLOG_PATH + "/{id}", postId)
@@ -133,10 +229,11 @@ class PostControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.title").value("Test Post"))
                 .andExpect(jsonPath("$.content").value("This is the content"))
-                .andExpect(jsonPath("$.author.firstName").value("John"))
-                .andExpect(jsonPath("$.author.lastName").value("Doe"));
+                .andExpect(jsonPath("$.author").value("John Doe"))
+                .andExpect(jsonPath("$.commentCount").value(3))
+                .andExpect(jsonPath("$.comments[0].content").value("Nice post"));
 
-        verify(postService, times(1)).getPostById(postId);
+        verify(postService, times(1)).getPostDetail(postId);
     }
 
     @Test
@@ -145,14 +242,14 @@ class PostControllerTest {
         Long postId = 999L;
 
         // When
-        when(postService.getPostById(postId)).thenReturn(null);
+        when(postService.getPostDetail(postId)).thenReturn(null);
 
         // Then
         mockMvc.perform(get(Constants.BLOG_PATH + "/{id}", postId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
-        verify(postService, times(1)).getPostById(postId);
+        verify(postService, times(1)).getPostDetail(postId);
     }
 
     @Test
@@ -161,14 +258,14 @@ class PostControllerTest {
         Long postId = -999L;
 
         // When
-        when(postService.getPostById(postId)).thenThrow(new PostNotFoundException("Post not found"));
+        when(postService.getPostDetail(postId)).thenThrow(new PostNotFoundException("Post not found"));
 
         // Then
         mockMvc.perform(get(Constants.BLOG_PATH + "/" + postId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(postService, never()).getPostById(postId);
+        verify(postService, never()).getPostDetail(postId);
     }
 
     @Test
@@ -290,6 +387,21 @@ class PostControllerTest {
                 .andExpect(jsonPath("$.data.content").value("Updated content"));
     }
 
+    @Test
+    void shouldPublishPost() throws Exception {
+        // Given
+        Long postId = 1L;
+        Post publishedPost = new Post("Published Title", "Published content", author);
+        publishedPost.setStatus(Status.PUBLISHED);
+        when(postService.publishPost(postId)).thenReturn(publishedPost);
+
+        // When & Then
+        mockMvc.perform(put(Constants.BLOG_PATH + "/publish/{id}", postId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("PUBLISHED"));
+        verify(postService).publishPost(postId);
+    }
+
     @Test
     void shouldReturnNoContentWhenPostIsDeletedSuccessfully() throws Exception, InvalidPostException {
         // Given
@@ -350,7 +462,7 @@ class PostControllerTest {
         );
 
         // When
-        when(postService.getBlogPreviews()).thenReturn(mockPreviews);
+        when(postService.getBlogPreviews(any(Pageable.class))).thenReturn(mockPreviews);
 
         // Then
         mockMvc.perform(get(Constants.BLOG_PATH + "/previews")
@@ -366,13 +478,55 @@ class PostControllerTest {
                 .andExpect(jsonPath("$[1].author").value("Jane Smith"))
                 .andExpect(jsonPath("$[1].previewContent").value("Preview content 2"));
 
-        verify(postService, times(1)).getBlogPreviews();
+        verify(postService, times(1)).getBlogPreviews(PageRequest.of(0, 10));
+    }
+
+    @Test
+    void shouldAttachCommentsToPreviewsWithOneBatchLookup() throws Exception {
+        // Given
+        List<PostPreviewDTO> mockPreviews = List.of(
+                new PostPreviewDTO(1L, "First Post", "John Doe", "Preview content 1", LocalDateTime.now()),
+                new PostPreviewDTO(2L, "Second Post", "Jane Smith", "Preview content 2", LocalDateTime.now()));
+        CommentSummaryDTO latest = new CommentSummaryDTO(9L, "reader", "Nice one", LocalDateTime.now());
+
+        when(postService.getBlogPreviews(any(Pageable.class))).thenReturn(mockPreviews);
+        when(commentService.getCommentsForPosts(List.of(1L, 2L), 2)).thenReturn(Map.of(
+                1L, new PostCommentsDTO(5, List.of(latest)),
+                2L, PostCommentsDTO.NONE));
+
+        // When & Then
+        mockMvc.perform(get(Constants.BLOG_PATH + "/previews")
+                        .param("comments", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].comments.commentCount").value(5))
+                .andExpect(jsonPath("$[0].comments.latestComments[0].content").value("Nice one"))
+                .andExpect(jsonPath("$[1].comments.commentCount").value(0))
+                .andExpect(jsonPath("$[1].comments.latestComments.length()").value(0));
+
+        verify(commentService, times(1)).getCommentsForPosts(List.of(1L, 2L), 2);
+        assertNull(mockPreviews.get(0).getComments());
+    }
+
+    @Test
+    void shouldNotLookUpCommentsUnlessRequested() throws Exception {
+        // Given
+        when(postService.getBlogPreviews(any(Pageable.class))).thenReturn(List.of(
+                new PostPreviewDTO(1L, "First Post", "John Doe", "Preview content 1", LocalDateTime.now())));
+
+        // When & Then
+        mockMvc.perform(get(Constants.BLOG_PATH + "/previews")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].comments").doesNotExist());
+
+        verify(commentService, never()).getCommentsForPosts(any(), anyInt());
     }
 
     @Test
     void shouldReturnEmptyListWhenNoBlogPreviewsExist() throws Exception {
         // Given & When
-        when(postService.getBlogPreviews()).thenReturn(Collections.emptyList());
+        when(postService.getBlogPreviews(any(Pageable.class))).thenReturn(Collections.emptyList());
 
         // Then
         mockMvc.perform(get(Constants.BLOG_PATH + "/previews")
@@ -380,7 +534,32 @@ class PostControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        verify(postService, times(1)).getBlogPreviews();
+        verify(postService, times(1)).getBlogPreviews(PageRequest.of(0, 10));
+    }
+
+    @Test
+    void shouldClampBlogPreviewPageSize() throws Exception {
+        // Given
+        when(postService.getBlogPreviews(any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        // When
+        mockMvc.perform(get(Constants.BLOG_PATH + "/previews?page=2&size=500")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(postService, times(1)).getBlogPreviews(PageRequest.of(2, 50));
+    }
+
+    @Test
+    void shouldRejectInvalidBlogPreviewPage() throws Exception {
+        // When & Then
+        mockMvc.perform(get(Constants.BLOG_PATH + "/previews?page=-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(Constants.BLOG_PATH + "/previews?size=0"))
+                .andExpect(status().isBadRequest());
+
+        verify(postService, never()).getBlogPreviews(any(Pageable.class));
     }
 
     @Test
@@ -535,10 +714,9 @@ class PostControllerTest {
                 new PostSummaryDTO(1L, "Spring Boot Tutorial", LocalDateTime.now()),
                 new PostSummaryDTO(2L, "Spring Security Guide", LocalDateTime.now())
         );
-        Set<PostSummaryDTO> setOfMockResults = new HashSet<>(mockResults);
 
         // When
-        when(postService.searchPosts(eq(searchTerm), eq(true), eq(true))).thenReturn(setOfMockResults);
+        when(postService.searchPosts(eq(searchTerm), eq(true), eq(true), eq(20), isNull())).thenReturn(CursorPage.last(mockResults));
 
         // Then
         mockMvc.perform(get(Constants.BLOG_PATH + "/search")
@@ -547,9 +725,9 @@ class PostControllerTest {
                         .param("exactMatch", "true")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.data.length()").value(2));
+                .andExpect(jsonPath("$.data.items.length()").value(2));
 
-        verify(postService, times(1)).searchPosts(eq(searchTerm), eq(true), eq(true));
+        verify(postService, times(1)).searchPosts(eq(searchTerm), eq(true), eq(true), eq(20), isNull());
     }
 
     @Test
@@ -558,7 +736,7 @@ class PostControllerTest {
         String searchTerm = "NonexistentPost";
 
         // When
-        when(postService.searchPosts(eq(searchTerm), eq(false), eq(true))).thenReturn(Collections.emptySet());
+        when(postService.searchPosts(eq(searchTerm), eq(false), eq(true), eq(20), isNull())).thenReturn(CursorPage.last(Collections.emptyList()));
 
         // Then
         mockMvc.perform(get(Constants.BLOG_PATH + "/search")
@@ -569,7 +747,7 @@ class PostControllerTest {
                 .andExpect(status().isOk());
         //.andExpect(jsonPath("$.length()").value(0));
 
-        verify(postService, times(1)).searchPosts(eq(searchTerm), eq(false), eq(true));
+        verify(postService, times(1)).searchPosts(eq(searchTerm), eq(false), eq(true), eq(20), isNull());
     }
 
 //    @Test
@@ -603,10 +781,9 @@ class PostControllerTest {
                 new PostSummaryDTO(1L, "Spring Boot Tutorial", LocalDateTime.now()),
                 new PostSummaryDTO(2L, "SPRING Security Guide", LocalDateTime.now())
         );
-        Set<PostSummaryDTO> result = new HashSet<>(mockResults);
 
         // When
-        when(postService.searchPosts(eq(searchTerm), eq(false), eq(true))).thenReturn(result);
+        when(postService.searchPosts(eq(searchTerm), eq(false), eq(true), eq(20), isNull())).thenReturn(CursorPage.last(mockResults));
 
         // Then
         mockMvc.perform(get(Constants.BLOG_PATH + "/search")
@@ -615,9 +792,9 @@ class PostControllerTest {
                         .param("exactMatch", "true")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.data.length()").value(2));
+                .andExpect(jsonPath("$.data.items.length()").value(2));
 
-        verify(postService, times(1)).searchPosts(eq(searchTerm), eq(false), eq(true));
+        verify(postService, times(1)).searchPosts(eq(searchTerm), eq(false), eq(true), eq(20), isNull());
     }
 
     @Test
@@ -629,10 +806,8 @@ class PostControllerTest {
                 new PostSummaryDTO(3L, "Bootcamp Guide", LocalDateTime.now())
         );
 
-        Set<PostSummaryDTO> result = new HashSet<>(mockResults);
-
         // When
-        when(postService.searchPosts(eq(searchTerm), eq(true), eq(false))).thenReturn(result);
+        when(postService.searchPosts(eq(searchTerm), eq(true), eq(false), eq(20), isNull())).thenReturn(CursorPage.last(mockResults));
 
         // Then
         mockMvc.perform(get(Constants.BLOG_PATH + "/search")
@@ -641,9 +816,56 @@ class PostControllerTest {
                         .param("exactMatch", "false")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.data.length()").value(2));
+                .andExpect(jsonPath("$.data.items.length()").value(2));
+
+        verify(postService, times(1)).searchPosts(eq(searchTerm), eq(true), eq(false), eq(20), isNull());
+    }
+
+    @Test
+    void shouldClampSearchLimitAndForwardCursor() throws Exception {
+        // Given
+        List<PostSummaryDTO> mockResults = List.of(new PostSummaryDTO(7L, "Spring Data Guide", LocalDateTime.now()));
+        when(postService.searchPosts(eq("spring"), eq(false), eq(false), eq(100), eq("abc")))
+                .thenReturn(CursorPage.of(mockResults, "next"));
+
+        // When & Then
+        mockMvc.perform(get(Constants.BLOG_PATH + "/search")
+                        .param("query", "spring")
+                        .param("limit", "500")
+                        .param("cursor", "abc")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.nextCursor").value("next"));
+
+        verify(postService, times(1)).searchPosts(eq("spring"), eq(false), eq(false), eq(100), eq("abc"));
+    }
 
-        verify(postService, times(1)).searchPosts(eq(searchTerm), eq(true), eq(false));
+    @Test
+    void shouldRejectNonPositiveSearchLimit() throws Exception {
+        // When & Then
+        mockMvc.perform(get(Constants.BLOG_PATH + "/search")
+                        .param("query", "spring")
+                        .param("limit", "0")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Limit must be positive"));
+
+        verify(postService, never()).searchPosts(any(), eq(false), eq(false), eq(0), any());
+    }
+
+    @Test
+    void shouldReturnErrorBodyForMalformedCursor() throws Exception {
+        // Given
+        when(postService.getPosts(20, "garbage")).thenThrow(new InvalidCursorException("Malformed cursor"));
+
+        // When & Then
+        mockMvc.perform(get(Constants.BLOG_PATH + "/all")
+                        .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Malformed cursor"));
     }
 
     @Test
@@ -0,0 +1,124 @@
+package com.codehacks.blog.post.search;
+
+import com.codehacks.blog.post.dto.PostSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostSearchIndexTest {
+
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PostSearchIndex();
+        index.index(1L, "Spring Boot", "Getting started with Spring Boot and JPA.", LocalDateTime.now());
+        index.index(2L, "SPRING Framework", "Dependency injection, explained.", LocalDateTime.now());
+        index.index(3L, "Java Tutorial", "Streams and records in modern Java", LocalDateTime.now());
+    }
+
+    @Test
+    void shouldFindExactTitleMatch() {
+        // When
+        Set<Long> results = ids(index.search("Spring Boot", true, true));
+
+        // Then
+        assertEquals(Set.of(1L), results);
+    }
+
+    @Test
+    void shouldNotExactMatchOnPartOfTitle() {
+        // When & Then
+        assertTrue(index.search("Spring", true, true).isEmpty());
+    }
+
+    @Test
+    void shouldFindPartialMatchCaseSensitive() {
+        // When
+        Set<Long> results = ids(index.search("Spring", true, false));
+
+        // Then
+        assertEquals(Set.of(1L), results);
+    }
+
+    @Test
+    void shouldFindPartialMatchCaseInsensitive() {
+        // When
+        Set<Long> results = ids(index.search("spring", false, false));
+
+        // Then
+        assertEquals(Set.of(1L, 2L), results);
+    }
+
+    @Test
+    void shouldMatchSubstringsSpanningSeveralWords() {
+        // When & Then
+        assertAll(
+                () -> assertEquals(Set.of(1L), ids(index.search("ing started wi", true, false))),
+                () -> assertEquals(Set.of(2L), ids(index.search("injection, expl", false, false))),
+                () -> assertEquals(Set.of(3L), ids(index.search("in modern", true, false))),
+                () -> assertTrue(index.search("started Spring", true, false).isEmpty())
+        );
+    }
+
+    @Test
+    void shouldMatchInsideSingleWord() {
+        // When & Then
+        assertEquals(Set.of(3L), ids(index.search("utori", true, false)));
+    }
+
+    @Test
+    void shouldReflectUpdatesAndRemovals() {
+        // When
+        index.index(1L, "Quarkus Basics", "Nothing about the other framework here", LocalDateTime.now());
+        index.remove(3L);
+
+        // Then
+        assertAll(
+                () -> assertEquals(Set.of(2L), ids(index.search("spring", false, false))),
+                () -> assertEquals(Set.of(1L), ids(index.search("quarkus", false, false))),
+                () -> assertTrue(index.search("Java", true, false).isEmpty()),
+                () -> assertEquals(2, index.size())
+        );
+    }
+
+    @Test
+    void shouldReturnSummaryFieldsFromIndex() {
+        // When
+        PostSummaryDTO result = index.search("Tutorial", true, false).get(0).post();
+
+        // Then
+        assertAll(
+                () -> assertEquals(3L, result.getId()),
+                () -> assertEquals("Java Tutorial", result.getTitle())
+        );
+    }
+
+    @Test
+    void shouldRankTitleHitsAboveContentHits() {
+        // Given
+        index.index(4L, "Notes", "Spring Boot, Spring Data and Spring Security", LocalDateTime.now());
+
+        // When
+        List<Long> ranked = index.search("spring", false, false).stream()
+                .map(hit -> hit.post().getId())
+                .toList();
+
+        // Then
+        assertEquals(List.of(1L, 2L, 4L), ranked);
+    }
+
+    private static Set<Long> ids(List<SearchHit> results) {
+        return results.stream()
+                .map(hit -> hit.post().getId())
+                .collect(Collectors.toSet());
+    }
+}
@@ -9,9 +9,11 @@ import com.codehacks.blog.post.exception.InvalidPostIdException;
 import com.codehacks.blog.post.exception.PostNotFoundException;
 import com.codehacks.blog.post.model.Comment;
 import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.repository.CommentDigestRow;
 import com.codehacks.blog.post.repository.PostRepository;
 import com.codehacks.blog.post.repository.CommentRepository;
 import com.codehacks.blog.post.dto.CommentDto;
+import com.codehacks.blog.post.dto.PostCommentsDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -26,14 +28,21 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyCollection;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 class CommentServiceTest {
 
@@ -288,4 +297,74 @@ class CommentServiceTest {
 
         assertEquals("Comment was not found", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCommentsForPosts_ShouldGroupRowsFromOneQueryPerPost() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        List<CommentDigestRow> rows = List.of(
+                row(1L, 3L, 1L, 13L, "Newest", now),
+                row(1L, 3L, 2L, 12L, "Older", now.minusHours(1)),
+                row(2L, 1L, 1L, 21L, "Only one", now.minusDays(1)));
+        when(commentRepository.findLatestByPostIds(Set.of(2L, 1L, 3L), 2)).thenReturn(rows);
+
+        // When
+        Map<Long, PostCommentsDTO> result = commentService.getCommentsForPosts(List.of(2L, 1L, 3L), 2);
+
+        // Then
+        assertAll(
+                () -> assertEquals(List.of(2L, 1L, 3L), List.copyOf(result.keySet()), "Keeps the requested order"),
+                () -> assertEquals(3L, result.get(1L).commentCount()),
+                () -> assertEquals(List.of(13L, 12L),
+                        result.get(1L).latestComments().stream().map(c -> c.id()).toList()),
+                () -> assertEquals(1L, result.get(2L).commentCount()),
+                () -> assertEquals(PostCommentsDTO.NONE, result.get(3L))
+        );
+        verify(commentRepository, times(1)).findLatestByPostIds(anyCollection(), anyInt());
+    }
+
+    @Test
+    void getCommentsForPosts_ShouldReturnCountsOnlyWhenNoCommentsRequested() {
+        // Given
+        List<CommentDigestRow> rows = List.of(row(1L, 4L, 1L, 13L, "Newest", LocalDateTime.now()));
+        when(commentRepository.findLatestByPostIds(Set.of(1L), 0)).thenReturn(rows);
+
+        // When
+        PostCommentsDTO result = commentService.getCommentsForPosts(List.of(1L), 0).get(1L);
+
+        // Then
+        assertAll(
+                () -> assertEquals(4L, result.commentCount()),
+                () -> assertTrue(result.latestComments().isEmpty())
+        );
+    }
+
+    @Test
+    void getCommentsForPosts_ShouldNotQueryForNoPosts() {
+        // When
+        Map<Long, PostCommentsDTO> result = commentService.getCommentsForPosts(List.of(), 3);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(commentRepository, never()).findLatestByPostIds(anyCollection(), anyInt());
+    }
+
+    @Test
+    void getCommentsForPosts_ShouldRejectNegativeLimit() {
+        // When and Then
+        assertThrows(InvalidCommentException.class, () -> commentService.getCommentsForPosts(List.of(1L), -1));
+    }
+
+    private static CommentDigestRow row(Long postId, Long count, Long position, Long commentId, String content,
+                                        LocalDateTime createdAt) {
+        CommentDigestRow row = mock(CommentDigestRow.class);
+        when(row.getPostId()).thenReturn(postId);
+        when(row.getCommentCount()).thenReturn(count);
+        when(row.getPosition()).thenReturn(position);
+        when(row.getCommentId()).thenReturn(commentId);
+        when(row.getCommentAuthor()).thenReturn("reader");
+        when(row.getCommentContent()).thenReturn(content);
+        when(row.getCommentCreatedAt()).thenReturn(createdAt);
+        return row;
+    }
+}
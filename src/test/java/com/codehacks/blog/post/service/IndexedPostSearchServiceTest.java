@@ -0,0 +1,74 @@
+package com.codehacks.blog.post.service;
+
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.post.dto.PostSummaryDTO;
+import com.codehacks.blog.post.model.Author;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+class IndexedPostSearchServiceTest {
+
+    private final IndexedPostSearchService searchService =
+            new IndexedPostSearchService(mock(PostRepository.class), 1_000, Duration.ofMinutes(5));
+
+    @BeforeEach
+    void setUp() {
+        // Post n mentions "cache" n times, so higher ids rank first
+        for (long id = 1; id <= 5; id++) {
+            searchService.index(post(id, "cache ".repeat((int) id)));
+        }
+    }
+
+    @Test
+    void search_ShouldVisitEveryHitOnceInRankOrder() {
+        // When
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<PostSummaryDTO> page = searchService.search("cache", false, false, 2, cursor);
+            page.items().forEach(post -> visited.add(post.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), visited);
+    }
+
+    @Test
+    void search_AfterIndexChanges_ShouldRankAgain() {
+        // Given
+        CursorPage<PostSummaryDTO> first = searchService.search("cache", false, false, 2, null);
+
+        // When
+        searchService.index(post(6L, "cache ".repeat(10)));
+        searchService.remove(4L);
+        CursorPage<PostSummaryDTO> fresh = searchService.search("cache", false, false, 2, null);
+        CursorPage<PostSummaryDTO> next = searchService.search("cache", false, false, 10, first.nextCursor());
+
+        // Then
+        assertAll(
+                () -> assertEquals(List.of(6L, 5L), fresh.items().stream().map(PostSummaryDTO::getId).toList()),
+                () -> assertEquals(List.of(3L, 2L, 1L), next.items().stream().map(PostSummaryDTO::getId).toList()),
+                () -> assertNull(next.nextCursor())
+        );
+    }
+
+    private static Post post(Long id, String content) {
+        Post post = new Post("Post number " + id, content.trim(), new Author("Test", "Author", "a@example.com"),
+                LocalDateTime.parse("2024-01-01T00:00:00").plusDays(id));
+        post.setId(id);
+        return post;
+    }
+}
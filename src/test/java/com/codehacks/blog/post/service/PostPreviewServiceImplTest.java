@@ -0,0 +1,78 @@
+package com.codehacks.blog.post.service;
+
+import com.codehacks.blog.post.model.Author;
+import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.repository.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostPreviewServiceImplTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @InjectMocks
+    private PostPreviewServiceImpl postPreviewService;
+
+    private final Author author = new Author("Ada", "Lovelace", "ada@example.com");
+
+    @Test
+    void shouldKeepFirstTwoParagraphsOfShortPost() {
+        // Given
+        Post post = new Post("Short post", "First paragraph.\n\nSecond one here.\n\nThird is cut.", author);
+
+        // When
+        postPreviewService.applyPreview(post);
+
+        // Then
+        assertAll(
+                () -> assertEquals("First paragraph.\n\nSecond one here.", post.getPreviewContent()),
+                () -> assertEquals(8, post.getWordCount()),
+                () -> assertEquals("Ada Lovelace", post.getAuthorName())
+        );
+    }
+
+    @Test
+    void shouldKeepEightyPercentOfLongPost() {
+        // Given
+        String content = String.join(" ", Collections.nCopies(1000, "word"));
+        Post post = new Post("Long post", content, author);
+
+        // When
+        postPreviewService.applyPreview(post);
+
+        // Then
+        assertAll(
+                () -> assertEquals(1000, post.getWordCount()),
+                () -> assertEquals(800, post.getPreviewContent().split(" ").length)
+        );
+    }
+
+    @Test
+    void shouldBackfillPostsWithoutPreview() {
+        // Given
+        Post post = new Post("Old post", "Written before previews were stored.", author);
+        post.setId(5L);
+        when(postRepository.findWithoutPreview(any(Pageable.class))).thenReturn(List.of(post));
+
+        // When
+        postPreviewService.backfill();
+
+        // Then
+        verify(postRepository).updatePreview(5L, "Written before previews were stored.", 5, "Ada Lovelace");
+    }
+}
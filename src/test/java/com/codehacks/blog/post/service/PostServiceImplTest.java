@@ -2,13 +2,23 @@ package com.codehacks.blog.post.service;
 
 import com.codehacks.blog.auth.exception.InvalidPostException;
 import com.codehacks.blog.auth.exception.InvalidSearchQueryException;
+import com.codehacks.blog.post.dto.CommentSummaryDTO;
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.post.dto.PostCursor;
+import com.codehacks.blog.post.dto.PostDetailDTO;
+import com.codehacks.blog.post.dto.PostPreviewDTO;
 import com.codehacks.blog.post.dto.PostSummaryDTO;
+import com.codehacks.blog.post.exception.InvalidCursorException;
 import com.codehacks.blog.post.exception.MissingAuthorException;
 import com.codehacks.blog.post.exception.PostNotFoundException;
 import com.codehacks.blog.post.mapper.PostMapper;
 import com.codehacks.blog.post.model.Author;
 import com.codehacks.blog.post.model.Post;
+import com.codehacks.blog.post.model.PostDeletedEvent;
+import com.codehacks.blog.post.model.PostSavedEvent;
+import com.codehacks.blog.post.model.Status;
 import com.codehacks.blog.post.repository.AuthorRepository;
+import com.codehacks.blog.post.repository.PostDetailRow;
 import com.codehacks.blog.post.repository.PostRepository;
 import com.codehacks.blog.util.Constants;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,11 +27,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -29,19 +42,24 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,6 +77,15 @@ class PostServiceImplTest {
     @Mock
     private PostMapper postMapper;
 
+    @Mock
+    private PostSearchService postSearchService;
+
+    @Mock
+    private PostPreviewService postPreviewService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private Post testPost;
     private Author testAuthor;
     private Pageable pageable;
@@ -105,37 +132,48 @@ class PostServiceImplTest {
     }
 
     @Test
-    void shouldReturnEmptySetWhenNoPostsExist() {
+    void shouldReturnFirstPageWithCursorWhenMorePostsExist() {
         // Given
-        when(postRepository.findAll()).thenReturn(Collections.emptyList());
+        LocalDateTime now = LocalDateTime.now();
+        List<PostSummaryDTO> window = List.of(
+                new PostSummaryDTO(3L, "Post for Day 1", now),
+                new PostSummaryDTO(2L, "Post for Day 2", now.minusDays(1)),
+                new PostSummaryDTO(1L, "Post for Day 3", now.minusDays(2)));
+        when(postRepository.findSummaries(PageRequest.of(0, 3))).thenReturn(window);
 
         // When
-        Set<Post> result = blogService.getAllPosts();
+        CursorPage<PostSummaryDTO> page = blogService.getPosts(2, null);
 
         // Then
         assertAll(
-                () -> assertNotNull(result),
-                () -> assertTrue(result.isEmpty())
+                () -> assertEquals(List.of(3L, 2L), page.items().stream().map(PostSummaryDTO::getId).toList()),
+                () -> assertEquals(new PostCursor(now.minusDays(1), 2L), PostCursor.decode(page.nextCursor()))
         );
-        verify(postRepository).findAll();
+        verify(postRepository, never()).findAll();
     }
 
     @Test
-    void shouldReturnUniquePostsWhenDuplicatesExist() {
+    void shouldContinueAfterCursor() {
         // Given
-        List<Post> duplicatePosts = Arrays.asList(testPost, testPost);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        String cursor = new PostCursor(createdAt, 42L).encode();
+        when(postRepository.findSummariesAfter(createdAt, 42L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(new PostSummaryDTO(41L, "Older post", createdAt.minusDays(1))));
 
         // When
-        when(postRepository.findAll()).thenReturn(duplicatePosts);
-
-        Set<Post> result = blogService.getAllPosts();
+        CursorPage<PostSummaryDTO> page = blogService.getPosts(10, cursor);
 
         // Then
         assertAll(
-                () -> assertEquals(1, result.size()),
-                () -> assertTrue(result.contains(testPost))
+                () -> assertEquals(1, page.items().size()),
+                () -> assertNull(page.nextCursor())
         );
-        verify(postRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldRejectMalformedPostCursor() {
+        // When & Then
+        assertThrows(InvalidCursorException.class, () -> blogService.getPosts(10, "not a cursor"));
     }
 
     @Test
@@ -625,87 +663,196 @@ class PostServiceImplTest {
     void shouldSearchPostsWithExactMatch() {
         // Given
         String searchQuery = "Spring Boot";
-        List<Post> mockPosts = Arrays.asList(
-                new Post("Spring Boot", "Content 1", testAuthor),
-                new Post("Spring Boot", "Content 2", testAuthor),
-                new Post("Spring Framework", "Content 3", testAuthor)
+        List<PostSummaryDTO> indexed = List.of(
+                new PostSummaryDTO(1L, "Spring Boot", LocalDateTime.now()),
+                new PostSummaryDTO(2L, "Spring Boot", LocalDateTime.now())
         );
-        when(postRepository.findAll()).thenReturn(mockPosts);
-        when(postMapper.toSummary(any(Post.class))).thenAnswer(invocation -> {
-            Post post = invocation.getArgument(0);
-            return new PostSummaryDTO(post.getId(), post.getTitle(), post.getCreatedAt());
-        });
+        when(postSearchService.search(searchQuery, true, true, 10, null)).thenReturn(CursorPage.last(indexed));
 
         // When
-        Set<PostSummaryDTO> results = blogService.searchPosts(searchQuery, true, true);
+        CursorPage<PostSummaryDTO> results = blogService.searchPosts(searchQuery, true, true, 10, null);
 
         // Then
         assertAll(
                 () -> assertNotNull(results),
-                () -> assertEquals(2, results.size()),
-                () -> assertTrue(results.stream()
+                () -> assertEquals(2, results.items().size()),
+                () -> assertTrue(results.items().stream()
                         .allMatch(post -> post.getTitle().equals(searchQuery)))
         );
-        verify(postRepository, times(1)).findAll();
-        verify(postMapper, times(2)).toSummary(any(Post.class));
+        verify(postSearchService, times(1)).search(searchQuery, true, true, 10, null);
+        verify(postRepository, never()).findAll();
     }
 
     @Test
     void shouldSearchPostsWithPartialMatch() {
         // Given
         String searchQuery = "Spring";
-        List<Post> mockPosts = Arrays.asList(
-                new Post("Spring Boot", "Content 1", testAuthor),
-                new Post("Spring Framework", "Content 2", testAuthor),
-                new Post("Java Tutorial", "Content 3", testAuthor)
+        List<PostSummaryDTO> indexed = List.of(
+                new PostSummaryDTO(1L, "Spring Boot", LocalDateTime.now()),
+                new PostSummaryDTO(2L, "Spring Framework", LocalDateTime.now())
         );
-        when(postRepository.findAll()).thenReturn(mockPosts);
-        when(postMapper.toSummary(any(Post.class))).thenAnswer(invocation -> {
-            Post post = invocation.getArgument(0);
-            return new PostSummaryDTO(post.getId(), post.getTitle(), post.getCreatedAt());
-        });
+        when(postSearchService.search(searchQuery, true, false, 10, null)).thenReturn(CursorPage.last(indexed));
 
         // When
-        Set<PostSummaryDTO> results = blogService.searchPosts(searchQuery, true, false);
+        CursorPage<PostSummaryDTO> results = blogService.searchPosts(searchQuery, true, false, 10, null);
 
         // Then
         assertAll(
                 () -> assertNotNull(results),
-                () -> assertEquals(2, results.size()),
-                () -> assertTrue(results.stream()
+                () -> assertEquals(2, results.items().size()),
+                () -> assertTrue(results.items().stream()
                         .allMatch(post -> post.getTitle().contains(searchQuery)))
         );
-        verify(postRepository, times(1)).findAll();
-        verify(postMapper, times(2)).toSummary(any(Post.class));
+        verify(postSearchService, times(1)).search(searchQuery, true, false, 10, null);
+        verify(postRepository, never()).findAll();
     }
 
     @Test
-    void shouldSearchPostsCaseInsensitive() {
+    void shouldTrimQueryBeforeSearching() {
         // Given
-        String searchQuery = "spring";
-        List<Post> mockPosts = Arrays.asList(
-                new Post("Spring Boot", "Content 1", testAuthor),
-                new Post("SPRING Framework", "Content 2", testAuthor),
-                new Post("Java Tutorial", "Content 3", testAuthor)
-        );
-        when(postRepository.findAll()).thenReturn(mockPosts);
-        when(postMapper.toSummary(any(Post.class))).thenAnswer(invocation -> {
-            Post post = invocation.getArgument(0);
-            return new PostSummaryDTO(post.getId(), post.getTitle(), post.getCreatedAt());
-        });
+        when(postSearchService.search("spring", false, false, 10, null))
+                .thenReturn(CursorPage.last(Collections.emptyList()));
+
+        // When
+        CursorPage<PostSummaryDTO> results = blogService.searchPosts("  spring  ", false, false, 10, null);
+
+        // Then
+        assertTrue(results.items().isEmpty());
+        verify(postSearchService).search("spring", false, false, 10, null);
+    }
+
+    @Test
+    void shouldRejectNonPositiveSearchLimit() {
+        // When & Then
+        InvalidSearchQueryException exception = assertThrows(InvalidSearchQueryException.class,
+                () -> blogService.searchPosts("spring", false, false, 0, null));
+
+        assertEquals("Search limit must be positive", exception.getMessage());
+        verify(postSearchService, never()).search(any(), eq(false), eq(false), eq(0), any());
+    }
+
+    @Test
+    void shouldPublishSavedEventInsteadOfIndexingOnCreation() throws InvalidPostException {
+        // Given
+        when(authorRepository.save(any(Author.class))).thenReturn(testAuthor);
+        when(postRepository.save(any(Post.class))).thenReturn(testPost);
+
+        // When
+        blogService.createPost(testPost);
+
+        // Then
+        verify(eventPublisher).publishEvent(new PostSavedEvent(testPost));
+        verifyNoInteractions(postSearchService);
+    }
+
+    @Test
+    void shouldIndexPostWhenSaveCommits() {
+        // When
+        blogService.onPostSaved(new PostSavedEvent(testPost));
+
+        // Then
+        verify(postSearchService).index(testPost);
+    }
+
+    @Test
+    void shouldComputePreviewBeforeSaving() throws InvalidPostException {
+        // Given
+        when(authorRepository.save(any(Author.class))).thenReturn(testAuthor);
+        when(postRepository.save(any(Post.class))).thenReturn(testPost);
+
+        // When
+        blogService.createPost(testPost);
+
+        // Then
+        InOrder inOrder = inOrder(postPreviewService, postRepository);
+        inOrder.verify(postPreviewService).applyPreview(testPost);
+        inOrder.verify(postRepository).save(testPost);
+    }
+
+    @Test
+    void shouldServePreviewsFromProjection() {
+        // Given
+        Pageable firstPage = PageRequest.of(0, 10);
+        List<PostPreviewDTO> previews = List.of(
+                new PostPreviewDTO(1L, "Title", "Test Author", "Preview", LocalDateTime.now()));
+        when(postRepository.findPreviews(firstPage)).thenReturn(new SliceImpl<>(previews, firstPage, false));
+
+        // When
+        List<PostPreviewDTO> result = blogService.getBlogPreviews(firstPage);
+
+        // Then
+        assertEquals(previews, result);
+        verify(postRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldPublishDeletedEventInsteadOfRemovingOnDeletion() throws InvalidPostException {
+        // Given
+        when(postRepository.existsById(1L)).thenReturn(true);
 
         // When
-        Set<PostSummaryDTO> results = blogService.searchPosts(searchQuery, false, false);
+        blogService.deletePost(1L);
+
+        // Then
+        verify(eventPublisher).publishEvent(new PostDeletedEvent(1L));
+        verifyNoInteractions(postSearchService);
+    }
+
+    @Test
+    void shouldPublishDraftPost() {
+        // Given
+        Post draft = new Post("Draft Title", "Draft Content", testAuthor);
+        draft.setId(1L);
+        when(postRepository.findByIdWithComments(1L)).thenReturn(Optional.of(draft));
+        when(postRepository.save(draft)).thenReturn(draft);
+
+        // When
+        Post result = blogService.publishPost(1L);
 
         // Then
         assertAll(
-                () -> assertNotNull(results),
-                () -> assertEquals(2, results.size()),
-                () -> assertTrue(results.stream()
-                        .allMatch(post -> post.getTitle().toLowerCase().contains(searchQuery.toLowerCase())))
+                () -> assertEquals(Status.PUBLISHED, result.getStatus()),
+                () -> assertNotNull(result.getPublishedAt()),
+                () -> assertNotNull(result.getUpdatedAt())
         );
-        verify(postRepository, times(1)).findAll();
-        verify(postMapper, times(2)).toSummary(any(Post.class));
+        verify(postRepository).save(draft);
+        verify(eventPublisher).publishEvent(new PostSavedEvent(draft));
+    }
+
+    @Test
+    void shouldNotRepublishPublishedPost() {
+        // Given
+        Post published = new Post("Published Title", "Published Content", testAuthor);
+        published.setId(1L);
+        published.setStatus(Status.PUBLISHED);
+        LocalDateTime publishedAt = published.getPublishedAt();
+        when(postRepository.findByIdWithComments(1L)).thenReturn(Optional.of(published));
+
+        // When
+        Post result = blogService.publishPost(1L);
+
+        // Then
+        assertEquals(publishedAt, result.getPublishedAt());
+        verify(postRepository, never()).save(any(Post.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenPublishingNonExistentPost() {
+        // Given
+        when(postRepository.findByIdWithComments(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(PostNotFoundException.class, () -> blogService.publishPost(99L));
+    }
+
+    @Test
+    void shouldRemovePostFromIndexWhenDeleteCommits() {
+        // When
+        blogService.onPostDeleted(new PostDeletedEvent(1L));
+
+        // Then
+        verify(postSearchService).remove(1L);
     }
 
     @Test
@@ -715,7 +862,7 @@ class PostServiceImplTest {
 
         // When & Then
         InvalidSearchQueryException exception = assertThrows(InvalidSearchQueryException.class,
-                () -> blogService.searchPosts(emptyQuery, true, true));
+                () -> blogService.searchPosts(emptyQuery, true, true, 10, null));
 
         assertEquals("Search query cannot be empty", exception.getMessage());
         verify(postRepository, never()).findAll();
@@ -725,12 +872,74 @@ class PostServiceImplTest {
     void shouldThrowExceptionWhenSearchingWithWhitespaceOnlyQuery() {
         // When & Then
         InvalidSearchQueryException exception = assertThrows(InvalidSearchQueryException.class,
-                () -> blogService.searchPosts("   ", true, true));
+                () -> blogService.searchPosts("   ", true, true, 10, null));
 
         assertEquals("Search query cannot be empty", exception.getMessage());
         verify(postRepository, never()).findAll();
     }
 
+    @Test
+    void shouldAssemblePostDetailFromProjectionRows() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        PostDetailRow first = detailRow(1L, 11L, "First comment", now);
+        PostDetailRow second = detailRow(1L, 12L, "Second comment", now.plusMinutes(1));
+        when(postRepository.findPostDetail(1L, Constants.POST_DETAIL_COMMENT_LIMIT)).thenReturn(List.of(first, second));
+
+        // When
+        PostDetailDTO detail = blogService.getPostDetail(1L);
+
+        // Then
+        assertAll(
+                () -> assertEquals("Test Title", detail.title()),
+                () -> assertEquals("Test Author", detail.author()),
+                () -> assertEquals(Status.PUBLISHED, detail.status()),
+                () -> assertEquals(2, detail.commentCount()),
+                () -> assertEquals(List.of(11L, 12L), detail.comments().stream().map(CommentSummaryDTO::id).toList())
+        );
+        verify(postRepository, never()).findByIdWithComments(any());
+    }
+
+    @Test
+    void shouldReturnPostDetailWithoutComments() {
+        // Given
+        PostDetailRow row = detailRow(1L, null, null, null);
+        when(row.getCommentCount()).thenReturn(0L);
+        when(postRepository.findPostDetail(1L, Constants.POST_DETAIL_COMMENT_LIMIT)).thenReturn(List.of(row));
+
+        // When
+        PostDetailDTO detail = blogService.getPostDetail(1L);
+
+        // Then
+        assertAll(
+                () -> assertEquals(0, detail.commentCount()),
+                () -> assertTrue(detail.comments().isEmpty())
+        );
+    }
+
+    @Test
+    void shouldThrowWhenPostDetailIsMissing() {
+        // Given
+        when(postRepository.findPostDetail(404L, Constants.POST_DETAIL_COMMENT_LIMIT)).thenReturn(List.of());
+
+        // When & Then
+        assertThrows(PostNotFoundException.class, () -> blogService.getPostDetail(404L));
+    }
+
+    private PostDetailRow detailRow(Long postId, Long commentId, String commentContent, LocalDateTime commentedAt) {
+        PostDetailRow row = mock(PostDetailRow.class);
+        lenient().when(row.getId()).thenReturn(postId);
+        lenient().when(row.getTitle()).thenReturn("Test Title");
+        lenient().when(row.getAuthor()).thenReturn("Test Author");
+        lenient().when(row.getStatus()).thenReturn(Status.PUBLISHED.ordinal());
+        lenient().when(row.getCommentCount()).thenReturn(2L);
+        lenient().when(row.getCommentId()).thenReturn(commentId);
+        lenient().when(row.getCommentAuthor()).thenReturn("reader");
+        lenient().when(row.getCommentContent()).thenReturn(commentContent);
+        lenient().when(row.getCommentCreatedAt()).thenReturn(commentedAt);
+        return row;
+    }
+
     @Test
     void shouldThrowExceptionWhenGettingPostWithNullId() {
         // When & Then
@@ -761,7 +970,7 @@ class PostServiceImplTest {
     void shouldThrowExceptionWhenSearchingWithNullQuery() {
         // When & Then
         InvalidSearchQueryException exception = assertThrows(InvalidSearchQueryException.class,
-                () -> blogService.searchPosts(null, true, true));
+                () -> blogService.searchPosts(null, true, true, 10, null));
 
         assertEquals("Search query cannot be empty", exception.getMessage());
         verify(postRepository, never()).findAll();
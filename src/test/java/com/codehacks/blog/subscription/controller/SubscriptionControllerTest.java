@@ -2,12 +2,23 @@ package com.codehacks.blog.subscription.controller;
 
 import com.codehacks.blog.auth.config.JwtAuthenticationFilter;
 import com.codehacks.blog.auth.exception.AuthGlobalExceptionHandler;
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.post.exception.InvalidCursorException;
+import com.codehacks.blog.subscription.dto.SubscriberContactDTO;
+import com.codehacks.blog.subscription.dto.SubscriberCountsDTO;
 import com.codehacks.blog.subscription.dto.SubscriberDTO;
+import com.codehacks.blog.subscription.dto.SubscriberImportResult;
+import com.codehacks.blog.subscription.dto.SubscriberPageDTO;
+import com.codehacks.blog.subscription.dto.SubscriberSummaryDTO;
 import com.codehacks.blog.subscription.exception.DuplicateSubscriptionException;
+import com.codehacks.blog.subscription.exception.SubscriberImportException;
 import com.codehacks.blog.subscription.exception.SubscriberNotFoundException;
 import com.codehacks.blog.subscription.exception.SubscriptionGlobalExceptionHandler;
 import com.codehacks.blog.subscription.model.Subscriber;
 import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import com.codehacks.blog.subscription.service.SubscriberExportService;
+import com.codehacks.blog.subscription.service.SubscriberImportService;
+import com.codehacks.blog.subscription.service.SubscriberStatisticsService;
 import com.codehacks.blog.subscription.service.SubscriptionService;
 import com.codehacks.blog.util.Constants;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,21 +31,36 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(value = SubscriptionController.class, excludeFilters = {
@@ -43,6 +69,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 })
 @Import(SubscriptionGlobalExceptionHandler.class)
 @AutoConfigureMockMvc(addFilters = false)
+@EnableMethodSecurity
 class SubscriptionControllerTest {
 
     @Autowired
@@ -54,6 +81,15 @@ class SubscriptionControllerTest {
     @MockBean
     private SubscriptionService subscriptionService;
 
+    @MockBean
+    private SubscriberImportService subscriberImportService;
+
+    @MockBean
+    private SubscriberStatisticsService subscriberStatisticsService;
+
+    @MockBean
+    private SubscriberExportService subscriberExportService;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private final String email = "user@example.com";
@@ -163,6 +199,61 @@ class SubscriptionControllerTest {
                 .andExpect(jsonPath("$.data[0].email").value(email));
     }
 
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    void getActiveSubscribersPage_ShouldCapLimitAndReturnNextCursor() throws Exception {
+        // Given
+        when(subscriptionService.getActiveSubscribers(100, "abc")).thenReturn(
+                CursorPage.of(List.of(new SubscriberContactDTO(7L, email)), "next"));
+
+        // When & Then
+        mockMvc.perform(get(BASE_URL + "/active/page")
+                        .param("limit", "500")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].id").value(7))
+                .andExpect(jsonPath("$.data.items[0].email").value(email))
+                .andExpect(jsonPath("$.data.items[0].status").doesNotExist())
+                .andExpect(jsonPath("$.data.nextCursor").value("next"));
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    void getActiveSubscribersPage_MalformedCursor_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(subscriptionService.getActiveSubscribers(20, "???"))
+                .thenThrow(new InvalidCursorException("Malformed cursor"));
+
+        // When & Then
+        mockMvc.perform(get(BASE_URL + "/active/page")
+                        .param("cursor", "???"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Malformed cursor"));
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    void exportActiveSubscribers_ShouldStreamNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1,\"email\":\"a@example.com\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(subscriberExportService).exportActiveSubscribers(any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get(BASE_URL + "/active/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        assertEquals(Duration.ofMinutes(10).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string("{\"id\":1,\"email\":\"a@example.com\"}\n"));
+    }
+
     @Test
     void unsubscribe_InvalidEmail_ShouldReturnBadRequest() throws Exception {
         mockMvc.perform(post(BASE_URL + "/unsubscribe")
@@ -174,14 +265,16 @@ class SubscriptionControllerTest {
     @Test
     void getSubscribersByStatus_AsAdmin_ShouldReturnGroupedList() throws Exception {
         // Given
-        Subscriber activeSub = new Subscriber("active@example.com");
-        Subscriber inactiveSub = new Subscriber("inactive@example.com");
+        SubscriberSummaryDTO activeSub = new SubscriberSummaryDTO(1L, "active@example.com",
+                SubscriptionStatus.ACTIVE, LocalDateTime.now(), null);
+        SubscriberSummaryDTO inactiveSub = new SubscriberSummaryDTO(2L, "inactive@example.com",
+                SubscriptionStatus.UNSUBSCRIBED, LocalDateTime.now(), LocalDateTime.now());
 
-        Map<SubscriptionStatus, List<Subscriber>> mockResponse = new HashMap<>();
+        Map<SubscriptionStatus, List<SubscriberSummaryDTO>> mockResponse = new HashMap<>();
         mockResponse.put(SubscriptionStatus.ACTIVE, List.of(activeSub));
         mockResponse.put(SubscriptionStatus.UNSUBSCRIBED, List.of(inactiveSub));
 
-        when(subscriptionService.getSubscribersByStatus()).thenReturn(mockResponse);
+        when(subscriberStatisticsService.getSubscribersByStatus(20)).thenReturn(mockResponse);
 
         // When & Then
         mockMvc.perform(get(BASE_URL + "/grouped-by-status")
@@ -191,6 +284,101 @@ class SubscriptionControllerTest {
                 .andExpect(jsonPath("$.data.ACTIVE[0].email").value("active@example.com"))
                 .andExpect(jsonPath("$.data.UNSUBSCRIBED[0].email").value("inactive@example.com"));
 
-        verify(subscriptionService).getSubscribersByStatus();
+        verify(subscriberStatisticsService).getSubscribersByStatus(20);
+    }
+
+    @WithMockUser(username = "reader", roles = {"USER"})
+    @Test
+    void getSubscribersByStatus_AsNonAdmin_ShouldReturnForbidden() throws Exception {
+        // When & Then
+        mockMvc.perform(get(BASE_URL + "/grouped-by-status")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.success").value(false));
+
+        verifyNoInteractions(subscriberStatisticsService);
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    void getSubscriberCounts_AsAdmin_ShouldReturnCountsPerStatus() throws Exception {
+        // Given
+        when(subscriberStatisticsService.getCounts()).thenReturn(new SubscriberCountsDTO(
+                Map.of(SubscriptionStatus.ACTIVE, 40L, SubscriptionStatus.UNSUBSCRIBED, 3L,
+                        SubscriptionStatus.BANNED, 0L), 43));
+
+        // When & Then
+        mockMvc.perform(get(BASE_URL + "/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.byStatus.ACTIVE").value(40))
+                .andExpect(jsonPath("$.data.byStatus.BANNED").value(0))
+                .andExpect(jsonPath("$.data.total").value(43));
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    void getDailyActivity_TooManyDays_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/statistics/daily")
+                        .param("days", "367"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value("false"));
+
+        verifyNoInteractions(subscriberStatisticsService);
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    void getSubscribersInStatus_ShouldCapPageSize() throws Exception {
+        // Given
+        SubscriberPageDTO page = new SubscriberPageDTO(List.of(new SubscriberSummaryDTO(3L, "banned@example.com",
+                SubscriptionStatus.BANNED, LocalDateTime.now(), LocalDateTime.now())), 1, 100, 101);
+        when(subscriberStatisticsService.getSubscribers(SubscriptionStatus.BANNED, 1, 100)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get(BASE_URL + "/status/BANNED")
+                        .param("page", "1")
+                        .param("size", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].email").value("banned@example.com"))
+                .andExpect(jsonPath("$.data.size").value(100))
+                .andExpect(jsonPath("$.data.totalElements").value(101));
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    void importSubscribers_Csv_ShouldReturnCounts() throws Exception {
+        // Given
+        when(subscriberImportService.importCsv(any(InputStream.class)))
+                .thenReturn(new SubscriberImportResult(2, 1, 1, List.of("line 4: Invalid email format")));
+
+        // When & Then
+        mockMvc.perform(post(BASE_URL + "/import")
+                        .contentType("text/csv")
+                        .content("email\na@example.com\nb@example.com\nnot-an-email\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value("true"))
+                .andExpect(jsonPath("$.data.inserted").value(2))
+                .andExpect(jsonPath("$.data.updated").value(1))
+                .andExpect(jsonPath("$.data.rejected").value(1))
+                .andExpect(jsonPath("$.data.rejections[0]").value("line 4: Invalid email format"));
+
+        verify(subscriberImportService).importCsv(any(InputStream.class));
+    }
+
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Test
+    void importSubscribers_MalformedJson_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(subscriberImportService.importJson(any(InputStream.class))).thenThrow(new SubscriberImportException(
+                "Malformed JSON after record 1; the records before it have been imported", null));
+
+        // When & Then
+        mockMvc.perform(post(BASE_URL + "/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"email\": \"a@example.com\"}, {"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value("false"))
+                .andExpect(jsonPath("$.message")
+                        .value("Malformed JSON after record 1; the records before it have been imported"));
     }
-}
\ No newline at end of file
+}
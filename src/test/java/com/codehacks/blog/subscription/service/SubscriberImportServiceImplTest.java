@@ -0,0 +1,186 @@
+package com.codehacks.blog.subscription.service;
+
+import com.codehacks.blog.subscription.dto.SubscriberImportResult;
+import com.codehacks.blog.subscription.dto.SubscriberImportRow;
+import com.codehacks.blog.subscription.exception.SubscriberImportException;
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import com.codehacks.blog.subscription.repository.SubscriberRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SubscriberImportServiceImplTest {
+
+    private final SubscriberRepository subscriberRepository = mock(SubscriberRepository.class);
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final List<List<SubscriberImportRow>> batches = new ArrayList<>();
+    private final Set<String> existingEmails = Set.of("known@example.com");
+    private SubscriberImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        // Copies each batch, which the service reuses once the call returns
+        when(subscriberRepository.upsertAll(anyCollection())).thenAnswer(invocation -> {
+            Collection<SubscriberImportRow> rows = invocation.getArgument(0);
+            batches.add(List.copyOf(rows));
+            return (int) rows.stream().filter(row -> !existingEmails.contains(row.email())).count();
+        });
+        importService = new SubscriberImportServiceImpl(subscriberRepository, new ObjectMapper(),
+                validatorFactory.getValidator(), 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void importCsv_ShouldUpsertValidRowsInBatchesAndCountOutcomes() throws IOException {
+        // Given
+        String csv = """
+                email,status
+                a@example.com
+                "known@example.com",unsubscribed
+
+                c@example.com,BANNED
+                """;
+
+        // When
+        SubscriberImportResult result = importService.importCsv(input(csv));
+
+        // Then
+        assertAll(
+                () -> assertEquals(new SubscriberImportResult(2, 1, 0, List.of()), result),
+                () -> assertEquals(List.of(
+                        List.of(new SubscriberImportRow("a@example.com", SubscriptionStatus.ACTIVE),
+                                new SubscriberImportRow("known@example.com", SubscriptionStatus.UNSUBSCRIBED)),
+                        List.of(new SubscriberImportRow("c@example.com", SubscriptionStatus.BANNED))), batches)
+        );
+    }
+
+    @Test
+    void importCsv_ShouldRejectInvalidRowsAndReportOnlyTheFirstFew() throws IOException {
+        // Given
+        String csv = """
+                not-an-email
+                a@example.com,SLEEPING
+                a@example.com,ACTIVE,extra
+                b@example.com
+                """;
+
+        // When
+        SubscriberImportResult result = importService.importCsv(input(csv));
+
+        // Then
+        assertAll(
+                () -> assertEquals(1, result.inserted()),
+                () -> assertEquals(3, result.rejected()),
+                () -> assertEquals(2, result.rejections().size()),
+                () -> assertTrue(result.rejections().get(0).startsWith("line 1: ")),
+                () -> assertEquals("line 2: Unknown status SLEEPING", result.rejections().get(1))
+        );
+    }
+
+    @Test
+    void importCsv_WhenEmailRepeatsWithinBatch_ShouldKeepLastRowAndCountUpdate() throws IOException {
+        // When
+        SubscriberImportResult result = importService.importCsv(input("a@example.com\na@example.com,BANNED\n"));
+
+        // Then
+        assertAll(
+                () -> assertEquals(1, result.inserted()),
+                () -> assertEquals(1, result.updated()),
+                () -> assertEquals(
+                        List.of(List.of(new SubscriberImportRow("a@example.com", SubscriptionStatus.BANNED))), batches)
+        );
+    }
+
+    @Test
+    void importJson_ShouldAcceptArrayOfObjectsAndStrings() throws IOException {
+        // Given
+        String json = """
+                [{"email": "a@example.com", "status": "unsubscribed"}, "known@example.com", 42, {"status": "ACTIVE"}]
+                """;
+
+        // When
+        SubscriberImportResult result = importService.importJson(input(json));
+
+        // Then
+        assertAll(
+                () -> assertEquals(1, result.inserted()),
+                () -> assertEquals(1, result.updated()),
+                () -> assertEquals(2, result.rejected()),
+                () -> assertEquals("record 3: expected an email or an object with an email",
+                        result.rejections().get(0)),
+                () -> assertEquals(List.of(List.of(
+                        new SubscriberImportRow("a@example.com", SubscriptionStatus.UNSUBSCRIBED),
+                        new SubscriberImportRow("known@example.com", SubscriptionStatus.ACTIVE))), batches)
+        );
+    }
+
+    @Test
+    void importJson_ShouldAcceptNewlineDelimitedJson() throws IOException {
+        // Given
+        String ndjson = """
+                {"email": "a@example.com"}
+                {"email": "b@example.com"}
+                {"email": "c@example.com"}
+                """;
+
+        // When
+        SubscriberImportResult result = importService.importJson(input(ndjson));
+
+        // Then
+        assertEquals(new SubscriberImportResult(3, 0, 0, List.of()), result);
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    void importJson_WhenMalformed_ShouldImportRecordsBeforeTheErrorAndFail() {
+        // Given
+        String json = "[{\"email\": \"a@example.com\"}, {\"email\": ";
+
+        // When
+        SubscriberImportException exception = assertThrows(SubscriberImportException.class,
+                () -> importService.importJson(input(json)));
+
+        // Then
+        assertAll(
+                () -> assertEquals("Malformed JSON after record 1; the records before it have been imported",
+                        exception.getMessage()),
+                () -> assertEquals(
+                        List.of(List.of(new SubscriberImportRow("a@example.com", SubscriptionStatus.ACTIVE))), batches)
+        );
+    }
+
+    @Test
+    void constructor_WhenBatchSizeTooLarge_ShouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> new SubscriberImportServiceImpl(subscriberRepository,
+                new ObjectMapper(), validatorFactory.getValidator(), SubscriberImportServiceImpl.MAX_BATCH_SIZE + 1,
+                10));
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
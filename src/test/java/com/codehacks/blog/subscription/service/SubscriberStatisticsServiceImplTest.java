@@ -0,0 +1,179 @@
+package com.codehacks.blog.subscription.service;
+
+import com.codehacks.blog.subscription.dto.DailySubscriberActivityDTO;
+import com.codehacks.blog.subscription.dto.SubscriberCountsDTO;
+import com.codehacks.blog.subscription.dto.SubscriberPageDTO;
+import com.codehacks.blog.subscription.dto.SubscriberSummaryDTO;
+import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import com.codehacks.blog.subscription.repository.DailyCountRow;
+import com.codehacks.blog.subscription.repository.StatusCountRow;
+import com.codehacks.blog.subscription.repository.SubscriberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SubscriberStatisticsServiceImplTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-03-10T12:00:00Z"), ZoneOffset.UTC);
+
+    private final SubscriberRepository subscriberRepository = mock(SubscriberRepository.class);
+    private final SubscriberStatisticsServiceImpl statisticsService =
+            new SubscriberStatisticsServiceImpl(subscriberRepository, Duration.ofMinutes(1), CLOCK);
+
+    @Test
+    void getCounts_ShouldIncludeEveryStatusAndQueryOncePerTtl() {
+        // Given
+        when(subscriberRepository.countByStatus()).thenReturn(List.of(
+                new StatusCount(SubscriptionStatus.ACTIVE, 40), new StatusCount(SubscriptionStatus.BANNED, 2)));
+
+        // When
+        SubscriberCountsDTO first = statisticsService.getCounts();
+        SubscriberCountsDTO second = statisticsService.getCounts();
+
+        // Then
+        assertAll(
+                () -> assertEquals(Map.of(SubscriptionStatus.ACTIVE, 40L, SubscriptionStatus.UNSUBSCRIBED, 0L,
+                        SubscriptionStatus.BANNED, 2L), first.byStatus()),
+                () -> assertEquals(42, first.total()),
+                () -> assertEquals(first, second)
+        );
+        verify(subscriberRepository, times(1)).countByStatus();
+    }
+
+    @Test
+    void getCounts_WhenTtlIsZero_ShouldQueryEveryTime() {
+        // Given
+        SubscriberStatisticsServiceImpl uncached =
+                new SubscriberStatisticsServiceImpl(subscriberRepository, Duration.ZERO, CLOCK);
+        when(subscriberRepository.countByStatus()).thenReturn(List.of());
+
+        // When
+        uncached.getCounts();
+        uncached.getCounts();
+
+        // Then
+        verify(subscriberRepository, times(2)).countByStatus();
+    }
+
+    @Test
+    void getDailyActivity_ShouldFillDaysWithoutActivity() {
+        // Given
+        LocalDateTime since = LocalDateTime.parse("2024-03-08T00:00:00");
+        when(subscriberRepository.countSubscribedPerDay(since)).thenReturn(List.of(
+                new DailyCount(LocalDate.parse("2024-03-08"), 5), new DailyCount(LocalDate.parse("2024-03-10"), 3)));
+        when(subscriberRepository.countUnsubscribedPerDay(since)).thenReturn(List.of(
+                new DailyCount(LocalDate.parse("2024-03-09"), 1), new DailyCount(LocalDate.parse("2024-03-11"), 7)));
+
+        // When
+        List<DailySubscriberActivityDTO> activity = statisticsService.getDailyActivity(3);
+
+        // Then
+        assertEquals(List.of(
+                new DailySubscriberActivityDTO(LocalDate.parse("2024-03-08"), 5, 0),
+                new DailySubscriberActivityDTO(LocalDate.parse("2024-03-09"), 0, 1),
+                new DailySubscriberActivityDTO(LocalDate.parse("2024-03-10"), 3, 0)), activity);
+    }
+
+    @Test
+    void getDailyActivity_WhenDaysNotPositive_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> statisticsService.getDailyActivity(0));
+    }
+
+    @Test
+    void getSubscribers_ShouldReadOnePageAndTakeTotalFromCounts() {
+        // Given
+        List<SubscriberSummaryDTO> page = List.of(summary(21L, "reader21@example.com", SubscriptionStatus.ACTIVE));
+        when(subscriberRepository.findSummariesByStatus(SubscriptionStatus.ACTIVE, PageRequest.of(2, 10)))
+                .thenReturn(page);
+        when(subscriberRepository.countByStatus()).thenReturn(List.of(new StatusCount(SubscriptionStatus.ACTIVE, 21)));
+
+        // When
+        SubscriberPageDTO result = statisticsService.getSubscribers(SubscriptionStatus.ACTIVE, 2, 10);
+
+        // Then
+        assertEquals(new SubscriberPageDTO(page, 2, 10, 21), result);
+    }
+
+    @Test
+    void getSubscribersByStatus_ShouldListOnlyStatusesWithSubscribers() {
+        // Given
+        SubscriberSummaryDTO active = summary(1L, "joined@blogtest.com", SubscriptionStatus.ACTIVE);
+        SubscriberSummaryDTO inactive = summary(2L, "unjoined@blogtest.com", SubscriptionStatus.UNSUBSCRIBED);
+        when(subscriberRepository.countByStatus()).thenReturn(List.of(
+                new StatusCount(SubscriptionStatus.ACTIVE, 1), new StatusCount(SubscriptionStatus.UNSUBSCRIBED, 1)));
+        when(subscriberRepository.findSummariesByStatus(SubscriptionStatus.ACTIVE, PageRequest.of(0, 5)))
+                .thenReturn(List.of(active));
+        when(subscriberRepository.findSummariesByStatus(SubscriptionStatus.UNSUBSCRIBED, PageRequest.of(0, 5)))
+                .thenReturn(List.of(inactive));
+
+        // When
+        Map<SubscriptionStatus, List<SubscriberSummaryDTO>> result = statisticsService.getSubscribersByStatus(5);
+
+        // Then
+        assertEquals(Map.of(SubscriptionStatus.ACTIVE, List.of(active),
+                SubscriptionStatus.UNSUBSCRIBED, List.of(inactive)), result);
+        verify(subscriberRepository, never()).findSummariesByStatus(SubscriptionStatus.BANNED, PageRequest.of(0, 5));
+    }
+
+    @Test
+    void getSubscribersByStatus_WhenNoSubscribers_ShouldReturnEmptyMap() {
+        // Given
+        when(subscriberRepository.countByStatus()).thenReturn(List.of());
+
+        // When
+        Map<SubscriptionStatus, List<SubscriberSummaryDTO>> result = statisticsService.getSubscribersByStatus(5);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(subscriberRepository, never()).findSummariesByStatus(any(), any());
+    }
+
+    private static SubscriberSummaryDTO summary(Long id, String email, SubscriptionStatus status) {
+        return new SubscriberSummaryDTO(id, email, status, LocalDateTime.parse("2024-03-01T09:00:00"), null);
+    }
+
+    private record StatusCount(SubscriptionStatus status, long total) implements StatusCountRow {
+
+        @Override
+        public SubscriptionStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public long getTotal() {
+            return total;
+        }
+    }
+
+    private record DailyCount(LocalDate day, long total) implements DailyCountRow {
+
+        @Override
+        public LocalDate getDay() {
+            return day;
+        }
+
+        @Override
+        public long getTotal() {
+            return total;
+        }
+    }
+}
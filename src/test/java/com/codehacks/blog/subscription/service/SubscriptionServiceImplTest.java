@@ -1,9 +1,14 @@
 package com.codehacks.blog.subscription.service;
 
+import com.codehacks.blog.post.dto.CursorPage;
+import com.codehacks.blog.post.exception.InvalidCursorException;
+import com.codehacks.blog.subscription.dto.SubscriberContactDTO;
+import com.codehacks.blog.subscription.dto.SubscriberCursor;
 import com.codehacks.blog.subscription.exception.DuplicateSubscriptionException;
 import com.codehacks.blog.subscription.exception.SubscriberNotFoundException;
 import com.codehacks.blog.subscription.model.Subscriber;
 import com.codehacks.blog.subscription.model.SubscriptionStatus;
+import com.codehacks.blog.subscription.repository.SubscriberContact;
 import com.codehacks.blog.subscription.repository.SubscriberRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,21 +16,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -193,62 +199,59 @@ class SubscriptionServiceImplTest {
     }
 
     @Test
-    void getSubscriberByStatus_ShouldGroupByStatus() {
+    void getActiveSubscribersPage_WhenMoreFollow_ShouldReturnCursorOfLastItem() {
         // Given
-        String email1 = "joined@blogtest.com";
-        String email2 = "unjoined@blogtest.com";
-
-        Subscriber active = new Subscriber(email1);
-        active.setStatus(SubscriptionStatus.ACTIVE);
-
-        Subscriber inactive = new Subscriber(email2);
-        inactive.setStatus(SubscriptionStatus.UNSUBSCRIBED);
-
-        List<Subscriber> subscribers = List.of(active, inactive);
-
-        when(subscriberRepository.findAll()).thenReturn(subscribers);
+        when(subscriberRepository.findContactsAfter(SubscriptionStatus.ACTIVE, 0, PageRequest.of(0, 3)))
+                .thenReturn(List.of(new Contact(4L, "a@example.com"), new Contact(9L, "b@example.com"),
+                        new Contact(12L, "c@example.com")));
 
         // When
-        Map<SubscriptionStatus, List<Subscriber>> result = subscriptionService.getSubscribersByStatus();
+        CursorPage<SubscriberContactDTO> page = subscriptionService.getActiveSubscribers(2, null);
 
         // Then
-        assertEquals(2, result.size());
-        assertTrue(result.containsKey(SubscriptionStatus.ACTIVE));
-        assertTrue(result.containsKey(SubscriptionStatus.UNSUBSCRIBED));
-        assertEquals(1, result.get(SubscriptionStatus.ACTIVE).size());
-        assertEquals(1, result.get(SubscriptionStatus.UNSUBSCRIBED).size());
-        assertEquals(email1, result.get(SubscriptionStatus.ACTIVE).get(0).getEmail());
+        assertAll(
+                () -> assertEquals(List.of(new SubscriberContactDTO(4L, "a@example.com"),
+                        new SubscriberContactDTO(9L, "b@example.com")), page.items()),
+                () -> assertEquals(new SubscriberCursor(9L), SubscriberCursor.decode(page.nextCursor()))
+        );
     }
 
     @Test
-    void getSubscriberByStatus_EmptyList_ShouldReturnEmptyMap() {
+    void getActiveSubscribersPage_WithCursor_ShouldResumeAfterItAndEndOnShortPage() {
         // Given
-        when(subscriberRepository.findAll()).thenReturn(Collections.emptyList());
+        when(subscriberRepository.findContactsAfter(SubscriptionStatus.ACTIVE, 9L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(new Contact(12L, "c@example.com")));
 
         // When
-        Map<SubscriptionStatus, List<Subscriber>> result = subscriptionService.getSubscribersByStatus();
+        CursorPage<SubscriberContactDTO> page =
+                subscriptionService.getActiveSubscribers(2, new SubscriberCursor(9L).encode());
 
         // Then
-        assertTrue(result.isEmpty());
+        assertEquals(CursorPage.last(List.of(new SubscriberContactDTO(12L, "c@example.com"))), page);
     }
 
     @Test
-    void getSubscriberByStatus_AllSameStatus_ShouldReturnSingleGroup() {
-        // Given
-        Subscriber s1 = new Subscriber("a@example.com");
-        s1.setStatus(SubscriptionStatus.ACTIVE);
+    void getActiveSubscribersPage_WhenCursorMalformed_ShouldThrow() {
+        assertThrows(InvalidCursorException.class, () -> subscriptionService.getActiveSubscribers(2, "bm90LWFuLWlk"));
+        verify(subscriberRepository, never()).findContactsAfter(any(), anyLong(), any());
+    }
 
-        Subscriber s2 = new Subscriber("b@example.com");
-        s2.setStatus(SubscriptionStatus.ACTIVE);
+    @Test
+    void getActiveSubscribersPage_WhenLimitNotPositive_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> subscriptionService.getActiveSubscribers(0, null));
+        verifyNoInteractions(subscriberRepository);
+    }
 
-        when(subscriberRepository.findAll()).thenReturn(List.of(s1, s2));
+    private record Contact(Long id, String email) implements SubscriberContact {
 
-        // When
-        Map<SubscriptionStatus, List<Subscriber>> result = subscriptionService.getSubscribersByStatus();
+        @Override
+        public Long getId() {
+            return id;
+        }
 
-        // Then
-        assertEquals(1, result.size());
-        assertTrue(result.containsKey(SubscriptionStatus.ACTIVE));
-        assertEquals(2, result.get(SubscriptionStatus.ACTIVE).size());
+        @Override
+        public String getEmail() {
+            return email;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.codehacks.blog.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WordScannerTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "one",
+            "one two  three",
+            "  leading and trailing\t",
+            "tabs\tand\nnew\r\nlines\u000Bvertical\fform feed",
+            "First paragraph.\n\nSecond paragraph.\n\n\nThird."
+    })
+    void shouldCountWordsLikeRegexSplit(String text) {
+        // When & Then
+        assertEquals(text.trim().split("\\s+").length, WordScanner.countWords(text));
+    }
+
+    @Test
+    void shouldReturnOffsetAfterRequestedWord() {
+        // Given
+        String text = "alpha  beta\ngamma delta";
+
+        // When
+        WordScanner.WordScan scan = WordScanner.scan(text, 3);
+
+        // Then
+        assertAll(
+                () -> assertEquals(4, scan.wordCount()),
+                () -> assertEquals("alpha  beta\ngamma", text.substring(0, scan.cutOffset()))
+        );
+    }
+
+    @Test
+    void shouldCutAtEndWhenTextHasFewerWords() {
+        // When & Then
+        assertAll(
+                () -> assertEquals(9, WordScanner.scan("two words", 5).cutOffset()),
+                () -> assertEquals(9, WordScanner.scan("two words", 2).cutOffset()),
+                () -> assertEquals(0, WordScanner.scan("two words", 0).cutOffset())
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "single paragraph",
+            "a\n\nb",
+            "a\n\nb\n\nc\n\nd",
+            "a\n\n\n\nb",
+            "a\n\n\nb"
+    })
+    void shouldFindParagraphsEndLikeSplitAndJoin(String text) {
+        // Given
+        String expected = Arrays.stream(text.split("\n\n")).limit(2).collect(Collectors.joining("\n\n"));
+
+        // When & Then
+        assertEquals(expected, text.substring(0, WordScanner.paragraphsEnd(text, 2)));
+    }
+}